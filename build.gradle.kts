@@ -4,6 +4,7 @@ plugins {
     jacoco
     id("org.springframework.boot") version "3.5.7"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "edu.trincoll"
@@ -27,6 +28,10 @@ dependencies {
     implementation("org.springframework.ai:spring-ai-starter-model-anthropic")
     implementation("org.springframework.ai:spring-ai-starter-model-openai")
 
+    // Metrics: Micrometer via Actuator, scraped at /actuator/prometheus
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -57,6 +62,19 @@ tasks.jacocoTestReport {
     }
 }
 
+// Benchmarks live in src/jmh/java; run with ./gradlew jmh
+// Results are written as JSON so runs can be compared across releases.
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    project.findProperty("jmhInclude")?.toString()?.let { includes.set(listOf(it)) }
+}
+
 tasks.register("runGame") {
     group = "application"
     description = "Run the AI-powered game"
@@ -71,6 +89,14 @@ tasks.register<JavaExec>("runSolution") {
     standardInput = System.`in`
 }
 
+tasks.register<JavaExec>("runSimulation") {
+    group = "application"
+    description = "Run headless rule-based games and report throughput"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("edu.trincoll.game.SimulationApplication")
+    args = project.findProperty("appArgs")?.toString()?.split("\\s+") ?: emptyList()
+}
+
 tasks.named<JavaExec>("run") {
     standardInput = System.`in`
     args = project.findProperty("appArgs")?.toString()?.split("\\s+") ?: emptyList()
@@ -0,0 +1,50 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for AttackCommand/HealCommand execute+undo cycles.
+ * <p>
+ * Each benchmark executes and then undoes, so character state is the
+ * same at the start of every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandBenchmark {
+    private Character warrior;
+    private Character mage;
+
+    @Setup
+    public void setUp() {
+        warrior = CharacterFactory.createWarrior("Conan");
+        mage = CharacterFactory.createMage("Gandalf");
+        mage.setHealth(40);
+    }
+
+    @Benchmark
+    public int attackExecuteUndo() {
+        AttackCommand command = new AttackCommand(warrior, mage);
+        command.execute();
+        command.undo();
+        return mage.getHealth();
+    }
+
+    @Benchmark
+    public int healExecuteUndo() {
+        HealCommand command = new HealCommand(mage, 30);
+        command.execute();
+        command.undo();
+        return mage.getHealth();
+    }
+}
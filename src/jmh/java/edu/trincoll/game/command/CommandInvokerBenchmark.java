@@ -0,0 +1,66 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for CommandInvoker with a large existing history.
+ * <p>
+ * historySizeQuery mirrors what GameController does after every turn and
+ * should stay flat across history sizes; historyCopy is the old per-turn
+ * getCommandHistory().size() cost, kept for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandInvokerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int historySize;
+
+    private CommandInvoker invoker;
+    private Character target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        invoker = new CommandInvoker();
+        target = CharacterFactory.createWarrior("Target");
+        target.setHealth(100);
+        for (int i = 0; i < historySize; i++) {
+            invoker.executeCommand(new HealCommand(target, 0));
+        }
+    }
+
+    @Benchmark
+    public int executeAndUndo() {
+        invoker.executeCommand(new HealCommand(target, 10));
+        invoker.undoLastCommand();
+        return target.getHealth();
+    }
+
+    @Benchmark
+    public int historySizeQuery() {
+        return invoker.historySize();
+    }
+
+    @Benchmark
+    public int historyCopy() {
+        return invoker.getCommandHistory().size();
+    }
+
+    @Benchmark
+    public boolean hasCommandsToUndo() {
+        return invoker.hasCommandsToUndo();
+    }
+}
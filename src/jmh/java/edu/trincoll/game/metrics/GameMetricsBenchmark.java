@@ -0,0 +1,57 @@
+package edu.trincoll.game.metrics;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of timing a rule-based decision the way GameController does.
+ * <p>
+ * timedDecideAction minus ruleBasedDecideAction is the per-turn overhead
+ * of GameMetrics on the cheapest player there is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameMetricsBenchmark {
+    private final RuleBasedPlayer player = new RuleBasedPlayer();
+    private final GameMetrics metrics = new GameMetrics(new SimpleMeterRegistry());
+    private final GameState gameState = GameState.initial();
+
+    private Character self;
+    private List<Character> allies;
+    private List<Character> enemies;
+
+    @Setup
+    public void setUp() {
+        self = CharacterFactory.createWarrior("Conan");
+        allies = List.of(self, CharacterFactory.createArcher("Legolas"));
+        enemies = List.of(CharacterFactory.createRogue("Shadow"), CharacterFactory.createMage("Saruman"));
+    }
+
+    @Benchmark
+    public GameCommand ruleBasedDecideAction() {
+        return player.decideAction(self, allies, enemies, gameState);
+    }
+
+    @Benchmark
+    public GameCommand timedDecideAction() {
+        long start = System.nanoTime();
+        GameCommand command = player.decideAction(self, allies, enemies, gameState);
+        metrics.recordDecision(player, System.nanoTime() - start);
+        return command;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for player decision-making.
+ * <p>
+ * LLMPlayer is measured up to the point where the prompt is ready to
+ * send; no ChatClient is needed for that.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerBenchmark {
+    private final RuleBasedPlayer ruleBasedPlayer = new RuleBasedPlayer();
+    private final LLMPlayer llmPlayer = new LLMPlayer(null, "benchmark");
+    private final CompactPromptRenderer compactRenderer = new CompactPromptRenderer();
+    private final GameState gameState = GameState.initial();
+
+    private Character self;
+    private List<Character> allies;
+    private List<Character> enemies;
+
+    @Setup
+    public void setUp() {
+        // A warrior keeps buildPrompt's damage estimate free of mana side effects
+        self = CharacterFactory.createWarrior("Conan");
+        Character ally = CharacterFactory.createArcher("Legolas");
+        ally.setHealth(15);
+        allies = List.of(self, ally);
+        enemies = List.of(CharacterFactory.createRogue("Shadow"), CharacterFactory.createMage("Saruman"));
+    }
+
+    @Benchmark
+    public GameCommand ruleBasedDecideAction() {
+        return ruleBasedPlayer.decideAction(self, allies, enemies, gameState);
+    }
+
+    @Benchmark
+    public String llmBuildPrompt() {
+        return llmPlayer.buildPrompt(self, allies, enemies, gameState);
+    }
+
+    @Benchmark
+    public String compactRenderPrompt() {
+        return compactRenderer.render(self, allies, enemies, gameState);
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for complete rule-based matches.
+ * <p>
+ * headlessMatch includes building fresh characters, as every real game
+ * does; kernelMatch replays the same lineup on CombatKernel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameLoopBenchmark {
+    private final Player player = new RuleBasedPlayer();
+    private CombatKernel kernel;
+
+    @Setup
+    public void setUp() {
+        kernel = CombatKernel.of(
+            List.of(CharacterFactory.createWarrior("Conan"), CharacterFactory.createMage("Gandalf")),
+            List.of(CharacterFactory.createArcher("Legolas"), CharacterFactory.createRogue("Shadow")));
+    }
+
+    @Benchmark
+    public GameResult headlessMatch() {
+        Character warrior = CharacterFactory.createWarrior("Conan");
+        Character mage = CharacterFactory.createMage("Gandalf");
+        Character archer = CharacterFactory.createArcher("Legolas");
+        Character rogue = CharacterFactory.createRogue("Shadow");
+
+        Map<Character, Player> playerMap = new HashMap<>();
+        playerMap.put(warrior, player);
+        playerMap.put(mage, player);
+        playerMap.put(archer, player);
+        playerMap.put(rogue, player);
+
+        return new HeadlessGameEngine(List.of(warrior, mage), List.of(archer, rogue), playerMap).run();
+    }
+
+    @Benchmark
+    public GameResult.Winner kernelMatch() {
+        kernel.reset();
+        return kernel.playRuleBasedGame(HeadlessGameEngine.DEFAULT_MAX_ROUNDS);
+    }
+}
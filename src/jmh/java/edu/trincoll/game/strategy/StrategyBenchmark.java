@@ -0,0 +1,74 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for every AttackStrategy and DefenseStrategy implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrategyBenchmark {
+    private final AttackStrategy melee = new MeleeAttackStrategy();
+    private final AttackStrategy magic = new MagicAttackStrategy();
+    private final AttackStrategy ranged = new RangedAttackStrategy();
+    private final DefenseStrategy standard = new StandardDefenseStrategy();
+    private final DefenseStrategy heavyArmor = new HeavyArmorDefenseStrategy();
+
+    private Character warrior;
+    private Character mage;
+    private Character archer;
+    private Character woundedTarget;
+
+    @Setup
+    public void setUp() {
+        warrior = CharacterFactory.createWarrior("Conan");
+        mage = CharacterFactory.createMage("Gandalf");
+        archer = CharacterFactory.createArcher("Legolas");
+        woundedTarget = CharacterFactory.createRogue("Shadow");
+        woundedTarget.setHealth(20);
+    }
+
+    @Benchmark
+    public int meleeAttack() {
+        return melee.calculateDamage(warrior, mage);
+    }
+
+    @Benchmark
+    public int magicAttack() {
+        int damage = magic.calculateDamage(mage, warrior);
+        // Refund the mana so every invocation measures the same path
+        mage.restoreMana(10);
+        return damage;
+    }
+
+    @Benchmark
+    public int rangedAttack() {
+        return ranged.calculateDamage(archer, warrior);
+    }
+
+    @Benchmark
+    public int rangedCriticalAttack() {
+        return ranged.calculateDamage(archer, woundedTarget);
+    }
+
+    @Benchmark
+    public int standardDefense() {
+        return standard.calculateDamageReduction(mage, 60);
+    }
+
+    @Benchmark
+    public int heavyArmorDefense() {
+        return heavyArmor.calculateDamageReduction(warrior, 60);
+    }
+}
@@ -1,22 +1,31 @@
 package edu.trincoll.game;
 
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.CommandJournal;
+import edu.trincoll.game.config.RateLimitingAdvisor;
 import edu.trincoll.game.controller.GameController;
 import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.GameMetrics;
 import edu.trincoll.game.model.Character;
 import edu.trincoll.game.model.CharacterType;
 import edu.trincoll.game.player.*;
+import edu.trincoll.game.random.GameRandom;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
 /**
  * Main Spring Boot application for AI-powered RPG game.
@@ -35,6 +44,12 @@ import java.util.Scanner;
  * Or with API keys:
  * <p>
  *   OPENAI_API_KEY=xxx ANTHROPIC_API_KEY=yyy ./gradlew run
+ * <p>
+ * While a game runs, decision, command and round timings can be scraped
+ * from http://localhost:8080/actuator/prometheus.
+ * <p>
+ * With the server profile there is no console game; the application
+ * hosts game sessions over REST instead (see ServerConfig).
  */
 @SpringBootApplication
 public class GameApplication {
@@ -52,15 +67,83 @@ public class GameApplication {
      * @param openAiClient ChatClient for OpenAI/GPT-5
      * @param anthropicClient ChatClient for Anthropic/Claude Sonnet 4.5
      * @param geminiClient ChatClient for Google/Gemini 2.5 Pro
+     * @param decisionCache cache shared by the LLM players
+     * @param decisionStore persistent store shared by the LLM players (optional)
+     * @param promptStats running size of the prompts sent
+     * @param anthropicHedgePolicy hedging for Claude, with GPT as the secondary
+     * @param openAiHedgePolicy hedging for GPT, with Claude as the secondary
+     * @param circuitBreakers circuit breakers per model
+     * @param retryBudget retry budget for transient errors
+     * @param openAiRateLimiter pacing of OpenAI calls
+     * @param anthropicRateLimiter pacing of Anthropic calls
+     * @param gameMetrics timers for decisions, commands and rounds, and LLM fallback counts
+     * @param priceTable token prices per model
+     * @param openAiModel OpenAI model id, which GPT's tokens are charged to
+     * @param anthropicModel Anthropic model id, which Claude's tokens are charged to
+     * @param budget most USD the game may spend on tokens (0 for no limit)
+     * @param streaming whether LLM players stream and move before the reasoning arrives
+     * @param continueReasoning whether streamed reasoning is still received and printed
+     * @param teamMode whether one Claude call plans both of team 2's moves each round
+     * @param journalPath file every executed and undone command is appended to (blank for none)
      * @return CommandLineRunner that starts the game
      */
     @Bean
+    @Profile("!server")
     public CommandLineRunner run(
             @Qualifier("openAiChatClient") ChatClient openAiClient,
             @Qualifier("anthropicChatClient") ChatClient anthropicClient,
-            @Autowired(required = false) @Qualifier("geminiChatClient") ChatClient geminiClient) {
+            @Autowired(required = false) @Qualifier("geminiChatClient") ChatClient geminiClient,
+            DecisionCache decisionCache,
+            @Autowired(required = false) DecisionStore decisionStore,
+            PromptStats promptStats,
+            @Qualifier("anthropicHedgePolicy") HedgePolicy anthropicHedgePolicy,
+            @Qualifier("openAiHedgePolicy") HedgePolicy openAiHedgePolicy,
+            CircuitBreakerRegistry circuitBreakers,
+            RetryBudget retryBudget,
+            @Qualifier("openAiRateLimiter") RateLimitingAdvisor openAiRateLimiter,
+            @Qualifier("anthropicRateLimiter") RateLimitingAdvisor anthropicRateLimiter,
+            GameMetrics gameMetrics,
+            PriceTable priceTable,
+            @Value("${spring.ai.openai.chat.options.model}") String openAiModel,
+            @Value("${spring.ai.anthropic.chat.options.model}") String anthropicModel,
+            @Value("${game.llm.cost.budget-usd:0}") double budget,
+            @Value("${game.llm.streaming.enabled:false}") boolean streaming,
+            @Value("${game.llm.streaming.continue-reasoning:false}") boolean continueReasoning,
+            @Value("${game.llm.team-mode:false}") boolean teamMode,
+            @Value("${game.journal.path:}") String journalPath) {
         // Note: geminiClient is optional since it's not configured in ChatClientConfig
 
+        // The game's token usage and cost, which its LLM players share
+        TokenUsageLedger usageLedger = new TokenUsageLedger(priceTable, budget);
+
+        // Every LLM player shares the same infrastructure; callers add client and model
+        PromptRenderer promptRenderer = new CompactPromptRenderer();
+        Supplier<LLMPlayer.Builder> llmPlayers = () -> LLMPlayer.builder()
+            .decisionCache(decisionCache)
+            .decisionStore(decisionStore)
+            .promptRenderer(promptRenderer)
+            .promptStats(promptStats)
+            .circuitBreakers(circuitBreakers)
+            .retryBudget(retryBudget)
+            .metrics(gameMetrics)
+            .usageLedger(usageLedger)
+            .streaming(streaming)
+            .continueReasoning(continueReasoning);
+
+        LLMTeamPlayer teamPlayer = teamMode
+            ? LLMTeamPlayer.builder()
+                .chatClient(anthropicClient)
+                .modelName("Claude-Sonnet-4.5")
+                .modelId(anthropicModel)
+                .promptStats(promptStats)
+                .hedge(anthropicHedgePolicy, openAiClient, "GPT-5", openAiModel)
+                .circuitBreakers(circuitBreakers)
+                .retryBudget(retryBudget)
+                .metrics(gameMetrics)
+                .usageLedger(usageLedger)
+                .build()
+            : null;
+
         return args -> {
             System.out.println("""
                 ============================================================
@@ -81,11 +164,42 @@ public class GameApplication {
                 """);
 
             // TODO 6: Implement team configuration (15 points)
-            GameController controller = createTeamConfiguration(openAiClient, anthropicClient, geminiClient);
-            controller.playGame();
+            // With a journal, the game's commands survive it, e.g. for replays
+            try (CommandJournal journal = journalPath.isBlank() ? null : CommandJournal.open(Path.of(journalPath))) {
+                GameController controller = createTeamConfiguration(
+                    openAiClient, anthropicClient, geminiClient, llmPlayers, openAiModel, anthropicModel,
+                    openAiHedgePolicy, anthropicHedgePolicy, teamPlayer, gameMetrics,
+                    CommandInvoker.builder().journal(journal).build());
+                controller.playGame();
+            }
+            System.out.print(usageLedger.report());
+
+            System.out.printf("Decision cache: %d hits, %d misses, %d evictions%n",
+                decisionCache.hits(), decisionCache.misses(), decisionCache.evictions());
+            System.out.printf("Prompts: %d sent, ~%.0f tokens each (%d chars total)%n",
+                promptStats.prompts(), promptStats.averageTokens(), promptStats.chars());
+            printHedging("Claude", anthropicHedgePolicy);
+            printHedging("GPT", openAiHedgePolicy);
+            if (teamPlayer != null) {
+                System.out.printf("Team plans: %d calls, %d re-plans%n", teamPlayer.plans(), teamPlayer.replans());
+            }
+            circuitBreakers.breakers().forEach((model, breaker) ->
+                System.out.printf("%s circuit: %s, %.0f%% failing, opened %d times, %d calls refused%n",
+                    model, breaker.state(), breaker.failureRate() * 100, breaker.opened(), breaker.rejected()));
+            System.out.printf("Retries: %d sent, %d refused by the budget%n",
+                retryBudget.retries(), retryBudget.exhausted());
+            for (RateLimitingAdvisor limiter : List.of(openAiRateLimiter, anthropicRateLimiter)) {
+                System.out.printf("%s: %d calls, %d throttled, %d ms waited%n",
+                    limiter.getName(), limiter.calls(), limiter.throttled(), limiter.totalWait().toMillis());
+            }
         };
     }
 
+    private static void printHedging(String primary, HedgePolicy hedge) {
+        System.out.printf("%s hedging: %d calls, %d hedged, %d won by the secondary, %d timed out%n",
+            primary, hedge.calls(), hedge.hedges(), hedge.secondaryWins(), hedge.timeouts());
+    }
+
     /**
      * Helper method to create team configuration.
      *
@@ -118,7 +232,15 @@ public class GameApplication {
     private GameController createTeamConfiguration(
             ChatClient openAiClient,
             ChatClient anthropicClient,
-            ChatClient geminiClient) {
+            ChatClient geminiClient,
+            Supplier<LLMPlayer.Builder> llmPlayers,
+            String openAiModel,
+            String anthropicModel,
+            HedgePolicy openAiHedgePolicy,
+            HedgePolicy anthropicHedgePolicy,
+            LLMTeamPlayer teamPlayer,
+            GameMetrics gameMetrics,
+            CommandInvoker invoker) {
         // Team 1: Human + RuleBasedAI
         Character humanWarrior = CharacterFactory.createWarrior("Conan");
         Character aiMage = CharacterFactory.createMage("Gandalf");
@@ -133,10 +255,26 @@ public class GameApplication {
         Map<Character, Player> playerMap = new HashMap<>();
         playerMap.put(humanWarrior, new HumanPlayer());
         playerMap.put(aiMage, new RuleBasedPlayer());
-        playerMap.put(gptArcher, new LLMPlayer(openAiClient, "GPT-5"));
-        playerMap.put(claudeRogue, new LLMPlayer(anthropicClient, "Claude-Sonnet-4.5"));
+        if (teamPlayer != null) {
+            // One call per round plans both moves
+            playerMap.put(gptArcher, teamPlayer);
+            playerMap.put(claudeRogue, teamPlayer);
+            return new GameController(team1, team2, playerMap, GameRandom.unseeded(), gameMetrics, invoker);
+        }
+        playerMap.put(gptArcher, llmPlayers.get()
+            .chatClient(openAiClient)
+            .modelName("GPT-5")
+            .modelId(openAiModel)
+            .hedge(openAiHedgePolicy, anthropicClient, "Claude-Sonnet-4.5", anthropicModel)
+            .build());
+        playerMap.put(claudeRogue, llmPlayers.get()
+            .chatClient(anthropicClient)
+            .modelName("Claude-Sonnet-4.5")
+            .modelId(anthropicModel)
+            .hedge(anthropicHedgePolicy, openAiClient, "GPT-5", openAiModel)
+            .build());
         
-        return new GameController(team1, team2, playerMap);
+        return new GameController(team1, team2, playerMap, GameRandom.unseeded(), gameMetrics, invoker);
     }
 
     /**
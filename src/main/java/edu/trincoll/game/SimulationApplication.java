@@ -0,0 +1,173 @@
+package edu.trincoll.game;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.simulation.CombatKernel;
+import edu.trincoll.game.simulation.GameResult;
+import edu.trincoll.game.simulation.HeadlessGameEngine;
+import edu.trincoll.game.simulation.TeamSpec;
+import edu.trincoll.game.simulation.TournamentResult;
+import edu.trincoll.game.simulation.TournamentRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point for headless balance simulations.
+ * <p>
+ * Three modes are supported, none of which starts a Spring context or
+ * needs API keys:
+ * <p>
+ * - Single lineup: plays N games between the GameApplication teams
+ *   using HeadlessGameEngine and reports the win split and throughput
+ * <p>
+ * - Kernel: the same lineup replayed on CombatKernel, which resolves
+ *   rule-based games on primitive arrays without allocating per turn
+ * <p>
+ * - Tournament: every two-character rule-based composition plays every
+ *   other one on all cores and the win/loss matrix is printed
+ * <p>
+ * Run with:
+ * <p>
+ *   ./gradlew runSimulation -PappArgs="1000000"
+ * <p>
+ *   ./gradlew runSimulation -PappArgs="kernel 10000000"
+ * <p>
+ *   ./gradlew runSimulation -PappArgs="tournament 10000 16 [seed]"
+ */
+public class SimulationApplication {
+    private static final int DEFAULT_GAMES = 100_000;
+    private static final int DEFAULT_GAMES_PER_PAIRING = 1_000;
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("tournament")) {
+            int gamesPerPairing = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES_PER_PAIRING;
+            int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+            Long seed = args.length > 3 ? Long.parseLong(args[3]) : null;
+            runTournament(gamesPerPairing, threads, seed);
+        } else if (args.length > 0 && args[0].equals("kernel")) {
+            int games = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES;
+            runKernel(games);
+        } else {
+            int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+            runSingleLineup(games);
+        }
+    }
+
+    private static void runSingleLineup(int games) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive");
+        }
+
+        Player player = new RuleBasedPlayer();
+        int[] wins = new int[GameResult.Winner.values().length];
+        long totalRounds = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            GameResult result = playOne(player);
+            wins[result.winner().ordinal()]++;
+            totalRounds += result.rounds();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Games played:   %,d%n", games);
+        System.out.printf("Team 1 wins:    %,d%n", wins[GameResult.Winner.TEAM_1.ordinal()]);
+        System.out.printf("Team 2 wins:    %,d%n", wins[GameResult.Winner.TEAM_2.ordinal()]);
+        System.out.printf("Draws:          %,d%n", wins[GameResult.Winner.DRAW.ordinal()]);
+        System.out.printf("Average rounds: %.2f%n", (double) totalRounds / games);
+        System.out.printf("Wall time:      %.3f s%n", seconds);
+        System.out.printf("Throughput:     %,.0f games/sec%n", games / seconds);
+    }
+
+    private static void runKernel(int games) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive");
+        }
+
+        CombatKernel kernel = CombatKernel.of(
+            List.of(CharacterFactory.createWarrior("Conan"), CharacterFactory.createMage("Gandalf")),
+            List.of(CharacterFactory.createArcher("Legolas"), CharacterFactory.createRogue("Shadow")));
+        int[] wins = new int[GameResult.Winner.values().length];
+        long totalRounds = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            kernel.reset();
+            wins[kernel.playRuleBasedGame(HeadlessGameEngine.DEFAULT_MAX_ROUNDS).ordinal()]++;
+            totalRounds += kernel.rounds();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Games played:   %,d%n", games);
+        System.out.printf("Team 1 wins:    %,d%n", wins[GameResult.Winner.TEAM_1.ordinal()]);
+        System.out.printf("Team 2 wins:    %,d%n", wins[GameResult.Winner.TEAM_2.ordinal()]);
+        System.out.printf("Draws:          %,d%n", wins[GameResult.Winner.DRAW.ordinal()]);
+        System.out.printf("Average rounds: %.2f%n", (double) totalRounds / games);
+        System.out.printf("Wall time:      %.3f s%n", seconds);
+        System.out.printf("Throughput:     %,.0f games/sec%n", games / seconds);
+    }
+
+    private static void runTournament(int gamesPerPairing, int threads, Long seed) {
+        List<TeamSpec> entrants = new ArrayList<>();
+        CharacterType[] types = CharacterType.values();
+        for (int i = 0; i < types.length; i++) {
+            for (int j = i; j < types.length; j++) {
+                entrants.add(new TeamSpec("RuleBased", List.of(types[i], types[j]), RuleBasedPlayer::new));
+            }
+        }
+
+        TournamentRunner runner = seed != null
+            ? new TournamentRunner(entrants, gamesPerPairing, threads, HeadlessGameEngine.DEFAULT_MAX_ROUNDS, seed)
+            : new TournamentRunner(entrants, gamesPerPairing, threads);
+        TournamentResult result = runner.run();
+
+        System.out.println("Win rate by entrant (all games, either side):");
+        for (int i = 0; i < result.entrants().size(); i++) {
+            System.out.printf("  %-28s %5.1f%%%n", result.entrants().get(i), result.winRate(i) * 100);
+        }
+
+        System.out.println("\nFirst-mover wins (row) against second mover (column):");
+        for (int i = 0; i < result.entrants().size(); i++) {
+            StringBuilder row = new StringBuilder(String.format("  %-28s", result.entrants().get(i)));
+            for (int j = 0; j < result.entrants().size(); j++) {
+                row.append(String.format(" %7d", result.wins()[i][j]));
+            }
+            System.out.println(row);
+        }
+
+        double seconds = result.wallTimeNanos() / 1_000_000_000.0;
+        System.out.printf("%nGames played:   %,d%n", result.totalGames());
+        System.out.printf("Threads:        %d%n", result.parallelism());
+        System.out.printf("Master seed:    %d%n", result.masterSeed());
+        System.out.printf("Wall time:      %.3f s%n", seconds);
+        System.out.printf("Throughput:     %,.0f games/sec%n", result.gamesPerSecond());
+    }
+
+    /**
+     * Plays one game with the same lineup as GameApplication, with every
+     * character controlled by the given player.
+     */
+    private static GameResult playOne(Player player) {
+        Character warrior = CharacterFactory.createWarrior("Conan");
+        Character mage = CharacterFactory.createMage("Gandalf");
+        Character archer = CharacterFactory.createArcher("Legolas");
+        Character rogue = CharacterFactory.createRogue("Shadow");
+
+        Map<Character, Player> playerMap = new HashMap<>();
+        playerMap.put(warrior, player);
+        playerMap.put(mage, player);
+        playerMap.put(archer, player);
+        playerMap.put(rogue, player);
+
+        return new HeadlessGameEngine(List.of(warrior, mage), List.of(archer, rogue), playerMap).run();
+    }
+}
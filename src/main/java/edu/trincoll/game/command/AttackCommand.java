@@ -1,6 +1,11 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.jfr.StrategyEvent;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Command to execute an attack from one character to another.
@@ -16,8 +21,11 @@ import edu.trincoll.game.model.Character;
  * 1. Heal the target for the amount of damage that was dealt
  * 2. Use target.heal(damageDealt)
  *
- * Note: This is a simplified undo - in a real game, you'd need to
- * restore mana usage, status effects, etc.
+ * Undo through CommandInvoker is exact: before execute() the invoker
+ * captures a CommandMemento of affectedCharacters(), attacker included,
+ * and undoing restores it, mana the attack spent and all. undo() itself
+ * only heals the target for the health it lost, for callers that run the
+ * command without an invoker.
  */
 public class AttackCommand implements GameCommand {
     private final Character attacker;
@@ -31,17 +39,32 @@ public class AttackCommand implements GameCommand {
 
     @Override
     public void execute() {
+        strike(null);
+    }
+
+    @Override
+    public void execute(GameRandom random) {
+        strike(random);
+    }
+
+    // The attack itself; without a random stream the strategies use their own randomness
+    private void strike(GameRandom random) {
         // Store health before attack
-        int healthBefore = target.getStats().health();
+        int healthBefore = target.getHealth();
 
         // Calculate damage
-        int damageDealt = attacker.attack(target);
+        int damageDealt = random != null ? attacker.attack(target, random) : attacker.attack(target);
+        StrategyEvent.emit(attacker.getAttackStrategy().getClass(), attacker, target, damageDealt);
 
         // Apply damage to target
-        target.takeDamage(damageDealt);
+        if (random != null) {
+            target.takeDamage(damageDealt, random);
+        } else {
+            target.takeDamage(damageDealt);
+        }
 
         // Store actual health lost for undo
-        actualHealthLost = healthBefore - target.getStats().health();
+        actualHealthLost = healthBefore - target.getHealth();
     }
 
     @Override
@@ -50,8 +73,36 @@ public class AttackCommand implements GameCommand {
         target.heal(actualHealthLost);
     }
 
+    /**
+     * The attacker is included because some attack strategies spend mana.
+     */
+    @Override
+    public List<Character> affectedCharacters() {
+        return List.of(attacker, target);
+    }
+
+    @Override
+    public GameCommand rebind(UnaryOperator<Character> mapping) {
+        return new AttackCommand(mapping.apply(attacker), mapping.apply(target));
+    }
+
     @Override
     public String getDescription() {
         return String.format("%s attacks %s", attacker.getName(), target.getName());
     }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    /**
+     * Health the target actually lost on the last execution.
+     */
+    public int getHealthLost() {
+        return actualHealthLost;
+    }
 }
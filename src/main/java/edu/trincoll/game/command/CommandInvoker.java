@@ -1,8 +1,12 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.jfr.CommandEvent;
+import edu.trincoll.game.random.GameRandom;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
+import java.util.function.Consumer;
 
 /**
  * Invoker for executing and managing commands.
@@ -14,9 +18,53 @@ import java.util.Stack;
  * - Queue commands for execution
  * - Maintain history
  * - Support undo operations
+ * <p>
+ * An optional CommandJournal receives a compact record of every executed
+ * and undone command, so history survives a restart without keeping
+ * command objects alive.
+ * <p>
+ * Before each command runs, the invoker captures a CommandMemento of the
+ * characters it affects. Undo restores that memento, which is exact (mana
+ * spent, deaths) and does no re-computation; commands that declare no
+ * affected characters fall back to their own undo().
+ * <p>
+ * History is an unsynchronized ArrayDeque, so historySize() and
+ * hasCommandsToUndo() are O(1). Built with a history limit, it acts as a
+ * ring buffer: only the last N commands stay undoable and older ones are
+ * handed to an optional spill sink, keeping memory flat in long sessions.
+ * An invoker belongs to one game and is not thread-safe.
+ * <p>
+ * Every executed command is also a CommandEvent for JDK Flight Recorder.
  */
 public class CommandInvoker {
-    private final Stack<GameCommand> commandHistory = new Stack<>();
+    /** History limit meaning "keep everything". */
+    public static final int UNBOUNDED = 0;
+
+    // A command with the memento captured before it ran (null if it declared no characters)
+    private record Entry(GameCommand command, CommandMemento memento) {}
+
+    private final ArrayDeque<Entry> commandHistory = new ArrayDeque<>();
+    private final CommandJournal journal;
+    private final int historyLimit;
+    private final Consumer<GameCommand> spillSink;
+
+    public CommandInvoker() {
+        this(null);
+    }
+
+    /**
+     * Creates an invoker that also appends every command to the given journal.
+     * The caller owns the journal and closes it.
+     */
+    public CommandInvoker(CommandJournal journal) {
+        this(journal, UNBOUNDED, null);
+    }
+
+    private CommandInvoker(CommandJournal journal, int historyLimit, Consumer<GameCommand> spillSink) {
+        this.journal = journal;
+        this.historyLimit = historyLimit;
+        this.spillSink = spillSink;
+    }
 
     /**
      * TODO 4c: Implement executeCommand()
@@ -26,11 +74,54 @@ public class CommandInvoker {
      * 2. Add the command to history: commandHistory.push(command)
      */
     public void executeCommand(GameCommand command) {
+        // Snapshot what the command will change
+        CommandMemento memento = CommandMemento.capture(command);
+
         // Execute the command
+        CommandEvent event = new CommandEvent();
+        event.begin();
         command.execute();
+        commit(event, command);
 
         // Add to history
-        commandHistory.push(command);
+        record(command, memento);
+    }
+
+    /**
+     * Execute a command with the game's random stream and record it.
+     */
+    public void executeCommand(GameCommand command, GameRandom random) {
+        CommandMemento memento = CommandMemento.capture(command);
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        command.execute(random);
+        commit(event, command);
+        record(command, memento);
+    }
+
+    private static void commit(CommandEvent event, GameCommand command) {
+        if (event.shouldCommit()) {
+            event.setCommandType(command.getClass().getSimpleName());
+            if (command instanceof AttackCommand attack) {
+                event.setDamage(attack.getHealthLost());
+            } else if (command instanceof HealCommand heal) {
+                event.setHeal(heal.getHealingDone());
+            }
+            event.commit();
+        }
+    }
+
+    private void record(GameCommand command, CommandMemento memento) {
+        commandHistory.addLast(new Entry(command, memento));
+        if (historyLimit != UNBOUNDED && commandHistory.size() > historyLimit) {
+            GameCommand oldest = commandHistory.removeFirst().command();
+            if (spillSink != null) {
+                spillSink.accept(oldest);
+            }
+        }
+        if (journal != null) {
+            journal.recordExecuted(command);
+        }
     }
 
     /**
@@ -48,17 +139,44 @@ public class CommandInvoker {
         }
 
         // Pop the last command
-        GameCommand command = commandHistory.pop();
+        Entry entry = commandHistory.removeLast();
+        GameCommand command = entry.command();
 
-        // Undo it
-        command.undo();
+        // Undo it: restore the snapshot if there is one
+        if (entry.memento() != null) {
+            entry.memento().restore();
+        } else {
+            command.undo();
+        }
+        if (journal != null) {
+            journal.recordUndone(command);
+        }
     }
 
     /**
-     * Get the command history (for testing and logging).
+     * Get the command history (for testing and logging), oldest first.
+     * Copies the history; use historySize() when only the count is needed.
      */
     public List<GameCommand> getCommandHistory() {
-        return new ArrayList<>(commandHistory);
+        List<GameCommand> commands = new ArrayList<>(commandHistory.size());
+        for (Entry entry : commandHistory) {
+            commands.add(entry.command());
+        }
+        return commands;
+    }
+
+    /**
+     * Number of commands currently undoable, in constant time.
+     */
+    public int historySize() {
+        return commandHistory.size();
+    }
+
+    /**
+     * Maximum number of undoable commands kept, or UNBOUNDED.
+     */
+    public int getHistoryLimit() {
+        return historyLimit;
     }
 
     /**
@@ -74,4 +192,48 @@ public class CommandInvoker {
     public boolean hasCommandsToUndo() {
         return !commandHistory.isEmpty();
     }
+
+    /**
+     * Builder for invokers with a journal and/or a bounded history.
+     */
+    public static class Builder {
+        private CommandJournal journal;
+        private int historyLimit = UNBOUNDED;
+        private Consumer<GameCommand> spillSink;
+
+        public Builder journal(CommandJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Keep only the last {@code historyLimit} commands for undo.
+         */
+        public Builder historyLimit(int historyLimit) {
+            this.historyLimit = historyLimit;
+            return this;
+        }
+
+        /**
+         * Receives each command that falls out of a bounded history.
+         */
+        public Builder spillTo(Consumer<GameCommand> spillSink) {
+            this.spillSink = spillSink;
+            return this;
+        }
+
+        public CommandInvoker build() {
+            if (historyLimit < 0) {
+                throw new IllegalStateException("historyLimit cannot be negative");
+            }
+            if (spillSink != null && historyLimit == UNBOUNDED) {
+                throw new IllegalStateException("spillTo requires a historyLimit");
+            }
+            return new CommandInvoker(journal, historyLimit, spillSink);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 }
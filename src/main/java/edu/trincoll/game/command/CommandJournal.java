@@ -0,0 +1,210 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Append-only, memory-mapped journal of executed commands.
+ * <p>
+ * Each command is encoded as one fixed-size binary record:
+ * <p>
+ *   opcode (1 byte, 3 padding), actor id, target id, amount, resulting HP (4 bytes each)
+ * <p>
+ * The file is mapped in regions of many records, so an append is a few
+ * stores into memory with no system call; a new region is mapped only
+ * when the current one fills up, after forcing the full one to disk. The
+ * OS writes pages back in batches; call flush() to force the current
+ * region at a checkpoint.
+ * <p>
+ * Characters are identified by small integer ids assigned in the order
+ * the journal first sees them. Unused space at the end of the file reads
+ * as zero, which is never a valid opcode, so a reader stops at the last
+ * record written even after a crash.
+ * <p>
+ * A journal has a single writer and is not thread-safe.
+ *
+ * @see CommandJournalReader
+ */
+public final class CommandJournal implements AutoCloseable {
+    // Opcodes
+    public static final byte ATTACK = 1;
+    public static final byte HEAL = 2;
+    public static final byte UNDO = 3;
+    public static final byte OTHER = 4;
+
+    /** Id used when a record has no actor or target (e.g. who cast a heal). */
+    public static final int NO_CHARACTER = -1;
+
+    static final int RECORD_SIZE = 20;
+    static final int MAGIC = 0x474A4E4C; // "GJNL"
+    static final int VERSION = 1;
+    private static final int DEFAULT_RECORDS_PER_REGION = 65_536;
+
+    private final FileChannel channel;
+    private final long regionBytes;
+    private final Map<Character, Integer> ids = new IdentityHashMap<>();
+    private int nextId;
+    private MappedByteBuffer region;
+    private long regionStart = -1;
+    private long position;
+
+    private CommandJournal(FileChannel channel, long regionBytes, long position, int nextId) {
+        this.channel = channel;
+        this.regionBytes = regionBytes;
+        this.position = position;
+        this.nextId = nextId;
+    }
+
+    /**
+     * Opens a journal for appending, creating it if needed.
+     */
+    public static CommandJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_RECORDS_PER_REGION);
+    }
+
+    /**
+     * Opens a journal for appending with a custom mapping granularity.
+     * An existing journal is continued after its last record.
+     *
+     * @param recordsPerRegion records per mapped region (larger means fewer remaps)
+     */
+    public static CommandJournal open(Path path, int recordsPerRegion) throws IOException {
+        if (recordsPerRegion <= 0) {
+            throw new IllegalArgumentException("recordsPerRegion must be positive");
+        }
+
+        long position = RECORD_SIZE;
+        int nextId = 0;
+        if (Files.exists(path) && Files.size(path) > 0) {
+            try (CommandJournalReader reader = CommandJournalReader.open(path)) {
+                int[] maxId = {NO_CHARACTER};
+                long records = reader.forEach((opcode, actor, target, amount, health) ->
+                    maxId[0] = Math.max(maxId[0], Math.max(actor, target)));
+                position += records * RECORD_SIZE;
+                nextId = maxId[0] + 1;
+            }
+        }
+
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        CommandJournal journal = new CommandJournal(channel,
+            (long) recordsPerRegion * RECORD_SIZE, position, nextId);
+        if (position == RECORD_SIZE) {
+            journal.writeHeader();
+        }
+        return journal;
+    }
+
+    private void writeHeader() throws IOException {
+        mapRegion(0);
+        region.putInt(0, MAGIC);
+        region.putInt(4, VERSION);
+        region.putInt(8, RECORD_SIZE);
+    }
+
+    /**
+     * Appends a record for a command that has just been executed.
+     */
+    public void recordExecuted(GameCommand command) {
+        if (command instanceof AttackCommand) {
+            appendCommand(ATTACK, command);
+        } else if (command instanceof HealCommand) {
+            appendCommand(HEAL, command);
+        } else {
+            append(OTHER, NO_CHARACTER, NO_CHARACTER, 0, 0);
+        }
+    }
+
+    /**
+     * Appends a record for a command that has just been undone.
+     * The amount is what the original command did; the HP is after the undo.
+     */
+    public void recordUndone(GameCommand command) {
+        appendCommand(UNDO, command);
+    }
+
+    private void appendCommand(byte opcode, GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            append(opcode, idOf(attack.getAttacker()), idOf(attack.getTarget()),
+                attack.getHealthLost(), attack.getTarget().getHealth());
+        } else if (command instanceof HealCommand heal) {
+            append(opcode, NO_CHARACTER, idOf(heal.getTarget()),
+                heal.getHealingDone(), heal.getTarget().getHealth());
+        } else {
+            append(opcode, NO_CHARACTER, NO_CHARACTER, 0, 0);
+        }
+    }
+
+    /**
+     * Appends a raw record.
+     */
+    public void append(byte opcode, int actorId, int targetId, int amount, int resultingHealth) {
+        if (position - regionStart >= regionBytes || regionStart < 0) {
+            try {
+                mapRegion(position);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not extend command journal", e);
+            }
+        }
+
+        int offset = (int) (position - regionStart);
+        region.putInt(offset + 4, actorId);
+        region.putInt(offset + 8, targetId);
+        region.putInt(offset + 12, amount);
+        region.putInt(offset + 16, resultingHealth);
+        // Opcode last: a record only becomes visible once it is complete
+        region.put(offset, opcode);
+        position += RECORD_SIZE;
+    }
+
+    private void mapRegion(long offset) throws IOException {
+        // A region that is unmapped unforced would leave its records to the GC and the OS
+        if (region != null) {
+            region.force();
+        }
+        regionStart = offset - (offset % regionBytes);
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionBytes);
+    }
+
+    /**
+     * Journal id for a character, assigned on first use.
+     */
+    public int idOf(Character character) {
+        Integer id = ids.get(character);
+        if (id == null) {
+            id = nextId++;
+            ids.put(character, id);
+        }
+        return id;
+    }
+
+    /**
+     * Number of records in the journal, including any from earlier sessions.
+     */
+    public long size() {
+        return position / RECORD_SIZE - 1;
+    }
+
+    /**
+     * Forces written records to disk.
+     */
+    public void flush() {
+        if (region != null) {
+            region.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
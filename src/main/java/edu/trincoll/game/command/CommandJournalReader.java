@@ -0,0 +1,96 @@
+package edu.trincoll.game.command;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams a command journal back without loading it into the heap.
+ * <p>
+ * The file is mapped read-only one window at a time and each record is
+ * handed to a visitor as primitives, so scanning millions of records
+ * allocates nothing per record.
+ *
+ * @see CommandJournal
+ */
+public final class CommandJournalReader implements AutoCloseable {
+    private static final long WINDOW_RECORDS = 65_536;
+
+    /**
+     * Callback for one journal record.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(byte opcode, int actorId, int targetId, int amount, int resultingHealth);
+    }
+
+    private final FileChannel channel;
+
+    private CommandJournalReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a journal for reading and checks its header.
+     */
+    public static CommandJournalReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < CommandJournal.RECORD_SIZE) {
+                throw new IOException("Not a command journal: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, CommandJournal.RECORD_SIZE);
+            if (header.getInt(0) != CommandJournal.MAGIC) {
+                throw new IOException("Not a command journal: " + path);
+            }
+            if (header.getInt(4) != CommandJournal.VERSION
+                    || header.getInt(8) != CommandJournal.RECORD_SIZE) {
+                throw new IOException("Unsupported command journal version in " + path);
+            }
+            return new CommandJournalReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Visits every record in order, stopping at the end of the written data.
+     *
+     * @return the number of records visited
+     */
+    public long forEach(RecordVisitor visitor) throws IOException {
+        long fileSize = channel.size();
+        long windowBytes = WINDOW_RECORDS * CommandJournal.RECORD_SIZE;
+        long position = CommandJournal.RECORD_SIZE;
+        long count = 0;
+
+        while (position + CommandJournal.RECORD_SIZE <= fileSize) {
+            long length = Math.min(windowBytes, fileSize - position);
+            length -= length % CommandJournal.RECORD_SIZE;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            for (int offset = 0; offset < length; offset += CommandJournal.RECORD_SIZE) {
+                byte opcode = window.get(offset);
+                if (opcode == 0) {
+                    return count;
+                }
+                visitor.visit(opcode,
+                    window.getInt(offset + 4),
+                    window.getInt(offset + 8),
+                    window.getInt(offset + 12),
+                    window.getInt(offset + 16));
+                count++;
+            }
+            position += length;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
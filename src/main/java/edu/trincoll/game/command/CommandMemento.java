@@ -0,0 +1,60 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Health and mana of the characters a command affects, captured before it runs.
+ * <p>
+ * Design Pattern: MEMENTO
+ * - CommandInvoker is the caretaker: it keeps one memento per history entry
+ * - Character is the originator: getHealth()/getMana() save,
+ *   restoreHealthAndMana() restores
+ * <p>
+ * Only health and mana ever change in combat, so those two ints per
+ * affected character are the whole snapshot, read with the primitive
+ * accessors. Capturing allocates two small arrays and no CharacterStats,
+ * and memory grows with the number of affected characters rather than
+ * roster size times history length.
+ */
+final class CommandMemento {
+    private final Character[] characters;
+    private final int[] health;
+    private final int[] mana;
+
+    private CommandMemento(Character[] characters, int[] health, int[] mana) {
+        this.characters = characters;
+        this.health = health;
+        this.mana = mana;
+    }
+
+    /**
+     * Capture the current health and mana of the command's affected
+     * characters, or return null if the command does not declare any.
+     */
+    static CommandMemento capture(GameCommand command) {
+        List<Character> affected = command.affectedCharacters();
+        if (affected.isEmpty()) {
+            return null;
+        }
+
+        Character[] characters = affected.toArray(new Character[0]);
+        int[] health = new int[characters.length];
+        int[] mana = new int[characters.length];
+        for (int i = 0; i < characters.length; i++) {
+            health[i] = characters[i].getHealth();
+            mana[i] = characters[i].getMana();
+        }
+        return new CommandMemento(characters, health, mana);
+    }
+
+    /**
+     * Put every captured character back exactly as it was.
+     */
+    void restore() {
+        for (int i = 0; i < characters.length; i++) {
+            characters[i].restoreHealthAndMana(health[i], mana[i]);
+        }
+    }
+}
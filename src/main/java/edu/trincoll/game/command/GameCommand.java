@@ -1,5 +1,11 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
 /**
  * Command pattern interface for game actions.
  * Commands encapsulate actions that can be executed and undone.
@@ -13,12 +19,39 @@ public interface GameCommand {
      */
     void execute();
 
+    /**
+     * Execute the command with the game's random stream.
+     * Commands without random outcomes need not override this.
+     */
+    default void execute(GameRandom random) {
+        execute();
+    }
+
     /**
      * Undo the command (if possible).
      * Not all commands may be reversible.
      */
     void undo();
 
+    /**
+     * Characters whose stats this command may change.
+     * CommandInvoker snapshots exactly these before executing, so it can
+     * undo by restoring them. Commands that return an empty list are
+     * undone with undo() instead.
+     */
+    default List<Character> affectedCharacters() {
+        return List.of();
+    }
+
+    /**
+     * The same command acting on other characters, e.g. the live
+     * counterparts of copies a speculative decision was made against.
+     * Returns null if the command cannot be rebound.
+     */
+    default GameCommand rebind(UnaryOperator<Character> mapping) {
+        return null;
+    }
+
     /**
      * Get a description of this command for logging.
      */
@@ -2,6 +2,9 @@ package edu.trincoll.game.command;
 
 import edu.trincoll.game.model.Character;
 
+import java.util.List;
+import java.util.function.UnaryOperator;
+
 /**
  * Command to heal a character.
  *
@@ -33,13 +36,13 @@ public class HealCommand implements GameCommand {
     @Override
     public void execute() {
         // Store health before healing
-        int healthBefore = target.getStats().health();
+        int healthBefore = target.getHealth();
 
         // Heal the target
         target.heal(amount);
 
         // Store health after healing
-        int healthAfter = target.getStats().health();
+        int healthAfter = target.getHealth();
 
         // Calculate actual healing done (respects max health)
         actualHealingDone = healthAfter - healthBefore;
@@ -48,12 +51,37 @@ public class HealCommand implements GameCommand {
     @Override
     public void undo() {
         // Set health directly to undo healing (can't use takeDamage as it applies defense)
-        int currentHealth = target.getStats().health();
+        int currentHealth = target.getHealth();
         target.setHealth(currentHealth - actualHealingDone);
     }
 
+    @Override
+    public List<Character> affectedCharacters() {
+        return List.of(target);
+    }
+
+    @Override
+    public GameCommand rebind(UnaryOperator<Character> mapping) {
+        return new HealCommand(mapping.apply(target), amount);
+    }
+
     @Override
     public String getDescription() {
         return String.format("Heal %s for %d HP", target.getName(), amount);
     }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Health actually restored on the last execution (capped at max health).
+     */
+    public int getHealingDone() {
+        return actualHealingDone;
+    }
 }
@@ -1,10 +1,31 @@
 package edu.trincoll.game.config;
 
-import org.springframework.ai.anthropic.AnthropicChatModel;
+import edu.trincoll.game.player.CircuitBreakerRegistry;
+import edu.trincoll.game.player.DecisionCache;
+import edu.trincoll.game.player.DecisionStore;
+import edu.trincoll.game.player.HedgePolicy;
+import edu.trincoll.game.player.PriceTable;
+import edu.trincoll.game.player.PromptStats;
+import edu.trincoll.game.player.RetryBudget;
+import org.springframework.ai.anthropic.AnthropicChatOptions;
+import org.springframework.ai.anthropic.api.AnthropicCacheOptions;
+import org.springframework.ai.anthropic.api.AnthropicCacheStrategy;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Spring Configuration for ChatClient beans.
@@ -16,6 +37,8 @@ import org.springframework.context.annotation.Configuration;
  * - How to configure multiple AI providers
  * <p>
  * Each ChatClient bean is named so it can be injected by qualifier.
+ * The chat models are taken by bean name, so the stub-llm profile
+ * (StubChatModelConfig) can put offline stubs in their place.
  * <p>
  * Design Pattern: FACTORY
  * <p>
@@ -33,13 +56,19 @@ public class ChatClientConfig {
      * <p>
      * - spring.ai.openai.api-key
      * - spring.ai.openai.chat.options.model
+     * <p>
+     * OpenAI caches long prompt prefixes automatically; nothing to enable.
      *
-     * @param chatModel the auto-configured OpenAI chat model
+     * @param chatModel the auto-configured OpenAI chat model, or its stub
+     * @param rateLimiter the OpenAI quota, shared by every game
      * @return ChatClient configured for OpenAI
      */
     @Bean
-    public ChatClient openAiChatClient(OpenAiChatModel chatModel) {
-        return ChatClient.builder(chatModel).build();
+    public ChatClient openAiChatClient(@Qualifier("openAiChatModel") ChatModel chatModel,
+                                       @Qualifier("openAiRateLimiter") RateLimitingAdvisor rateLimiter) {
+        return ChatClient.builder(chatModel)
+            .defaultAdvisors(rateLimiter)
+            .build();
     }
 
     /**
@@ -49,12 +78,195 @@ public class ChatClientConfig {
      * <p>
      * - spring.ai.anthropic.api-key
      * - spring.ai.anthropic.chat.options.model
+     * <p>
+     * Anthropic only caches marked prefixes, so the system prompt is
+     * marked cacheable; the per-turn user message never is.
      *
-     * @param chatModel the auto-configured Anthropic chat model
+     * @param chatModel the auto-configured Anthropic chat model, or its stub
+     * @param rateLimiter the Anthropic quota, shared by every game
      * @return ChatClient configured for Anthropic
      */
     @Bean
-    public ChatClient anthropicChatClient(AnthropicChatModel chatModel) {
-        return ChatClient.builder(chatModel).build();
+    public ChatClient anthropicChatClient(@Qualifier("anthropicChatModel") ChatModel chatModel,
+                                          @Qualifier("anthropicRateLimiter") RateLimitingAdvisor rateLimiter) {
+        return ChatClient.builder(chatModel)
+            .defaultAdvisors(rateLimiter)
+            .defaultOptions(AnthropicChatOptions.builder()
+                .cacheOptions(AnthropicCacheOptions.builder()
+                    .strategy(AnthropicCacheStrategy.SYSTEM_ONLY)
+                    .build())
+                .build())
+            .build();
+    }
+
+    /**
+     * Rate limiter for every OpenAI call in this process.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.rate-limit.openai.requests-per-second
+     * - game.llm.rate-limit.openai.tokens-per-minute
+     * - game.llm.rate-limit.expected-completion-tokens (reserved per call, corrected afterwards)
+     *
+     * @return RateLimitingAdvisor installed on the OpenAI ChatClient
+     */
+    @Bean
+    public RateLimitingAdvisor openAiRateLimiter(
+            @Value("${game.llm.rate-limit.openai.requests-per-second:8}") double requestsPerSecond,
+            @Value("${game.llm.rate-limit.openai.tokens-per-minute:190000}") int tokensPerMinute,
+            @Value("${game.llm.rate-limit.expected-completion-tokens:200}") int expectedCompletionTokens) {
+        return new RateLimitingAdvisor("openai-rate-limit",
+            requestsPerSecond, tokensPerMinute, expectedCompletionTokens);
+    }
+
+    /**
+     * Rate limiter for every Anthropic call in this process; same settings
+     * as openAiRateLimiter under game.llm.rate-limit.anthropic.
+     *
+     * @return RateLimitingAdvisor installed on the Anthropic ChatClient
+     */
+    @Bean
+    public RateLimitingAdvisor anthropicRateLimiter(
+            @Value("${game.llm.rate-limit.anthropic.requests-per-second:0.8}") double requestsPerSecond,
+            @Value("${game.llm.rate-limit.anthropic.tokens-per-minute:45000}") int tokensPerMinute,
+            @Value("${game.llm.rate-limit.expected-completion-tokens:200}") int expectedCompletionTokens) {
+        return new RateLimitingAdvisor("anthropic-rate-limit",
+            requestsPerSecond, tokensPerMinute, expectedCompletionTokens);
+    }
+
+    /**
+     * Shared cache of LLM decisions keyed by canonical game state.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.cache.max-size (entries, least recently used evicted first)
+     * - game.llm.cache.ttl (e.g. 10m)
+     *
+     * @return DecisionCache shared by every LLMPlayer
+     */
+    @Bean
+    public DecisionCache decisionCache(
+            @Value("${game.llm.cache.max-size:1000}") int maxSize,
+            @Value("${game.llm.cache.ttl:10m}") Duration ttl) {
+        return new DecisionCache(maxSize, ttl);
+    }
+
+    /**
+     * Persistent decision store, so repeat prompts are answered across restarts.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.store.enabled (the bean only exists when true)
+     * - game.llm.store.path
+     * - game.llm.store.max-size (e.g. 64MB; compacted when full)
+     *
+     * @return DecisionStore shared by every LLMPlayer, closed on shutdown
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "game.llm.store", name = "enabled", havingValue = "true")
+    public DecisionStore decisionStore(
+            @Value("${game.llm.store.path:decisions.store}") Path path,
+            @Value("${game.llm.store.max-size:64MB}") DataSize maxSize) throws IOException {
+        return DecisionStore.open(path, maxSize.toBytes());
+    }
+
+    /**
+     * Running size of the prompts every LLMPlayer sends.
+     *
+     * @return PromptStats shared by every LLMPlayer
+     */
+    @Bean
+    public PromptStats promptStats() {
+        return new PromptStats();
+    }
+
+    /**
+     * Token prices per model, for the per-game TokenUsageLedger.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.cost.prices (a list of model, input, cached-input,
+     *   cache-write and output, in USD per million tokens)
+     *
+     * @return PriceTable shared by every game
+     */
+    @Bean
+    public PriceTable priceTable(Environment environment) {
+        return new PriceTable(Binder.get(environment)
+            .bind("game.llm.cost.prices", Bindable.listOf(PriceTable.ModelPrice.class))
+            .orElse(List.of()));
+    }
+
+    /**
+     * Hedging for calls whose primary is Anthropic; one policy per primary
+     * provider, since it tracks that provider's latency.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.hedge.percentile (hedge once slower than this share of recent calls)
+     * - game.llm.hedge.deadline (fall back to rule-based play after this)
+     *
+     * @return HedgePolicy for players whose primary is Anthropic
+     */
+    @Bean
+    public HedgePolicy anthropicHedgePolicy(
+            @Value("${game.llm.hedge.percentile:0.95}") double percentile,
+            @Value("${game.llm.hedge.deadline:20s}") Duration deadline) {
+        return HedgePolicy.builder().percentile(percentile).deadline(deadline).build();
+    }
+
+    /**
+     * Hedging for calls whose primary is OpenAI; same settings as anthropicHedgePolicy.
+     *
+     * @return HedgePolicy for players whose primary is OpenAI
+     */
+    @Bean
+    public HedgePolicy openAiHedgePolicy(
+            @Value("${game.llm.hedge.percentile:0.95}") double percentile,
+            @Value("${game.llm.hedge.deadline:20s}") Duration deadline) {
+        return HedgePolicy.builder().percentile(percentile).deadline(deadline).build();
+    }
+
+    /**
+     * Circuit breakers per model name, shared by every LLMPlayer.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.circuit-breaker.window (recent calls considered)
+     * - game.llm.circuit-breaker.minimum-calls (before the breaker may open)
+     * - game.llm.circuit-breaker.failure-rate (opens at this share of failures)
+     * - game.llm.circuit-breaker.open-for (before a trial call is let through)
+     *
+     * @return CircuitBreakerRegistry shared by every LLMPlayer
+     */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakers(
+            @Value("${game.llm.circuit-breaker.window:20}") int window,
+            @Value("${game.llm.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${game.llm.circuit-breaker.failure-rate:0.5}") double failureRate,
+            @Value("${game.llm.circuit-breaker.open-for:30s}") Duration openFor) {
+        return new CircuitBreakerRegistry(window, minimumCalls, failureRate, openFor);
+    }
+
+    /**
+     * Retry budget for transient LLM errors, shared by every LLMPlayer.
+     * <p>
+     * Configuration comes from application.yml:
+     * <p>
+     * - game.llm.retry.ratio (retries earned per call)
+     * - game.llm.retry.cap (most retries saved up)
+     * - game.llm.retry.max-attempts (per call, the first one included)
+     * - game.llm.retry.base-backoff, game.llm.retry.max-backoff
+     *
+     * @return RetryBudget shared by every LLMPlayer
+     */
+    @Bean
+    public RetryBudget retryBudget(
+            @Value("${game.llm.retry.ratio:0.2}") double ratio,
+            @Value("${game.llm.retry.cap:10}") int cap,
+            @Value("${game.llm.retry.max-attempts:3}") int maxAttempts,
+            @Value("${game.llm.retry.base-backoff:200ms}") Duration baseBackoff,
+            @Value("${game.llm.retry.max-backoff:2s}") Duration maxBackoff) {
+        return new RetryBudget(ratio, cap, maxAttempts, baseBackoff, maxBackoff);
     }
 }
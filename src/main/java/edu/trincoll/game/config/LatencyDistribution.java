@@ -0,0 +1,127 @@
+package edu.trincoll.game.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * How long a simulated LLM call takes.
+ * <p>
+ * Three shapes are provided:
+ * <p>
+ * - fixed: every call takes the same time
+ * <p>
+ * - lognormal: right-skewed like real provider latency; most calls sit
+ *   near the median and a few take several times longer
+ * <p>
+ * - histogram: replays latencies recorded from real calls, so the tail
+ *   is whatever the provider actually did
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    Duration sample(RandomGenerator random);
+
+    static LatencyDistribution fixed(Duration latency) {
+        if (latency.isNegative()) {
+            throw new IllegalArgumentException("latency must not be negative");
+        }
+        return random -> latency;
+    }
+
+    /**
+     * Lognormal latency: exp(ln(median) + sigma * Z) for a standard normal Z.
+     * With sigma 0.5 about one call in twenty is 2.3x the median.
+     */
+    static LatencyDistribution lognormal(Duration median, double sigma) {
+        if (median.isNegative() || median.isZero() || sigma < 0) {
+            throw new IllegalArgumentException("need a positive median and sigma >= 0");
+        }
+        double mu = Math.log(median.toNanos());
+        return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Draws uniformly from recorded latencies, in milliseconds.
+     */
+    static LatencyDistribution histogram(long... millis) {
+        long[] counts = new long[millis.length];
+        Arrays.fill(counts, 1);
+        return histogram(millis, counts);
+    }
+
+    /**
+     * Draws from a histogram: latency millis[i] comes up counts[i] times in
+     * sum(counts).
+     */
+    static LatencyDistribution histogram(long[] millis, long[] counts) {
+        if (millis.length == 0 || millis.length != counts.length) {
+            throw new IllegalArgumentException("need one count per latency, and at least one latency");
+        }
+        long[] values = millis.clone();
+        long[] cumulative = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (values[i] < 0 || counts[i] < 0) {
+                throw new IllegalArgumentException("latencies and counts must not be negative");
+            }
+            total += counts[i];
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("histogram is empty");
+        }
+        long sum = total;
+        return random -> {
+            // First bucket whose cumulative count passes the draw; empty buckets never qualify
+            long draw = random.nextLong(sum);
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] > draw) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return Duration.ofMillis(values[low]);
+        };
+    }
+
+    /**
+     * Reads a histogram from a file with one {@code millis [count]} per
+     * line; a missing count means 1. Blank lines and lines starting with
+     * '#' are ignored, so a plain list of recorded latencies also works.
+     */
+    static LatencyDistribution histogram(Path file) throws IOException {
+        List<long[]> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("[\\s,]+");
+            try {
+                rows.add(new long[] {
+                    Long.parseLong(fields[0]),
+                    fields.length > 1 ? Long.parseLong(fields[1]) : 1
+                });
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad latency line in " + file + ": " + line, e);
+            }
+        }
+        long[] millis = new long[rows.size()];
+        long[] counts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            millis[i] = rows.get(i)[0];
+            counts[i] = rows.get(i)[1];
+        }
+        return histogram(millis, counts);
+    }
+}
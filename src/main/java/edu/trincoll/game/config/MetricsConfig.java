@@ -0,0 +1,113 @@
+package edu.trincoll.game.config;
+
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.player.CircuitBreaker;
+import edu.trincoll.game.player.CircuitBreakerRegistry;
+import edu.trincoll.game.player.DecisionCache;
+import edu.trincoll.game.player.HedgePolicy;
+import edu.trincoll.game.player.RetryBudget;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Spring Configuration for game metrics.
+ * <p>
+ * Spring Boot Actuator supplies the MeterRegistry; with the Prometheus
+ * registry on the classpath every meter is scraped from
+ * /actuator/prometheus while a game runs.
+ * <p>
+ * Besides GameMetrics, the counters the LLM infrastructure already keeps
+ * (decision cache, hedging, retries, rate limiting, circuit breakers) are
+ * exposed as function counters, read only at scrape time. Each model's
+ * circuit breaker also has gauges for its state (0 closed, 1 open,
+ * 2 half-open) and the failure rate of its window.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Decision, command and round timers and LLM fallback counts.
+     *
+     * @return GameMetrics shared by the controller and every LLM player
+     */
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry registry) {
+        return new GameMetrics(registry);
+    }
+
+    /**
+     * The LLM infrastructure's own counters as meters.
+     *
+     * @return MeterBinder that Spring Boot applies to the registry
+     */
+    @Bean
+    public MeterBinder llmInfrastructureMetrics(
+            DecisionCache decisionCache,
+            RetryBudget retryBudget,
+            CircuitBreakerRegistry circuitBreakers,
+            @Qualifier("anthropicHedgePolicy") HedgePolicy anthropicHedgePolicy,
+            @Qualifier("openAiHedgePolicy") HedgePolicy openAiHedgePolicy,
+            @Qualifier("openAiRateLimiter") RateLimitingAdvisor openAiRateLimiter,
+            @Qualifier("anthropicRateLimiter") RateLimitingAdvisor anthropicRateLimiter) {
+        return registry -> {
+            counter(registry, "game.llm.cache.hits", decisionCache, DecisionCache::hits);
+            counter(registry, "game.llm.cache.misses", decisionCache, DecisionCache::misses);
+            counter(registry, "game.llm.cache.evictions", decisionCache, DecisionCache::evictions);
+
+            counter(registry, "game.llm.retries", retryBudget, RetryBudget::retries);
+            counter(registry, "game.llm.retries.refused", retryBudget, RetryBudget::exhausted);
+
+            for (Map.Entry<String, HedgePolicy> hedge : Map.of(
+                    "anthropic", anthropicHedgePolicy, "openai", openAiHedgePolicy).entrySet()) {
+                String primary = hedge.getKey();
+                counter(registry, "game.llm.hedge.calls", hedge.getValue(), HedgePolicy::calls, "primary", primary);
+                counter(registry, "game.llm.hedge.hedged", hedge.getValue(), HedgePolicy::hedges, "primary", primary);
+                counter(registry, "game.llm.hedge.secondary.wins", hedge.getValue(), HedgePolicy::secondaryWins,
+                    "primary", primary);
+                counter(registry, "game.llm.hedge.timeouts", hedge.getValue(), HedgePolicy::timeouts,
+                    "primary", primary);
+            }
+
+            for (RateLimitingAdvisor limiter : new RateLimitingAdvisor[] {openAiRateLimiter, anthropicRateLimiter}) {
+                counter(registry, "game.llm.rate.limit.calls", limiter, RateLimitingAdvisor::calls,
+                    "limiter", limiter.getName());
+                counter(registry, "game.llm.rate.limit.throttled", limiter, RateLimitingAdvisor::throttled,
+                    "limiter", limiter.getName());
+                FunctionCounter.builder("game.llm.rate.limit.wait", limiter,
+                        l -> l.totalWait().toNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .baseUnit("seconds")
+                    .tag("limiter", limiter.getName())
+                    .register(registry);
+            }
+
+            // Breakers are created as players first use a model
+            circuitBreakers.forEachBreaker((model, breaker) -> {
+                Gauge.builder("game.llm.breaker.state", breaker, b -> b.state().ordinal())
+                    .description("0 closed, 1 open, 2 half-open")
+                    .tag("model", model)
+                    .register(registry);
+                Gauge.builder("game.llm.breaker.failure.rate", breaker, CircuitBreaker::failureRate)
+                    .tag("model", model)
+                    .register(registry);
+                counter(registry, "game.llm.breaker.opened", breaker, CircuitBreaker::opened, "model", model);
+                counter(registry, "game.llm.breaker.rejected", breaker, CircuitBreaker::rejected, "model", model);
+            });
+        };
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source,
+                                    ToDoubleFunction<T> count, String... tags) {
+        FunctionCounter.builder(name, source, count)
+            .tags(tags)
+            .register(registry);
+    }
+}
@@ -0,0 +1,157 @@
+package edu.trincoll.game.config;
+
+import edu.trincoll.game.player.PromptStats;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps every call through a ChatClient under its provider's quota.
+ * <p>
+ * Installed as a default advisor, so one instance paces every player and
+ * every concurrent game using that client. Each call waits for:
+ * <p>
+ * - one permit from a requests-per-second bucket
+ * - its estimated tokens (prompt plus expectedCompletionTokens) from a
+ *   tokens-per-minute bucket
+ * <p>
+ * Once the response arrives, the estimate is corrected by the usage the
+ * provider reports, so a run of long answers slows later calls down.
+ * Both buckets hold at most one second of refill, which keeps throughput
+ * steady just under the quota rather than bursting into 429s.
+ * <p>
+ * Streams wait when they are subscribed, on the subscribing thread. A
+ * stream that completes is corrected by the usage in its last chunk; one
+ * cancelled before usage arrives keeps its estimate.
+ * <p>
+ * Design Pattern: DECORATOR (Spring AI advisors wrap the model call)
+ */
+public class RateLimitingAdvisor implements CallAdvisor, StreamAdvisor {
+    private final String name;
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+    private final int expectedCompletionTokens;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+
+    public RateLimitingAdvisor(String name, double requestsPerSecond, int tokensPerMinute,
+                               int expectedCompletionTokens) {
+        this(name,
+            new TokenBucket(requestsPerSecond, Math.max(1, requestsPerSecond)),
+            new TokenBucket(tokensPerMinute / 60.0, tokensPerMinute / 60.0),
+            expectedCompletionTokens);
+    }
+
+    RateLimitingAdvisor(String name, TokenBucket requests, TokenBucket tokens, int expectedCompletionTokens) {
+        this.name = name;
+        this.requests = requests;
+        this.tokens = tokens;
+        this.expectedCompletionTokens = expectedCompletionTokens;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        int estimate = acquire(request);
+
+        ChatClientResponse response = chain.nextCall(request);
+        Integer used = totalTokens(response.chatResponse());
+        if (used != null && used > 0) {
+            tokens.refund(estimate - used);
+        }
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        return Flux.defer(() -> {
+            int estimate = acquire(request);
+            AtomicReference<Integer> used = new AtomicReference<>();
+            return chain.nextStream(request)
+                .doOnNext(response -> {
+                    Integer total = totalTokens(response.chatResponse());
+                    if (total != null && total > 0) {
+                        used.set(total);
+                    }
+                })
+                .doOnComplete(() -> {
+                    Integer total = used.get();
+                    if (total != null) {
+                        tokens.refund(estimate - total);
+                    }
+                });
+        });
+    }
+
+    // Waits for a request permit and the estimated tokens; returns the estimate
+    private int acquire(ChatClientRequest request) {
+        String contents = request.prompt().getContents();
+        int estimate = (contents != null ? PromptStats.estimateTokens(contents) : 0) + expectedCompletionTokens;
+
+        try {
+            Duration wait = requests.acquire(1);
+            try {
+                wait = wait.plus(tokens.acquire(estimate));
+            } catch (InterruptedException e) {
+                requests.refund(1);
+                throw e;
+            }
+            calls.increment();
+            if (!wait.isZero()) {
+                throttled.increment();
+                waitedNanos.add(wait.toNanos());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the " + name + " rate limit");
+        }
+        return estimate;
+    }
+
+    private static Integer totalTokens(ChatResponse chatResponse) {
+        if (chatResponse == null || chatResponse.getMetadata() == null) {
+            return null;
+        }
+        Usage usage = chatResponse.getMetadata().getUsage();
+        return usage != null ? usage.getTotalTokens() : null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // Innermost of our advisors, so only real model calls are paced
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * Calls that had to wait for the limiter.
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    public Duration totalWait() {
+        return Duration.ofNanos(waitedNanos.sum());
+    }
+}
@@ -0,0 +1,114 @@
+package edu.trincoll.game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.player.CircuitBreakerRegistry;
+import edu.trincoll.game.player.CompactPromptRenderer;
+import edu.trincoll.game.player.DecisionCache;
+import edu.trincoll.game.player.DecisionStore;
+import edu.trincoll.game.player.HedgePolicy;
+import edu.trincoll.game.player.LLMPlayer;
+import edu.trincoll.game.player.PriceTable;
+import edu.trincoll.game.player.PromptRenderer;
+import edu.trincoll.game.player.PromptStats;
+import edu.trincoll.game.player.RetryBudget;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.player.TokenUsageLedger;
+import edu.trincoll.game.server.GameSessionManager;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Game-server mode, for the server profile.
+ * <p>
+ * Instead of one console game, the application hosts many sessions behind
+ * the REST endpoints of GameSessionController:
+ * <p>
+ *   ./gradlew bootRun --args='--spring.profiles.active=server'
+ * <p>
+ * Add stub-llm to the profiles to load-test without API keys. Sessions'
+ * LLM players share the application's caches, circuit breakers, retry
+ * budget and rate limiters, exactly like the console game's.
+ * <p>
+ * Configuration comes from application-server.yml:
+ * <p>
+ * - game.server.max-sessions (most sessions hosted at once)
+ * - game.server.idle-timeout (evict a session untouched for this long)
+ * - game.server.history-limit (turns each session keeps for undo)
+ * <p>
+ * Design Pattern: FACTORY
+ */
+@Configuration
+@Profile("server")
+public class ServerConfig {
+
+    @Bean
+    public GameSessionManager gameSessionManager(
+            @Qualifier("openAiChatClient") ChatClient openAiClient,
+            @Qualifier("anthropicChatClient") ChatClient anthropicClient,
+            DecisionCache decisionCache,
+            @Autowired(required = false) DecisionStore decisionStore,
+            PromptStats promptStats,
+            @Qualifier("anthropicHedgePolicy") HedgePolicy anthropicHedgePolicy,
+            @Qualifier("openAiHedgePolicy") HedgePolicy openAiHedgePolicy,
+            CircuitBreakerRegistry circuitBreakers,
+            RetryBudget retryBudget,
+            GameMetrics gameMetrics,
+            PriceTable priceTable,
+            ObjectMapper objectMapper,
+            @Value("${spring.ai.openai.chat.options.model}") String openAiModel,
+            @Value("${spring.ai.anthropic.chat.options.model}") String anthropicModel,
+            @Value("${game.llm.cost.budget-usd:0}") double budget,
+            @Value("${game.llm.streaming.enabled:false}") boolean streaming,
+            @Value("${game.llm.streaming.continue-reasoning:false}") boolean continueReasoning,
+            @Value("${game.server.max-sessions:10000}") int maxSessions,
+            @Value("${game.server.idle-timeout:30m}") Duration idleTimeout,
+            @Value("${game.server.history-limit:100}") int historyLimit) {
+        // Every LLM player shares the same infrastructure and its session's ledger;
+        // callers add client and model
+        PromptRenderer promptRenderer = new CompactPromptRenderer();
+        Function<TokenUsageLedger, LLMPlayer.Builder> llmPlayers = usageLedger -> LLMPlayer.builder()
+            .decisionCache(decisionCache)
+            .decisionStore(decisionStore)
+            .promptRenderer(promptRenderer)
+            .promptStats(promptStats)
+            .circuitBreakers(circuitBreakers)
+            .retryBudget(retryBudget)
+            .metrics(gameMetrics)
+            .usageLedger(usageLedger)
+            .streaming(streaming)
+            .continueReasoning(continueReasoning);
+        return GameSessionManager.builder()
+            .players((kind, usageLedger) -> switch (kind) {
+                case RULE_BASED -> new RuleBasedPlayer();
+                case GPT -> llmPlayers.apply(usageLedger)
+                    .chatClient(openAiClient)
+                    .modelName("GPT-5")
+                    .modelId(openAiModel)
+                    .hedge(openAiHedgePolicy, anthropicClient, "Claude-Sonnet-4.5", anthropicModel)
+                    .build();
+                case CLAUDE -> llmPlayers.apply(usageLedger)
+                    .chatClient(anthropicClient)
+                    .modelName("Claude-Sonnet-4.5")
+                    .modelId(anthropicModel)
+                    .hedge(anthropicHedgePolicy, openAiClient, "GPT-5", openAiModel)
+                    .build();
+                case HUMAN -> throw new IllegalArgumentException("Human seats have no player");
+            })
+            .cost(priceTable, budget)
+            .metrics(gameMetrics)
+            .objectMapper(objectMapper)
+            .maxSessions(maxSessions)
+            .idleTimeout(idleTimeout)
+            .historyLimit(historyLimit)
+            .build();
+    }
+}
@@ -0,0 +1,345 @@
+package edu.trincoll.game.config;
+
+import edu.trincoll.game.player.PromptStats;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process ChatModel that answers like an LLM player's provider, with
+ * no network and no API key.
+ * <p>
+ * Every call sleeps for a latency drawn from a LatencyDistribution, then:
+ * <p>
+ * - fails with a TransientAiException at errorRate, as a 429 or 5xx would
+ * <p>
+ * - returns truncated JSON at malformedRate
+ * <p>
+ * - otherwise returns a valid answer: a Decision attacking the weakest
+ *   enemy listed in the prompt, or a team plan with one such order per
+ *   unit when the prompt is from LLMTeamPlayer
+ * <p>
+ * Usage is reported as the prompt's estimated tokens plus
+ * completionTokens, so rate limiting and cost accounting see realistic
+ * numbers. Streams wait the sampled latency before the first chunk and
+ * chunkDelay between chunks. Sleeping unmounts virtual threads, so many
+ * concurrent games can wait on the stub at once.
+ * <p>
+ * Design Pattern: NULL OBJECT (a stand-in provider for tests and benchmarks)
+ */
+public class StubChatModel implements ChatModel {
+    private static final int CHUNK_CHARS = 12;
+
+    private final String model;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double malformedRate;
+    private final int completionTokens;
+    private final Duration chunkDelay;
+
+    // SplittableRandom is not thread-safe; a lock (not synchronized) never pins a virtual thread
+    private final SplittableRandom random;
+    private final ReentrantLock randomLock = new ReentrantLock();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+
+    private StubChatModel(Builder builder) {
+        this.model = builder.model;
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.malformedRate = builder.malformedRate;
+        this.completionTokens = builder.completionTokens;
+        this.chunkDelay = builder.chunkDelay;
+        this.random = builder.seed != null ? new SplittableRandom(builder.seed) : new SplittableRandom();
+    }
+
+    private enum Outcome { ANSWER, ERROR, MALFORMED }
+
+    private record Draw(Duration latency, Outcome outcome) {}
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Draw draw = draw();
+        sleep(draw.latency());
+        if (draw.outcome() == Outcome.ERROR) {
+            throw new TransientAiException("Stub " + model + ": simulated provider error");
+        }
+        String contents = prompt.getContents();
+        String text = draw.outcome() == Outcome.MALFORMED ? malformedAnswer() : answer(contents);
+        return response(text, usage(contents));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Draw draw = draw();
+            if (draw.outcome() == Outcome.ERROR) {
+                return Flux.<ChatResponse>error(new TransientAiException("Stub " + model + ": simulated provider error"))
+                    .delaySubscription(draw.latency());
+            }
+            String contents = prompt.getContents();
+            String text = draw.outcome() == Outcome.MALFORMED ? malformedAnswer() : answer(contents);
+
+            List<ChatResponse> chunks = new ArrayList<>();
+            for (int i = 0; i < text.length(); i += CHUNK_CHARS) {
+                boolean last = i + CHUNK_CHARS >= text.length();
+                chunks.add(response(text.substring(i, Math.min(text.length(), i + CHUNK_CHARS)),
+                    last ? usage(contents) : null));
+            }
+            Flux<ChatResponse> stream = Flux.fromIterable(chunks);
+            if (!chunkDelay.isZero()) {
+                // delayElements also delays the first chunk, so take that off the first-token latency
+                stream = stream.delayElements(chunkDelay);
+                Duration first = draw.latency().minus(chunkDelay);
+                return first.isNegative() ? stream : stream.delaySubscription(first);
+            }
+            return stream.delaySubscription(draw.latency());
+        });
+    }
+
+    private Draw draw() {
+        randomLock.lock();
+        try {
+            calls.increment();
+            Duration sampled = latency.sample(random);
+            double roll = random.nextDouble();
+            Outcome outcome;
+            if (roll < errorRate) {
+                errors.increment();
+                outcome = Outcome.ERROR;
+            } else if (roll < errorRate + malformedRate) {
+                malformed.increment();
+                outcome = Outcome.MALFORMED;
+            } else {
+                outcome = Outcome.ANSWER;
+            }
+            return new Draw(sampled, outcome);
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
+    private void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for stub " + model);
+        }
+    }
+
+    private ChatResponse response(String text, DefaultUsage usage) {
+        ChatResponseMetadata.Builder metadata = ChatResponseMetadata.builder().model(model);
+        if (usage != null) {
+            metadata.usage(usage);
+        }
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))), metadata.build());
+    }
+
+    private DefaultUsage usage(String contents) {
+        return new DefaultUsage(contents != null ? PromptStats.estimateTokens(contents) : 0, completionTokens);
+    }
+
+    // A Decision cut off mid-string, as a response hitting max-tokens would be
+    private static String malformedAnswer() {
+        return "{\"action\": \"attack\", \"target\": \"";
+    }
+
+    /**
+     * The answer to a prompt: a team plan for LLMTeamPlayer prompts, else a Decision.
+     */
+    static String answer(String contents) {
+        String text = contents != null ? contents : "";
+        String target = weakestEnemy(text);
+        int units = text.indexOf("Your units, in turn order:");
+        if (units < 0) {
+            return "{\"action\": \"attack\", \"target\": \"" + escape(target)
+                + "\", \"reasoning\": \"Stub: focus the weakest enemy\"}";
+        }
+
+        StringBuilder plan = new StringBuilder("{\"orders\": [");
+        int end = text.indexOf("\nAllies that already acted:", units);
+        String[] rows = text.substring(units, end >= 0 ? end : text.length()).split("\n");
+        for (int i = 1; i < rows.length; i++) {
+            if (i > 1) {
+                plan.append(", ");
+            }
+            plan.append("{\"character\": \"").append(escape(field(rows[i], 0)))
+                .append("\", \"action\": \"attack\", \"target\": \"").append(escape(target)).append("\"}");
+        }
+        return plan.append("], \"reasoning\": \"Stub: focus the weakest enemy\"}").toString();
+    }
+
+    // The enemy with the least HP in a compact prompt, else the first valid enemy name
+    private static String weakestEnemy(String text) {
+        int enemies = text.lastIndexOf("\nEnemies:");
+        if (enemies >= 0) {
+            String weakest = null;
+            int weakestHp = Integer.MAX_VALUE;
+            String[] rows = text.substring(enemies + 1).split("\n");
+            for (int i = 1; i < rows.length && rows[i].indexOf(',') > 0; i++) {
+                int hp = parseHp(field(rows[i], 2));
+                if (hp < weakestHp) {
+                    weakest = field(rows[i], 0);
+                    weakestHp = hp;
+                }
+            }
+            if (weakest != null) {
+                return weakest;
+            }
+        }
+
+        int valid = text.indexOf("Valid enemy names: ");
+        if (valid >= 0) {
+            int start = valid + "Valid enemy names: ".length();
+            int end = text.indexOf('\n', start);
+            return field(text.substring(start, end >= 0 ? end : text.length()), 0);
+        }
+        // LLMPlayer falls back to the first living enemy
+        return "unknown";
+    }
+
+    private static String field(String row, int index) {
+        String[] fields = row.split(",");
+        return index < fields.length ? fields[index].strip() : "";
+    }
+
+    // "hp/max" as hp; anything unparseable sorts last
+    private static int parseHp(String field) {
+        int slash = field.indexOf('/');
+        try {
+            return Integer.parseInt(slash >= 0 ? field.substring(0, slash) : field);
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * Calls that failed with a simulated provider error.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Calls that returned malformed JSON.
+     */
+    public long malformed() {
+        return malformed.sum();
+    }
+
+    public static class Builder {
+        private String model = "stub";
+        private LatencyDistribution latency = LatencyDistribution.fixed(Duration.ZERO);
+        private double errorRate;
+        private double malformedRate;
+        private int completionTokens = 60;
+        private Duration chunkDelay = Duration.ZERO;
+        private Long seed;
+
+        /**
+         * Model name reported in the response metadata.
+         */
+        public Builder model(String model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Share of calls that fail with a transient error.
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Share of calls that return JSON which does not parse.
+         */
+        public Builder malformedRate(double malformedRate) {
+            this.malformedRate = malformedRate;
+            return this;
+        }
+
+        /**
+         * Completion tokens reported per call.
+         */
+        public Builder completionTokens(int completionTokens) {
+            this.completionTokens = completionTokens;
+            return this;
+        }
+
+        /**
+         * Pause between streamed chunks after the first.
+         */
+        public Builder chunkDelay(Duration chunkDelay) {
+            this.chunkDelay = chunkDelay;
+            return this;
+        }
+
+        /**
+         * Seed for latencies and failures, so a run can be repeated.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public StubChatModel build() {
+            if (model == null) {
+                throw new IllegalStateException("model is required");
+            }
+            if (latency == null) {
+                throw new IllegalStateException("latency is required");
+            }
+            if (errorRate < 0 || malformedRate < 0 || errorRate + malformedRate > 1) {
+                throw new IllegalStateException("errorRate and malformedRate must be >= 0 and sum to at most 1");
+            }
+            if (completionTokens < 0 || chunkDelay == null || chunkDelay.isNegative()) {
+                throw new IllegalStateException("completionTokens and chunkDelay must not be negative");
+            }
+            return new StubChatModel(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
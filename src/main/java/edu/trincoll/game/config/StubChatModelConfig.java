@@ -0,0 +1,103 @@
+package edu.trincoll.game.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Offline chat models for the stub-llm profile.
+ * <p>
+ * application-stub-llm.yml turns the provider auto-configuration off, and
+ * these beans take the names of the OpenAI and Anthropic chat models, so
+ * ChatClientConfig builds its clients (rate limiters and all) on the
+ * stubs. Games, benchmarks and load tests then run with realistic LLM
+ * latency and failures but no network or API keys:
+ * <p>
+ *   ./gradlew bootRun --args='--spring.profiles.active=stub-llm'
+ * <p>
+ * Configuration comes from application-stub-llm.yml:
+ * <p>
+ * - game.llm.stub.latency (fixed, lognormal or histogram)
+ * - game.llm.stub.fixed, game.llm.stub.median, game.llm.stub.sigma
+ * - game.llm.stub.histogram (file of recorded latencies in ms)
+ * - game.llm.stub.error-rate, game.llm.stub.malformed-rate
+ * - game.llm.stub.completion-tokens, game.llm.stub.chunk-delay, game.llm.stub.seed
+ * <p>
+ * Design Pattern: FACTORY
+ */
+@Configuration
+@Profile("stub-llm")
+public class StubChatModelConfig {
+
+    /**
+     * Stands in for the auto-configured OpenAI chat model.
+     *
+     * @return StubChatModel reporting the model name "stub-openai"
+     */
+    @Bean
+    public StubChatModel openAiChatModel(StubSettings settings) throws IOException {
+        return settings.build("stub-openai", 0);
+    }
+
+    /**
+     * Stands in for the auto-configured Anthropic chat model.
+     *
+     * @return StubChatModel reporting the model name "stub-anthropic"
+     */
+    @Bean
+    public StubChatModel anthropicChatModel(StubSettings settings) throws IOException {
+        return settings.build("stub-anthropic", 1);
+    }
+
+    @Bean
+    public StubSettings stubSettings(
+            @Value("${game.llm.stub.latency:lognormal}") String latency,
+            @Value("${game.llm.stub.fixed:800ms}") Duration fixed,
+            @Value("${game.llm.stub.median:900ms}") Duration median,
+            @Value("${game.llm.stub.sigma:0.5}") double sigma,
+            @Value("${game.llm.stub.histogram:latencies.txt}") Path histogram,
+            @Value("${game.llm.stub.error-rate:0.02}") double errorRate,
+            @Value("${game.llm.stub.malformed-rate:0.01}") double malformedRate,
+            @Value("${game.llm.stub.completion-tokens:60}") int completionTokens,
+            @Value("${game.llm.stub.chunk-delay:15ms}") Duration chunkDelay,
+            @Value("${game.llm.stub.seed:42}") long seed) {
+        return new StubSettings(latency, fixed, median, sigma, histogram,
+            errorRate, malformedRate, completionTokens, chunkDelay, seed);
+    }
+
+    /**
+     * The game.llm.stub settings, shared by both stubs.
+     */
+    public record StubSettings(String latency, Duration fixed, Duration median, double sigma,
+                               Path histogram, double errorRate, double malformedRate,
+                               int completionTokens, Duration chunkDelay, long seed) {
+
+        LatencyDistribution distribution() throws IOException {
+            return switch (latency.toLowerCase()) {
+                case "fixed" -> LatencyDistribution.fixed(fixed);
+                case "lognormal" -> LatencyDistribution.lognormal(median, sigma);
+                case "histogram" -> LatencyDistribution.histogram(histogram);
+                default -> throw new IllegalArgumentException(
+                    "game.llm.stub.latency must be fixed, lognormal or histogram, not " + latency);
+            };
+        }
+
+        // Each stub gets its own seed, so the two providers don't fail in lockstep
+        StubChatModel build(String model, long stream) throws IOException {
+            return StubChatModel.builder()
+                .model(model)
+                .latency(distribution())
+                .errorRate(errorRate)
+                .malformedRate(malformedRate)
+                .completionTokens(completionTokens)
+                .chunkDelay(chunkDelay)
+                .seed(seed + stream)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.trincoll.game.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that paces callers by reservation.
+ * <p>
+ * A caller takes its permits at once, letting the balance go negative,
+ * and then sleeps until the refill has covered the debt. Each reservation
+ * therefore queues behind every earlier one (first come, first served)
+ * and callers are spaced evenly at the refill rate, so sustained
+ * throughput sits at the rate instead of bursting and stalling.
+ * <p>
+ * Only the bookkeeping is done under the lock; the wait happens outside
+ * it in a sleep, which unmounts a virtual thread from its carrier.
+ * The lock is a fair ReentrantLock rather than synchronized so that it
+ * never pins a carrier thread either.
+ */
+public class TokenBucket {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacity;
+    private final double ratePerSecond;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private double balance;
+    private long updatedAt;
+
+    /**
+     * @param ratePerSecond permits added per second
+     * @param capacity most permits that can be saved up (the burst size)
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, double capacity, LongSupplier clock) {
+        if (ratePerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("rate and capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ratePerSecond = ratePerSecond;
+        this.clock = clock;
+        this.balance = capacity;
+        this.updatedAt = clock.getAsLong();
+    }
+
+    /**
+     * Takes permits now and returns how long the caller must wait before using them.
+     */
+    public Duration reserve(double permits) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            balance = Math.min(capacity, balance + (now - updatedAt) * ratePerSecond / NANOS_PER_SECOND);
+            updatedAt = now;
+            balance -= permits;
+            return balance >= 0 ? Duration.ZERO
+                : Duration.ofNanos((long) Math.ceil(-balance * NANOS_PER_SECOND / ratePerSecond));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns permits, e.g. when a reservation was not used or was too large.
+     * A negative amount charges permits that were used but not reserved.
+     */
+    public void refund(double permits) {
+        lock.lock();
+        try {
+            balance = Math.min(capacity, balance + permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves permits and waits for them.
+     *
+     * @return how long the caller waited
+     */
+    public Duration acquire(double permits) throws InterruptedException {
+        Duration wait = reserve(permits);
+        if (!wait.isZero()) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait.toNanos());
+            } catch (InterruptedException e) {
+                refund(permits);
+                throw e;
+            }
+        }
+        return wait;
+    }
+}
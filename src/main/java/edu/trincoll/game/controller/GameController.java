@@ -1,15 +1,22 @@
 package edu.trincoll.game.controller;
 
+import edu.trincoll.game.command.AttackCommand;
 import edu.trincoll.game.command.CommandInvoker;
 import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.event.GameEvent;
+import edu.trincoll.game.jfr.TurnEvent;
+import edu.trincoll.game.metrics.GameMetrics;
 import edu.trincoll.game.model.Character;
 import edu.trincoll.game.player.GameState;
 import edu.trincoll.game.player.Player;
+import edu.trincoll.game.random.GameRandom;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Main game controller that orchestrates turn-based combat.
@@ -25,21 +32,93 @@ import java.util.Map;
  * - Players (Strategy) make decisions
  * - Commands (Command) encapsulate actions
  * - Controller (Mediator/Facade) orchestrates everything
+ * <p>
+ * When any player supports speculation, a SpeculativePrefetcher starts
+ * their decisions for the rest of the round on virtual threads, and a turn
+ * uses the prefetched decision if the board turned out as predicted.
+ * <p>
+ * Given a GameMetrics, the controller times each decision (including any
+ * wait for a prefetched one), each command and each round. Each turn is
+ * also a TurnEvent for JDK Flight Recorder, from the moment the turn
+ * starts, so it includes the decision on either path.
+ * <p>
+ * Callers that drive turns themselves, such as the game server, use the
+ * stepwise methods instead of playGame(): currentCharacter() says whose
+ * turn it is, decideTurn() asks that character's player, playTurn()
+ * executes any command for it, and undoTurn() takes the last one back.
+ * These print nothing.
+ * <p>
+ * Either way, listeners added with addListener() receive a GameEvent for
+ * each turn started, command executed, character defeated, round
+ * completed, turn undone and game over, on the thread playing the game.
  */
 public class GameController {
     private final List<Character> team1;
     private final List<Character> team2;
     private final Map<Character, Player> playerMap;
     private final CommandInvoker invoker;
+    private final GameRandom random;
+    private final GameMetrics metrics;
     private GameState gameState;
+    private SpeculativePrefetcher prefetcher;
+
+    // Stepwise play: position in team1-then-team2 order, and the turns played
+    // (no more than the invoker keeps commands for, most recent first)
+    private record Turn(Character character, int turnIndex, GameState gameState) {}
+    private int turnIndex;
+    private final ArrayDeque<Turn> turns = new ArrayDeque<>();
+    private boolean turnAnnounced;
+    // The announced turn's event, begun with its TurnStarted so that it covers the decision
+    private TurnEvent turnEvent;
+    private boolean gameOverAnnounced;
+
+    private final List<Consumer<GameEvent>> listeners = new ArrayList<>();
 
     public GameController(List<Character> team1,
                          List<Character> team2,
                          Map<Character, Player> playerMap) {
+        this(team1, team2, playerMap, GameRandom.unseeded());
+    }
+
+    /**
+     * Creates a controller whose game is reproducible from the given random stream.
+     */
+    public GameController(List<Character> team1,
+                         List<Character> team2,
+                         Map<Character, Player> playerMap,
+                         GameRandom random) {
+        this(team1, team2, playerMap, random, null);
+    }
+
+    /**
+     * Creates a controller that records decision, command and round times
+     * in the given metrics (null for none).
+     */
+    public GameController(List<Character> team1,
+                         List<Character> team2,
+                         Map<Character, Player> playerMap,
+                         GameRandom random,
+                         GameMetrics metrics) {
+        this(team1, team2, playerMap, random, metrics, new CommandInvoker());
+    }
+
+    /**
+     * Creates a controller that executes commands through the given invoker,
+     * e.g. one with a journal or a bounded history. With a bounded history,
+     * undoTurn() can take back only as many turns as the invoker keeps.
+     */
+    public GameController(List<Character> team1,
+                         List<Character> team2,
+                         Map<Character, Player> playerMap,
+                         GameRandom random,
+                         GameMetrics metrics,
+                         CommandInvoker invoker) {
         this.team1 = new ArrayList<>(team1);
         this.team2 = new ArrayList<>(team2);
         this.playerMap = new HashMap<>(playerMap);
-        this.invoker = new CommandInvoker();
+        this.invoker = invoker;
+        this.random = random;
+        this.metrics = metrics;
         this.gameState = GameState.initial();
     }
 
@@ -73,37 +152,68 @@ public class GameController {
         System.out.println("=".repeat(60));
         
         displayTeamSetup();
-        
+
+        // Prefetch slow (LLM) decisions for later turns while earlier ones play
+        prefetcher = SpeculativePrefetcher.isUseful(playerMap)
+            ? new SpeculativePrefetcher(team1, team2, playerMap, invoker.getHistoryLimit())
+            : null;
+        try {
+            playRounds();
+        } finally {
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
+        }
+        publishGameOver();
+
+        displayResult();
+        if (prefetcher != null) {
+            System.out.printf("Speculative decisions: %d used, %d re-issued%n",
+                prefetcher.hits(), prefetcher.misses());
+        }
+    }
+
+    private void playRounds() {
         while (!isGameOver()) {
-            displayRoundHeader();
-            
-            // Team 1's turn
-            for (Character character : team1) {
-                if (isGameOver()) break;
-                if (character.getStats().health() > 0) {
-                    processTurn(character, team1, team2);
-                }
+            long roundStart = System.nanoTime();
+            playRound();
+            if (metrics != null) {
+                metrics.recordRound(System.nanoTime() - roundStart);
             }
-            
-            if (isGameOver()) break;
-            
-            // Team 2's turn
-            for (Character character : team2) {
-                if (isGameOver()) break;
-                if (character.getStats().health() > 0) {
-                    processTurn(character, team2, team1);
-                }
+        }
+    }
+
+    private void playRound() {
+        displayRoundHeader();
+        if (prefetcher != null) {
+            prefetcher.startRound(gameState);
+        }
+        
+        // Team 1's turn
+        for (Character character : team1) {
+            if (isGameOver()) return;
+            if (character.getHealth() > 0) {
+                processTurn(character, team1, team2);
             }
-            
-            // Advance to next round
-            gameState = gameState.nextRound();
-            
-            if (!isGameOver()) {
-                displayRoundSummary();
+        }
+        
+        if (isGameOver()) return;
+        
+        // Team 2's turn
+        for (Character character : team2) {
+            if (isGameOver()) break;
+            if (character.getHealth() > 0) {
+                processTurn(character, team2, team1);
             }
         }
         
-        displayResult();
+        // Advance to next round
+        publish(new GameEvent.RoundCompleted(gameState.roundNumber(), countAlive(team1), countAlive(team2)));
+        gameState = gameState.nextRound();
+        
+        if (!isGameOver()) {
+            displayRoundSummary();
+        }
     }
 
     /**
@@ -128,7 +238,7 @@ public class GameController {
                             List<Character> allies,
                             List<Character> enemies) {
         // Skip if character is defeated
-        if (character.getStats().health() <= 0) {
+        if (character.getHealth() <= 0) {
             return;
         }
 
@@ -141,8 +251,19 @@ public class GameController {
             return;
         }
         
-        // Get the player's decision
-        GameCommand command = player.decideAction(character, allies, enemies, gameState);
+        TurnEvent turnEvent = new TurnEvent();
+        turnEvent.begin();
+        publish(new GameEvent.TurnStarted(gameState.roundNumber(), gameState.turnNumber(), character.getName()));
+
+        // Get the player's decision, prefetched if the board went as predicted
+        long decisionStart = System.nanoTime();
+        GameCommand command = prefetcher != null ? prefetcher.take(character, gameState) : null;
+        if (command == null) {
+            command = player.decideAction(character, allies, enemies, gameState);
+        }
+        if (metrics != null) {
+            metrics.recordDecision(player, System.nanoTime() - decisionStart);
+        }
         
         if (command == null) {
             System.out.println("ERROR: Player returned null command");
@@ -150,14 +271,190 @@ public class GameController {
         }
         
         // Execute the command
-        invoker.executeCommand(command);
+        executeTurn(character, player, command, turnEvent);
         
         // Display the result
         displayActionResult(command);
         
+        if (prefetcher != null) {
+            prefetcher.afterTurn(character, gameState);
+        }
+    }
+
+    /**
+     * Executes a character's command and moves the game state on a turn.
+     */
+    private void executeTurn(Character character, Player player, GameCommand command, TurnEvent turnEvent) {
+        Character target = command instanceof AttackCommand attack ? attack.getTarget() : null;
+        boolean targetAlive = target != null && target.getHealth() > 0;
+
+        long commandStart = System.nanoTime();
+        invoker.executeCommand(command, random);
+        if (metrics != null) {
+            metrics.recordCommand(command, System.nanoTime() - commandStart);
+        }
+        if (turnEvent.shouldCommit()) {
+            turnEvent.setCharacter(character.getName());
+            turnEvent.setPlayerType(player.getClass().getSimpleName());
+            turnEvent.setRound(gameState.roundNumber());
+            turnEvent.setTurn(gameState.turnNumber());
+            turnEvent.commit();
+        }
+        publish(new GameEvent.CommandExecuted(gameState.roundNumber(), gameState.turnNumber(),
+            character.getName(), command.getClass().getSimpleName(), command.getDescription()));
+        if (targetAlive && target.getHealth() <= 0) {
+            publish(new GameEvent.CharacterDefeated(gameState.roundNumber(), target.getName(), character.getName()));
+        }
+
         // Update game state
         gameState = gameState.nextTurn()
-            .withUndo(true, invoker.getCommandHistory().size());
+            .withUndo(true, invoker.historySize());
+    }
+
+    /**
+     * The living character whose turn it is, or null once the game is over.
+     * <p>
+     * Turns go through team1 and then team2, skipping the defeated, and a
+     * new round starts after team2's last character.
+     */
+    public Character currentCharacter() {
+        int size = team1.size() + team2.size();
+        while (!isGameOver()) {
+            if (turnIndex == size) {
+                publish(new GameEvent.RoundCompleted(gameState.roundNumber(), countAlive(team1), countAlive(team2)));
+                gameState = gameState.nextRound();
+                turnIndex = 0;
+            }
+            Character character = turnIndex < team1.size()
+                ? team1.get(turnIndex)
+                : team2.get(turnIndex - team1.size());
+            if (character.getHealth() > 0) {
+                if (!turnAnnounced) {
+                    turnAnnounced = true;
+                    turnEvent = new TurnEvent();
+                    turnEvent.begin();
+                    publish(new GameEvent.TurnStarted(gameState.roundNumber(), gameState.turnNumber(),
+                        character.getName()));
+                }
+                return character;
+            }
+            turnIndex++;
+        }
+        publishGameOver();
+        return null;
+    }
+
+    /**
+     * Asks the current character's player for its command, without executing it.
+     *
+     * @throws IllegalStateException if the game is over
+     */
+    public GameCommand decideTurn() {
+        Character character = requireCurrentCharacter();
+        Player player = playerMap.get(character);
+        long decisionStart = System.nanoTime();
+        GameCommand command = player.decideAction(character, alliesOf(character), enemiesOf(character), gameState);
+        if (metrics != null) {
+            metrics.recordDecision(player, System.nanoTime() - decisionStart);
+        }
+        return command;
+    }
+
+    /**
+     * Executes the given command as the current character's turn.
+     *
+     * @throws IllegalStateException if the game is over
+     * @throws IllegalArgumentException if the command is null
+     */
+    public void playTurn(GameCommand command) {
+        Character character = requireCurrentCharacter();
+        if (command == null) {
+            throw new IllegalArgumentException("No command for " + character.getName());
+        }
+        Turn turn = new Turn(character, turnIndex, gameState);
+        executeTurn(character, playerMap.get(character), command, turnEvent);
+        turnEvent = null;
+        turns.push(turn);
+        int limit = invoker.getHistoryLimit();
+        if (limit != CommandInvoker.UNBOUNDED && turns.size() > limit) {
+            turns.removeLast();
+        }
+        turnIndex++;
+        turnAnnounced = false;
+    }
+
+    /**
+     * The characters of the turns undoTurn() can still take back, most recent first.
+     */
+    public List<Character> undoableTurns() {
+        List<Character> characters = new ArrayList<>(turns.size());
+        for (Turn turn : turns) {
+            characters.add(turn.character());
+        }
+        return characters;
+    }
+
+    /**
+     * Undoes the last turn played with playTurn() and makes it that
+     * character's turn again.
+     *
+     * @return the character whose turn it is again, or null if there was nothing to undo
+     */
+    public Character undoTurn() {
+        Turn turn = turns.poll();
+        if (turn == null) {
+            return null;
+        }
+        invoker.undoLastCommand();
+        turnIndex = turn.turnIndex();
+        gameState = turn.gameState();
+        turnAnnounced = false;
+        gameOverAnnounced = false;
+        publish(new GameEvent.TurnUndone(gameState.roundNumber(), gameState.turnNumber(),
+            turn.character().getName()));
+        return turn.character();
+    }
+
+    /**
+     * Subscribes a listener to this game's events. Listeners are called on
+     * the thread playing the game, so they should not block.
+     */
+    public void addListener(Consumer<GameEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void publish(GameEvent event) {
+        for (Consumer<GameEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    private void publishGameOver() {
+        if (!gameOverAnnounced) {
+            gameOverAnnounced = true;
+            boolean team1Wins = team1.stream().anyMatch(c -> c.getHealth() > 0);
+            publish(new GameEvent.GameOver(gameState.roundNumber(), team1Wins ? 1 : 2));
+        }
+    }
+
+    private Character requireCurrentCharacter() {
+        Character character = currentCharacter();
+        if (character == null) {
+            throw new IllegalStateException("Game is over");
+        }
+        return character;
+    }
+
+    private List<Character> alliesOf(Character character) {
+        return team1.contains(character) ? team1 : team2;
+    }
+
+    private List<Character> enemiesOf(Character character) {
+        return team1.contains(character) ? team2 : team1;
+    }
+
+    public GameState getGameState() {
+        return gameState;
     }
 
     /**
@@ -167,11 +464,11 @@ public class GameController {
      *
      * @return true if game is over, false otherwise
      */
-    private boolean isGameOver() {
+    public boolean isGameOver() {
         boolean team1Alive = team1.stream()
-            .anyMatch(c -> c.getStats().health() > 0);
+            .anyMatch(c -> c.getHealth() > 0);
         boolean team2Alive = team2.stream()
-            .anyMatch(c -> c.getStats().health() > 0);
+            .anyMatch(c -> c.getHealth() > 0);
 
         return !team1Alive || !team2Alive;
     }
@@ -184,7 +481,7 @@ public class GameController {
         System.out.println("GAME OVER");
         System.out.println("=".repeat(60));
 
-        boolean team1Wins = team1.stream().anyMatch(c -> c.getStats().health() > 0);
+        boolean team1Wins = team1.stream().anyMatch(c -> c.getHealth() > 0);
 
         if (team1Wins) {
             System.out.println("🏆 Team 1 wins!");
@@ -208,14 +505,14 @@ public class GameController {
     }
 
     private void displayCharacterStatus(Character c) {
-        String status = c.getStats().health() > 0 ? "Alive" : "Defeated";
-        double healthPercent = c.getStats().maxHealth() > 0 ?
-            (double) c.getStats().health() / c.getStats().maxHealth() * 100 : 0;
+        String status = c.getHealth() > 0 ? "Alive" : "Defeated";
+        double healthPercent = c.getMaxHealth() > 0 ?
+            (double) c.getHealth() / c.getMaxHealth() * 100 : 0;
         System.out.printf("  %s (%s): %d/%d HP (%.0f%%) - %s%n",
             c.getName(),
             c.getType(),
-            Math.max(0, c.getStats().health()),
-            c.getStats().maxHealth(),
+            Math.max(0, c.getHealth()),
+            c.getMaxHealth(),
             Math.max(0, healthPercent),
             status);
     }
@@ -286,7 +583,7 @@ public class GameController {
      */
     private int countAlive(List<Character> team) {
         return (int) team.stream()
-            .filter(c -> c.getStats().health() > 0)
+            .filter(c -> c.getHealth() > 0)
             .count();
     }
 }
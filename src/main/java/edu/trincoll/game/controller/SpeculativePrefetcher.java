@@ -0,0 +1,257 @@
+package edu.trincoll.game.controller;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Starts slow decisions for later turns of a round before those turns arrive.
+ * <p>
+ * At the start of a round the prefetcher plays the round forward on copies
+ * of the board, predicting every character's move with a RuleBasedPlayer.
+ * For each character whose player supportsSpeculation(), it snapshots the
+ * predicted board just before that character's turn and starts the real
+ * decideAction on a virtual thread against the snapshot. All LLM calls of
+ * a round are then in flight at once instead of one after another.
+ * <p>
+ * When the turn arrives, the speculative decision is used only if the
+ * live board (every character's health and mana, and the GameState) is
+ * exactly the predicted one; the command is then rebound from the copies
+ * to the live characters. Otherwise it is cancelled and the controller
+ * asks the player again. After each turn whose outcome differs from the
+ * prediction, the rest of the round is re-planned from the live board.
+ * <p>
+ * Predictions execute commands without the game's random stream, so
+ * strategies with random outcomes simply cause misses, never wrong moves.
+ */
+class SpeculativePrefetcher implements AutoCloseable {
+    // A turn in round order
+    private record Turn(Character character, List<Character> allies, List<Character> enemies) {}
+
+    // A decision in flight against a snapshot of the predicted board
+    private record Speculation(String board, Map<Character, Character> toLive, Future<GameCommand> decision) {}
+
+    private final List<Character> team1;
+    private final List<Character> team2;
+    private final Map<Character, Player> playerMap;
+    private final int historyLimit;
+    private final Player predictor = new RuleBasedPlayer();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Turn> round = new ArrayList<>();
+    private final Map<Character, Speculation> pending = new IdentityHashMap<>();
+    private final Map<Character, String> expectedAfter = new IdentityHashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * @param historyLimit the invoker's history limit (CommandInvoker.UNBOUNDED
+     *                     for none), which caps the live history size
+     */
+    SpeculativePrefetcher(List<Character> team1, List<Character> team2, Map<Character, Player> playerMap,
+                          int historyLimit) {
+        this.team1 = team1;
+        this.team2 = team2;
+        this.playerMap = playerMap;
+        this.historyLimit = historyLimit;
+    }
+
+    /**
+     * Whether any player in the game can be prefetched at all.
+     */
+    static boolean isUseful(Map<Character, Player> playerMap) {
+        return playerMap.values().stream().anyMatch(Player::supportsSpeculation);
+    }
+
+    /**
+     * Plans a new round from the live board; call before its first turn.
+     */
+    void startRound(GameState gameState) {
+        round.clear();
+        for (Character c : team1) {
+            round.add(new Turn(c, team1, team2));
+        }
+        for (Character c : team2) {
+            round.add(new Turn(c, team2, team1));
+        }
+        plan(0, gameState);
+    }
+
+    /**
+     * The prefetched command for this turn, rebound to the live characters,
+     * or null if there is none or the board differs from the prediction.
+     */
+    GameCommand take(Character character, GameState gameState) {
+        Speculation speculation = pending.remove(character);
+        if (speculation == null) {
+            return null;
+        }
+        if (!speculation.board().equals(fingerprint(team1, team2, gameState))) {
+            speculation.decision().cancel(true);
+            misses++;
+            return null;
+        }
+
+        try {
+            GameCommand command = speculation.decision().get();
+            GameCommand live = command == null ? null
+                : command.rebind(c -> speculation.toLive().getOrDefault(c, c));
+            if (live == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return live;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            misses++;
+            return null;
+        } catch (ExecutionException e) {
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Re-plans the rest of the round if this turn did not go as predicted.
+     */
+    void afterTurn(Character character, GameState gameState) {
+        String expected = expectedAfter.get(character);
+        if (expected != null && !expected.equals(fingerprint(team1, team2, gameState))) {
+            for (int i = 0; i < round.size(); i++) {
+                if (round.get(i).character() == character) {
+                    plan(i + 1, gameState);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void plan(int from, GameState gameState) {
+        cancelPending();
+        expectedAfter.clear();
+
+        // Play the rest of the round forward on copies
+        Map<Character, Character> sim = copyBoard(null);
+        List<Character> simTeam1 = mapAll(team1, sim);
+        List<Character> simTeam2 = mapAll(team2, sim);
+        GameState predicted = gameState;
+
+        for (int i = from; i < round.size(); i++) {
+            if (isOver(simTeam1) || isOver(simTeam2)) {
+                break;
+            }
+            Turn turn = round.get(i);
+            Character self = sim.get(turn.character());
+            if (self.isDead()) {
+                continue;
+            }
+
+            Player player = playerMap.get(turn.character());
+            if (player != null && player.supportsSpeculation()) {
+                speculate(player, turn, sim, fingerprint(simTeam1, simTeam2, predicted), predicted);
+            }
+
+            GameCommand command = predictor.decideAction(
+                self, mapAll(turn.allies(), sim), mapAll(turn.enemies(), sim), predicted);
+            try {
+                command.execute();
+            } catch (IllegalStateException e) {
+                // e.g. not enough mana: the turn is predicted to fail
+            }
+            predicted = predicted.nextTurn().withUndo(true, historySizeAfter(predicted));
+            expectedAfter.put(turn.character(), fingerprint(simTeam1, simTeam2, predicted));
+        }
+    }
+
+    // The history size after one more command, capped like the live invoker's
+    private int historySizeAfter(GameState gameState) {
+        int size = gameState.commandHistorySize() + 1;
+        return historyLimit != CommandInvoker.UNBOUNDED ? Math.min(historyLimit, size) : size;
+    }
+
+    private void speculate(Player player, Turn turn, Map<Character, Character> sim,
+                           String board, GameState predicted) {
+        // A private snapshot, since the simulation keeps moving
+        Map<Character, Character> snapshot = copyBoard(sim);
+        Map<Character, Character> toLive = new IdentityHashMap<>();
+        for (Map.Entry<Character, Character> entry : snapshot.entrySet()) {
+            toLive.put(entry.getValue(), entry.getKey());
+        }
+
+        Character self = snapshot.get(turn.character());
+        List<Character> allies = mapAll(turn.allies(), snapshot);
+        List<Character> enemies = mapAll(turn.enemies(), snapshot);
+        Future<GameCommand> decision = executor.submit(
+            () -> player.decideAction(self, allies, enemies, predicted));
+        pending.put(turn.character(), new Speculation(board, toLive, decision));
+    }
+
+    // Live character -> copy, copied from the live board or from another copy
+    private Map<Character, Character> copyBoard(Map<Character, Character> from) {
+        Map<Character, Character> copies = new IdentityHashMap<>();
+        for (Turn turn : round) {
+            Character source = from == null ? turn.character() : from.get(turn.character());
+            copies.put(turn.character(), source.copy());
+        }
+        return copies;
+    }
+
+    private static List<Character> mapAll(List<Character> characters, Map<Character, Character> mapping) {
+        List<Character> mapped = new ArrayList<>(characters.size());
+        for (Character c : characters) {
+            mapped.add(mapping.get(c));
+        }
+        return mapped;
+    }
+
+    private static boolean isOver(List<Character> team) {
+        return team.stream().allMatch(Character::isDead);
+    }
+
+    // Everything a decision can depend on that changes during a game
+    private static String fingerprint(List<Character> team1, List<Character> team2, GameState gameState) {
+        StringBuilder board = new StringBuilder(64);
+        for (Character c : team1) {
+            board.append(c.getHealth()).append('/').append(c.getMana()).append(',');
+        }
+        board.append('|');
+        for (Character c : team2) {
+            board.append(c.getHealth()).append('/').append(c.getMana()).append(',');
+        }
+        return board.append('|').append(gameState).toString();
+    }
+
+    private void cancelPending() {
+        for (Speculation speculation : pending.values()) {
+            speculation.decision().cancel(true);
+        }
+        pending.clear();
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        cancelPending();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+package edu.trincoll.game.event;
+
+/**
+ * Something that happened in a game, as published by GameController.
+ * <p>
+ * Design Pattern: OBSERVER
+ * <p>
+ * - The controller publishes events to listeners it knows only as
+ *   Consumer&lt;GameEvent&gt;
+ * - Listeners (such as the game server's event streams) subscribe without
+ *   the controller knowing who they are
+ * <p>
+ * The interface is sealed, so a switch over an event's type is checked for
+ * exhaustiveness. Events hold names and numbers, not Characters, so they
+ * stay valid after the game moves on and can be serialized as they are.
+ */
+public sealed interface GameEvent {
+
+    int round();
+
+    /**
+     * Name of the event type, such as "TurnStarted".
+     */
+    default String type() {
+        return getClass().getSimpleName();
+    }
+
+    record TurnStarted(int round, int turn, String character) implements GameEvent {}
+
+    record CommandExecuted(int round, int turn, String character, String command,
+                           String description) implements GameEvent {}
+
+    record CharacterDefeated(int round, String character, String defeatedBy) implements GameEvent {}
+
+    record RoundCompleted(int round, int team1Alive, int team2Alive) implements GameEvent {}
+
+    /**
+     * A turn was taken back; it is this character's turn again.
+     */
+    record TurnUndone(int round, int turn, String character) implements GameEvent {}
+
+    /**
+     * @param winner 1 or 2
+     */
+    record GameOver(int round, int winner) implements GameEvent {}
+}
@@ -0,0 +1,42 @@
+package edu.trincoll.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One command executed by a CommandInvoker, with the health it took or
+ * restored.
+ */
+@Name("edu.trincoll.game.Command")
+@Label("Game Command")
+@Category({"Game", "Commands"})
+@Description("A command executed by a CommandInvoker")
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Damage")
+    @Description("Health the target actually lost")
+    private int damage;
+
+    @Label("Heal")
+    @Description("Health the target actually regained")
+    private int heal;
+
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    public void setDamage(int damage) {
+        this.damage = damage;
+    }
+
+    public void setHeal(int heal) {
+        this.heal = heal;
+    }
+}
@@ -0,0 +1,53 @@
+package edu.trincoll.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One LLMPlayer decision, or one LLMTeamPlayer plan. The duration is its
+ * latency, including cache lookups, retries, hedging and any fallback.
+ * <p>
+ * Outcomes: cached, stored, success, cancelled (e.g. a discarded
+ * speculation), or the fallback reason (timeout, circuit-open, invalid,
+ * error, budget).
+ */
+@Name("edu.trincoll.game.LlmCall")
+@Label("LLM Call")
+@Category({"Game", "LLM"})
+@Description("An LLM player deciding on an action")
+@StackTrace(false)
+public class LlmCallEvent extends Event {
+    @Label("Model")
+    private String model;
+
+    @Label("Prompt Characters")
+    @Description("System and user prompt length; 0 when answered from the cache")
+    private int promptChars;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Fallback Used")
+    @Description("Whether the turn was played without the model's decision")
+    private boolean fallbackUsed;
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public void setPromptChars(int promptChars) {
+        this.promptChars = promptChars;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public void setFallbackUsed(boolean fallbackUsed) {
+        this.fallbackUsed = fallbackUsed;
+    }
+}
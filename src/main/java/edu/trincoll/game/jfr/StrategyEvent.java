@@ -0,0 +1,50 @@
+package edu.trincoll.game.jfr;
+
+import edu.trincoll.game.model.Character;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Damage computed by an AttackStrategy, before the target's defense.
+ * An instant event: the computation is too short to be worth timing.
+ * <p>
+ * Emitted by AttackCommand, not by the strategies, so damage estimates
+ * that run a strategy on a copy (as the LLM prompts do) are not recorded
+ * as attacks.
+ */
+@Name("edu.trincoll.game.Strategy")
+@Label("Attack Strategy")
+@Category({"Game", "Strategies"})
+@Description("Damage computed by an attack strategy")
+@StackTrace(false)
+public class StrategyEvent extends Event {
+    @Label("Strategy Class")
+    private String strategyClass;
+
+    @Label("Attacker")
+    private String attacker;
+
+    @Label("Target")
+    private String target;
+
+    @Label("Computed Damage")
+    private int damage;
+
+    /**
+     * Commits an event if recording is on; otherwise nothing is built.
+     */
+    public static void emit(Class<?> strategyClass, Character attacker, Character target, int damage) {
+        StrategyEvent event = new StrategyEvent();
+        if (event.shouldCommit()) {
+            event.strategyClass = strategyClass.getSimpleName();
+            event.attacker = attacker.getName();
+            event.target = target.getName();
+            event.damage = damage;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.trincoll.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One character's turn in a GameController game, from the decision to
+ * the executed command. The duration is the whole turn.
+ * <p>
+ * Like every event in this package, it is created and begun
+ * unconditionally and filled in only if shouldCommit(). With recording
+ * off, or the event disabled, that check is a constant false once
+ * JIT-compiled and escape analysis removes the allocation, so the events
+ * cost nothing in the simulation hot path. Record with, for example:
+ * <p>
+ *   java -XX:StartFlightRecording:filename=game.jfr,settings=profile ...
+ * <p>
+ * and open game.jfr in JDK Mission Control, where the events appear
+ * under "Game" next to GC and CPU samples.
+ */
+@Name("edu.trincoll.game.Turn")
+@Label("Game Turn")
+@Category({"Game", "Turns"})
+@Description("A character deciding on and executing its action")
+@StackTrace(false)
+public class TurnEvent extends Event {
+    @Label("Character")
+    private String character;
+
+    @Label("Player Type")
+    private String playerType;
+
+    @Label("Round")
+    private int round;
+
+    @Label("Turn")
+    private int turn;
+
+    public void setCharacter(String character) {
+        this.character = character;
+    }
+
+    public void setPlayerType(String playerType) {
+        this.playerType = playerType;
+    }
+
+    public void setRound(int round) {
+        this.round = round;
+    }
+
+    public void setTurn(int turn) {
+        this.turn = turn;
+    }
+}
@@ -0,0 +1,105 @@
+package edu.trincoll.game.metrics;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.player.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for where a game's time goes.
+ * <p>
+ * - game.decision: Player.decideAction, tagged by player class and model
+ * <p>
+ * - game.command: CommandInvoker.executeCommand, tagged by command class
+ * <p>
+ * - game.round: one GameController round, every turn included
+ * <p>
+ * - game.llm.fallbacks: LLM turns played rule-based instead, tagged by
+ *   model and reason (timeout, circuit-open, invalid, error, no-order, budget)
+ * <p>
+ * Timers publish percentile histograms, so p50/p99 can be aggregated
+ * across games and instances from the Prometheus scrape.
+ * <p>
+ * Meters are looked up once per player class and model, command class
+ * and fallback reason and then cached (never per player instance, so
+ * games that come and go do not grow the cache), so recording costs a map lookup and a timer
+ * update; callers pass elapsed nanos instead of allocating a sample.
+ * Code that is given no GameMetrics records nothing. Thread-safe; one
+ * instance is shared by every game.
+ */
+public class GameMetrics {
+    public static final String DECISION = "game.decision";
+    public static final String COMMAND = "game.command";
+    public static final String ROUND = "game.round";
+    public static final String FALLBACKS = "game.llm.fallbacks";
+
+    private final MeterRegistry registry;
+    private final Timer roundTimer;
+    private final ClassValue<Map<String, Timer>> decisionTimers = new ClassValue<>() {
+        @Override
+        protected Map<String, Timer> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final ClassValue<Timer> commandTimers = new ClassValue<>() {
+        @Override
+        protected Timer computeValue(Class<?> type) {
+            return timer(COMMAND, "Time to execute a command", Duration.ofNanos(100), Duration.ofMillis(100))
+                .tag("command", type.getSimpleName())
+                .register(registry);
+        }
+    };
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.roundTimer = timer(ROUND, "Time to play one round", Duration.ofNanos(10_000), Duration.ofMinutes(10))
+            .register(registry);
+    }
+
+    private static Timer.Builder timer(String name, String description, Duration min, Duration max) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(min)
+            .maximumExpectedValue(max);
+    }
+
+    public void recordDecision(Player player, long nanos) {
+        Class<?> type = player.getClass();
+        String model = player.modelName() != null ? player.modelName() : "none";
+        decisionTimers.get(type).computeIfAbsent(model, m ->
+                timer(DECISION, "Time for a player to decide its action", Duration.ofNanos(100), Duration.ofMinutes(1))
+                    .tag("player", type.getSimpleName())
+                    .tag("model", m)
+                    .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCommand(GameCommand command, long nanos) {
+        commandTimers.get(command.getClass()).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRound(long nanos) {
+        roundTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts an LLM turn that was played rule-based, or by a default action, instead.
+     */
+    public void recordFallback(String model, String reason) {
+        fallbackCounters.computeIfAbsent(model + '\u0000' + reason, key ->
+                Counter.builder(FALLBACKS)
+                    .description("LLM turns played without a usable model decision")
+                    .tag("model", model)
+                    .tag("reason", reason)
+                    .register(registry))
+            .increment();
+    }
+}
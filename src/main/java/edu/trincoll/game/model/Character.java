@@ -1,5 +1,6 @@
 package edu.trincoll.game.model;
 
+import edu.trincoll.game.random.GameRandom;
 import edu.trincoll.game.strategy.AttackStrategy;
 import edu.trincoll.game.strategy.DefenseStrategy;
 
@@ -8,11 +9,24 @@ import java.util.Objects;
 /**
  * Represents a game character with stats and behavior strategies.
  * This class will be constructed using the Builder pattern.
+ * <p>
+ * Stats are held as a mutable primitive block, so combat updates write a
+ * field instead of replacing a CharacterStats record. The values are
+ * validated once, when the character is built; every update clamps to the
+ * same bounds CharacterStats.withHealth/withMana enforce, so they stay
+ * valid without re-checking. getStats() returns an immutable snapshot that
+ * is built on demand and reused until the next change.
  */
 public class Character {
     private final String name;
     private final CharacterType type;
-    private CharacterStats stats;
+    private int health;
+    private final int maxHealth;
+    private final int attackPower;
+    private final int defense;
+    private int mana;
+    private final int maxMana;
+    private CharacterStats snapshot;
     private AttackStrategy attackStrategy;
     private DefenseStrategy defenseStrategy;
 
@@ -21,12 +35,28 @@ public class Character {
                      AttackStrategy attackStrategy, DefenseStrategy defenseStrategy) {
         this.name = Objects.requireNonNull(name, "Name cannot be null");
         this.type = Objects.requireNonNull(type, "Type cannot be null");
-        this.stats = Objects.requireNonNull(stats, "Stats cannot be null");
+        Objects.requireNonNull(stats, "Stats cannot be null");
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
+        this.health = stats.health();
+        this.maxHealth = stats.maxHealth();
+        this.attackPower = stats.attackPower();
+        this.defense = stats.defense();
+        this.mana = stats.mana();
+        this.maxMana = stats.maxMana();
+        this.snapshot = stats;
     }
 
     // Getters
+    /**
+     * An independent character with the same name, type, current stats and
+     * strategies, for trying out moves without touching this one.
+     * Copies are equal to the original.
+     */
+    public Character copy() {
+        return new Character(name, type, getStats(), attackStrategy, defenseStrategy);
+    }
+
     public String getName() {
         return name;
     }
@@ -35,8 +65,42 @@ public class Character {
         return type;
     }
 
+    /**
+     * Immutable snapshot of the current stats.
+     * Built lazily and shared until the next health or mana change.
+     */
     public CharacterStats getStats() {
-        return stats;
+        CharacterStats current = snapshot;
+        if (current == null) {
+            current = new CharacterStats(health, maxHealth, attackPower, defense, mana, maxMana);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    // Primitive stat accessors (allocation-free, for hot paths)
+    public int getHealth() {
+        return health;
+    }
+
+    public int getMaxHealth() {
+        return maxHealth;
+    }
+
+    public int getAttackPower() {
+        return attackPower;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public int getMana() {
+        return mana;
+    }
+
+    public int getMaxMana() {
+        return maxMana;
     }
 
     public AttackStrategy getAttackStrategy() {
@@ -65,15 +129,30 @@ public class Character {
         return defenseStrategy.calculateDamageReduction(this, incomingDamage);
     }
 
+    // Variants that pass the game's random stream through to the strategies
+    public int attack(Character target, GameRandom random) {
+        return attackStrategy.calculateDamage(this, target, random);
+    }
+
+    public int defend(int incomingDamage, GameRandom random) {
+        return defenseStrategy.calculateDamageReduction(this, incomingDamage, random);
+    }
+
     // Health management
     public void takeDamage(int damage) {
         int actualDamage = defend(damage);
         int netDamage = Math.max(0, actualDamage);
-        stats = stats.withHealth(stats.health() - netDamage);
+        setHealth(health - netDamage);
+    }
+
+    public void takeDamage(int damage, GameRandom random) {
+        int actualDamage = defend(damage, random);
+        int netDamage = Math.max(0, actualDamage);
+        setHealth(health - netDamage);
     }
 
     public void heal(int amount) {
-        stats = stats.withHealth(stats.health() + amount);
+        setHealth(health + amount);
     }
 
     /**
@@ -81,35 +160,50 @@ public class Character {
      * Use with caution - bypasses defense calculations.
      */
     public void setHealth(int health) {
-        stats = stats.withHealth(health);
+        this.health = Math.max(0, Math.min(health, maxHealth));
+        snapshot = null;
+    }
+
+    /**
+     * Restore health and mana read earlier with getHealth() and getMana()
+     * (used by command undo). Both are set exactly, without clamping.
+     */
+    public void restoreHealthAndMana(int health, int mana) {
+        this.health = health;
+        this.mana = mana;
+        snapshot = null;
     }
 
     // Mana management
     public void useMana(int amount) {
-        if (stats.mana() < amount) {
+        if (mana < amount) {
             throw new IllegalStateException("Not enough mana");
         }
-        stats = stats.withMana(stats.mana() - amount);
+        setMana(mana - amount);
     }
 
     public void restoreMana(int amount) {
-        stats = stats.withMana(stats.mana() + amount);
+        setMana(mana + amount);
+    }
+
+    private void setMana(int mana) {
+        this.mana = Math.max(0, Math.min(mana, maxMana));
+        snapshot = null;
     }
 
     // Status checks
     public boolean isAlive() {
-        return stats.isAlive();
+        return health > 0;
     }
 
     public boolean isDead() {
-        return stats.isDead();
+        return health <= 0;
     }
 
     @Override
     public String toString() {
         return String.format("%s (%s) - HP: %d/%d, ATK: %d, DEF: %d",
-            name, type, stats.health(), stats.maxHealth(),
-            stats.attackPower(), stats.defense());
+            name, type, health, maxHealth, attackPower, defense);
     }
 
     @Override
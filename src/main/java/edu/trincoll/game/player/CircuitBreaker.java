@@ -0,0 +1,193 @@
+package edu.trincoll.game.player;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one model, over a sliding window of recent calls.
+ * <p>
+ * - CLOSED: calls go through; once the window holds at least minimumCalls
+ *   outcomes and the failure rate reaches the threshold, the breaker opens
+ * - OPEN: calls are refused at once, so the player falls back without
+ *   waiting on a provider that is known to be failing
+ * - HALF_OPEN: after openDuration a single trial call is let through;
+ *   success closes the breaker with a fresh window, failure reopens it
+ * <p>
+ * Every call goes out with a Permit from tryAcquire(), and its outcome is
+ * recorded against that permit, once. A permit belongs to the state the
+ * breaker was in when it was issued: an outcome that arrives after the
+ * breaker has moved on, e.g. a slow success from before it opened, is
+ * ignored. So only the trial's own permit settles a HALF_OPEN breaker.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Leave to make one call; settle it with recordSuccess, recordFailure or release.
+     */
+    public static final class Permit {
+        private final long generation;
+        private boolean settled;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    // Bumped on every change of state, so permits from an earlier state are stale
+    private long generation;
+    private int count;
+    private int next;
+    private int failed;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration openDuration, LongSupplier clock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("need 0 < minimumCalls <= windowSize");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * A permit for a call that may go out now, or null if the breaker refuses it.
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+            trialInFlight = false;
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> !trialInFlight;
+        };
+        if (!permitted) {
+            rejected.increment();
+            return null;
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+        return new Permit(generation);
+    }
+
+    public synchronized void recordSuccess(Permit permit) {
+        if (!settle(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+            resetWindow();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void recordFailure(Permit permit) {
+        if (!settle(permit)) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (count >= minimumCalls && (double) failed / count >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Ends a permitted call that produced no outcome, e.g. because it was cancelled.
+     */
+    public synchronized void release(Permit permit) {
+        if (settle(permit) && state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    // Whether the permit is current and still unsettled; settles it either way
+    private boolean settle(Permit permit) {
+        if (permit.settled) {
+            return false;
+        }
+        permit.settled = true;
+        return permit.generation == generation;
+    }
+
+    private void transition(State to) {
+        state = to;
+        generation++;
+    }
+
+    private void record(boolean failure) {
+        if (count == failures.length) {
+            if (failures[next]) {
+                failed--;
+            }
+        } else {
+            count++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+        opened.increment();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        count = 0;
+        next = 0;
+        failed = 0;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Failure rate of the calls in the current window, 0 if there are none.
+     */
+    public synchronized double failureRate() {
+        return count > 0 ? (double) failed / count : 0;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long opened() {
+        return opened.sum();
+    }
+}
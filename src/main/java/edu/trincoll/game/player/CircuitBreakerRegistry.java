@@ -0,0 +1,76 @@
+package edu.trincoll.game.player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * One CircuitBreaker per model name, shared by every player and game.
+ * <p>
+ * Players for the same model share its breaker, so a failing provider
+ * is detected once for the whole process instead of once per player.
+ * Breakers are created on first use; forEachBreaker() sees each one as it
+ * is created, e.g. to register its meters.
+ */
+public class CircuitBreakerRegistry {
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final LongSupplier clock;
+    // Guarded by this, as is every breaker's creation
+    private final List<BiConsumer<String, CircuitBreaker>> listeners = new ArrayList<>();
+
+    public CircuitBreakerRegistry(int windowSize, int minimumCalls,
+                                  double failureRateThreshold, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreakerRegistry(int windowSize, int minimumCalls, double failureRateThreshold,
+                           Duration openDuration, LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public CircuitBreaker forModel(String modelName) {
+        CircuitBreaker breaker = breakers.get(modelName);
+        return breaker != null ? breaker : create(modelName);
+    }
+
+    private synchronized CircuitBreaker create(String modelName) {
+        CircuitBreaker breaker = breakers.get(modelName);
+        if (breaker == null) {
+            breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, clock);
+            breakers.put(modelName, breaker);
+            for (BiConsumer<String, CircuitBreaker> listener : listeners) {
+                listener.accept(modelName, breaker);
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Calls the listener with every breaker created so far, then with each
+     * one as it is created.
+     */
+    public synchronized void forEachBreaker(BiConsumer<String, CircuitBreaker> listener) {
+        listeners.add(listener);
+        breakers.forEach(listener);
+    }
+
+    /**
+     * Every breaker created so far, by model name.
+     */
+    public Map<String, CircuitBreaker> breakers() {
+        return new TreeMap<>(breakers);
+    }
+}
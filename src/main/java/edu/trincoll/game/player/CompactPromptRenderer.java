@@ -0,0 +1,112 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Dense, token-minimal prompt renderer.
+ * <p>
+ * Compared with LLMPlayer's verbose buildPrompt, it:
+ * <p>
+ * - lists every unit as one CSV row under a single column header
+ * - drops dead units, which can neither act nor be targeted
+ * - lists self once instead of again among the allies
+ * - leaves out the JSON spec, since entity(Decision.class) already
+ *   appends the response format instructions
+ * - shows the estimated damage against every living enemy instead of
+ *   only the weakest, at a few characters each
+ * <p>
+ * The rules, every role and the tactical guidance form a system prompt
+ * that is identical for every character, turn and game, so a provider
+ * can cache it once per model; only the unit table changes per turn.
+ * <p>
+ * Rendering appends to a per-thread StringBuilder with no format-string
+ * parsing, so a prompt costs little more than the characters it holds.
+ */
+public class CompactPromptRenderer implements PromptRenderer {
+    private static final String SYSTEM_PROMPT = """
+        You control one character in a turn-based RPG battle between two teams.
+        Each turn, choose one action: attack <enemy>, or heal <ally> (yourself included) for 30 HP.
+        A team loses when all its characters reach 0 HP.
+        Roles:
+        - WARRIOR: tank damage, protect weaker allies.
+        - MAGE: deal high damage, stay safe. Attacks cost 10 mana.
+        - ARCHER: pick off wounded enemies.
+        - ROGUE: take out high-value enemies fast.
+        Tactics: focus fire on wounded enemies; heal allies below 30% HP.
+        Units are listed as name,type,hp,mana,atk,def; each enemy ends with +dmg,
+        your estimated damage against it.""";
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    @Override
+    public String systemPrompt() {
+        return SYSTEM_PROMPT;
+    }
+
+    @Override
+    public String render(Character self,
+                         List<Character> allies,
+                         List<Character> enemies,
+                         GameState gameState) {
+        StringBuilder prompt = BUFFER.get();
+        prompt.setLength(0);
+
+        prompt.append("You are ").append(self.getName()).append(", a ").append(self.getType())
+            .append(". Turn ").append(gameState.turnNumber())
+            .append(", round ").append(gameState.roundNumber()).append(".\n")
+            .append("You: ");
+        appendUnit(prompt, self);
+
+        prompt.append("\nAllies:");
+        int listed = 0;
+        for (Character ally : allies) {
+            if (ally != self && ally.isAlive()) {
+                appendUnit(prompt.append('\n'), ally);
+                listed++;
+            }
+        }
+        if (listed == 0) {
+            prompt.append(" none");
+        }
+
+        prompt.append("\nEnemies:");
+        for (Character enemy : enemies) {
+            if (enemy.isAlive()) {
+                appendUnit(prompt.append('\n'), enemy);
+                int damage = estimateDamage(self, enemy);
+                if (damage >= 0) {
+                    prompt.append(",+").append(damage);
+                } else {
+                    prompt.append(",cannot attack");
+                }
+            }
+        }
+
+        return prompt.toString();
+    }
+
+    static void appendUnit(StringBuilder prompt, Character c) {
+        prompt.append(c.getName()).append(',')
+            .append(c.getType()).append(',')
+            .append(c.getHealth()).append('/').append(c.getMaxHealth()).append(',')
+            .append(c.getMana()).append('/').append(c.getMaxMana()).append(',')
+            .append(c.getAttackPower()).append(',')
+            .append(c.getDefense());
+    }
+
+    /**
+     * Damage after the target's defense, or -1 if the attack is impossible
+     * (e.g. no mana). Computed on a copy of the attacker, so nothing changes.
+     */
+    public static int estimateDamage(Character attacker, Character target) {
+        try {
+            int baseDamage = attacker.copy().attack(target);
+            return target.getDefenseStrategy().calculateDamageReduction(target, baseDamage);
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+}
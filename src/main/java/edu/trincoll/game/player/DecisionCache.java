@@ -0,0 +1,148 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.model.Character;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache of LLM decisions keyed by canonical game state.
+ * <p>
+ * Repeated demo and tournament configurations put the same board in front
+ * of a model again and again. The key encodes everything the prompt is
+ * built from: model name, self, allies and enemies (in order, with their
+ * stats and strategies) and the turn and round from GameState. So a hit
+ * returns exactly the decision the model gave for an identical prompt,
+ * with no network call.
+ * <p>
+ * Entries expire after a fixed time-to-live, and the least recently used
+ * entry is evicted once the cache is full. Hits, misses and evictions are
+ * counted for monitoring. One cache can be shared by every LLMPlayer;
+ * operations are synchronized, which is negligible next to an LLM call.
+ */
+public class DecisionCache {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Entry(LLMPlayer.Decision decision, long expiresAt) {}
+
+    public DecisionCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    // Package-private so tests can control time
+    DecisionCache(int maxSize, Duration ttl, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > DecisionCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Canonical encoding of everything a decision depends on.
+     */
+    public static String key(String modelName,
+                             Character self,
+                             List<Character> allies,
+                             List<Character> enemies,
+                             GameState gameState) {
+        StringBuilder key = new StringBuilder(256).append(modelName).append('|');
+        appendCharacter(key, self);
+        key.append("|A");
+        for (Character ally : allies) {
+            appendCharacter(key.append(';'), ally);
+        }
+        key.append("|E");
+        for (Character enemy : enemies) {
+            appendCharacter(key.append(';'), enemy);
+        }
+        return key.append("|T").append(gameState.turnNumber())
+            .append('R').append(gameState.roundNumber())
+            .toString();
+    }
+
+    private static void appendCharacter(StringBuilder key, Character c) {
+        key.append(c.getName()).append(',')
+            .append(c.getType()).append(',')
+            .append(c.getHealth()).append('/').append(c.getMaxHealth()).append(',')
+            .append(c.getMana()).append('/').append(c.getMaxMana()).append(',')
+            .append(c.getAttackPower()).append(',')
+            .append(c.getDefense()).append(',')
+            .append(c.getAttackStrategy().getClass().getSimpleName()).append(',')
+            .append(c.getDefenseStrategy().getClass().getSimpleName());
+    }
+
+    /**
+     * Cached decision for the key, or null on a miss (including an expired entry).
+     */
+    public synchronized LLMPlayer.Decision get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - clock.getAsLong() > 0) {
+            hits.increment();
+            return entry.decision();
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(String key, LLMPlayer.Decision decision) {
+        entries.put(key, new Entry(decision, clock.getAsLong() + ttlNanos));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Fraction of lookups that were hits.
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total > 0 ? (double) h / total : 0;
+    }
+}
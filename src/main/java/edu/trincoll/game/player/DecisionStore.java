@@ -0,0 +1,295 @@
+package edu.trincoll.game.player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk-backed store of LLM decisions that survives restarts.
+ * <p>
+ * Decisions are keyed by model name plus the SHA-256 of the prompt
+ * buildPrompt produced, so a later run that renders the same prompt gets
+ * the same decision with no network call. The file is a memory-mapped,
+ * append-only log:
+ * <p>
+ *   header: magic, version
+ * <p>
+ *   record: length, model, prompt hash, action, target, reasoning
+ * <p>
+ * Strings are length-prefixed UTF-8 (-1 for null). The length is written
+ * last, so a record torn by a crash reads as the end of the log.
+ * <p>
+ * Only an index of key to file offset is kept on the heap; a lookup
+ * decodes the record straight from the mapping. Re-putting a key leaves
+ * the old record dead. When the log reaches its size cap it is compacted
+ * into a fresh file holding only live records, and if that is still more
+ * than half the cap the oldest decisions are dropped.
+ * <p>
+ * Operations are synchronized, so one store can serve every LLMPlayer.
+ */
+public class DecisionStore implements AutoCloseable {
+    static final int MAGIC = 0x47445354; // "GDST"
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int HASH_SIZE = 32;
+
+    // MessageDigest lookup costs more than hashing a prompt, so keep one per thread
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private record Key(String modelName, String promptHash) {}
+
+    private final Path path;
+    private final long maxBytes;
+    private final Map<Key, Integer> index = new LinkedHashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long compactions;
+
+    private DecisionStore(Path path, long maxBytes) {
+        this.path = path;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Opens a store, creating it if needed and loading the index of an existing one.
+     *
+     * @param maxBytes size cap of the file; at most 2 GB
+     */
+    public static DecisionStore open(Path path, long maxBytes) throws IOException {
+        if (maxBytes <= HEADER_SIZE || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxBytes must be between " + HEADER_SIZE + " and 2 GB");
+        }
+        DecisionStore store = new DecisionStore(path, maxBytes);
+        store.map();
+        return store;
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Check the header before mapping, which would grow a foreign file
+        boolean fresh = channel.size() == 0;
+        if (!fresh) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("Not a decision store: " + path);
+            }
+        }
+
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+        index.clear();
+        if (fresh) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+        }
+
+        // Rebuild the index; a later record for a key supersedes an earlier one
+        int offset = HEADER_SIZE;
+        while (offset + 4 <= maxBytes) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + 4L + length > maxBytes) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(offset + 4, length);
+            Key key = new Key(readString(record), readHash(record));
+            index.remove(key);
+            index.put(key, offset);
+            offset += 4 + length;
+        }
+        end = offset;
+    }
+
+    /**
+     * Hex SHA-256 of a prompt, the second half of a store key.
+     */
+    public static String hash(String prompt) {
+        byte[] digest = SHA_256.get().digest(prompt.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Stored decision for this model and prompt, or null if there is none.
+     */
+    public LLMPlayer.Decision get(String modelName, String prompt) {
+        return getByHash(modelName, hash(prompt));
+    }
+
+    synchronized LLMPlayer.Decision getByHash(String modelName, String promptHash) {
+        Integer offset = index.get(new Key(modelName, promptHash));
+        if (offset == null) {
+            return null;
+        }
+        ByteBuffer record = buffer.slice(offset + 4, buffer.getInt(offset));
+        readString(record);
+        readHash(record);
+        return new LLMPlayer.Decision(readString(record), readString(record), readString(record));
+    }
+
+    /**
+     * Stores a decision for this model and prompt, replacing any earlier one.
+     * A decision too large for the store is logged and not stored.
+     */
+    public void put(String modelName, String prompt, LLMPlayer.Decision decision) {
+        putByHash(modelName, hash(prompt), decision);
+    }
+
+    synchronized void putByHash(String modelName, String promptHash, LLMPlayer.Decision decision) {
+        byte[] record = encode(modelName, promptHash, decision);
+        if (4L + record.length > maxBytes / 2 - HEADER_SIZE) {
+            // Only a cache: the decision is still played, just not kept
+            System.out.println("[DecisionStore] Decision of " + record.length
+                + " bytes is too large for a " + maxBytes + "-byte store, not stored");
+            return;
+        }
+        if (end + 4L + record.length > maxBytes) {
+            compact(maxBytes / 2);
+        }
+
+        Key key = new Key(modelName, promptHash);
+        buffer.put(end + 4, record);
+        buffer.putInt(end, record.length);
+        index.remove(key);
+        index.put(key, end);
+        end += 4 + record.length;
+    }
+
+    /**
+     * Rewrites the log with only live records.
+     */
+    public synchronized void compact() {
+        compact(maxBytes);
+    }
+
+    // Copy live records, newest kept, into a fresh file of at most targetBytes
+    private void compact(long targetBytes) {
+        List<Integer> live = new ArrayList<>(index.values());
+        live.sort(null);
+
+        // Drop the oldest records until the survivors fit the target
+        long liveBytes = HEADER_SIZE;
+        for (int offset : live) {
+            liveBytes += 4 + buffer.getInt(offset);
+        }
+        int first = 0;
+        while (liveBytes > targetBytes && first < live.size()) {
+            liveBytes -= 4 + buffer.getInt(live.get(first++));
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                out.write(header);
+                for (int i = first; i < live.size(); i++) {
+                    int offset = live.get(i);
+                    out.write(buffer.slice(offset, 4 + buffer.getInt(offset)));
+                }
+                out.force(true);
+            }
+            close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            map();
+            compactions++;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not compact decision store", e);
+        }
+    }
+
+    private static byte[] encode(String modelName, String promptHash, LLMPlayer.Decision decision) {
+        byte[][] strings = {
+            utf8(modelName), utf8(decision.action()), utf8(decision.target()), utf8(decision.reasoning())
+        };
+        int size = HASH_SIZE;
+        for (byte[] s : strings) {
+            size += 4 + (s == null ? 0 : s.length);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(size);
+        writeString(record, strings[0]);
+        record.put(HexFormat.of().parseHex(promptHash));
+        for (int i = 1; i < strings.length; i++) {
+            writeString(record, strings[i]);
+        }
+        return record.array();
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer record, byte[] bytes) {
+        if (bytes == null) {
+            record.putInt(-1);
+        } else {
+            record.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readHash(ByteBuffer record) {
+        byte[] hash = new byte[HASH_SIZE];
+        record.get(hash);
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Number of live decisions.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Bytes used by the log, including dead records.
+     */
+    public synchronized long usedBytes() {
+        return end;
+    }
+
+    public synchronized long compactions() {
+        return compactions;
+    }
+
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
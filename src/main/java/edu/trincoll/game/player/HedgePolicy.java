@@ -0,0 +1,192 @@
+package edu.trincoll.game.player;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the latency of a model call by hedging and a hard deadline.
+ * <p>
+ * The primary call starts on a virtual thread. If it has not answered
+ * by the configured percentile of its own recent latency (or fails
+ * first), the same request goes to the secondary. Whichever answers
+ * first wins and the other is cancelled. If neither has answered by the
+ * deadline, both are cancelled and call() throws TimeoutException, so
+ * a turn never waits longer than the deadline.
+ * <p>
+ * One policy tracks one primary provider's latency; share it between
+ * every player that calls that provider.
+ * <p>
+ * Until MIN_SAMPLES calls have been measured, the hedge fires at half
+ * the deadline.
+ */
+public class HedgePolicy {
+    static final int MIN_SAMPLES = 5;
+
+    private static final ExecutorService CALLS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final double percentile;
+    private final Duration deadline;
+    private final LatencyTracker primaryLatency;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder secondaryWins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private HedgePolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.deadline = builder.deadline;
+        this.primaryLatency = builder.primaryLatency != null
+            ? builder.primaryLatency
+            : new LatencyTracker(100);
+    }
+
+    /**
+     * Longest a call may take before the caller gives up on every provider.
+     */
+    public Duration deadline() {
+        return deadline;
+    }
+
+    /**
+     * How long to wait for the primary before sending the secondary.
+     */
+    public Duration hedgeDelay() {
+        Duration typical = primaryLatency.sampleCount() >= MIN_SAMPLES
+            ? primaryLatency.percentile(percentile)
+            : deadline.dividedBy(2);
+        return typical.compareTo(deadline) < 0 ? typical : deadline;
+    }
+
+    /**
+     * Runs primary, hedged by secondary (may be null for a deadline only).
+     *
+     * @throws TimeoutException if neither answered within the deadline
+     * @throws ExecutionException with the last failure if every call failed
+     */
+    public <T> T call(Callable<T> primary, Callable<T> secondary)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        calls.increment();
+        long start = System.nanoTime();
+        long deadlineAt = start + deadline.toNanos();
+        long hedgeAt = start + hedgeDelay().toNanos();
+
+        CompletionService<T> race = new ExecutorCompletionService<>(CALLS);
+        Future<T> first = race.submit(primary);
+        Future<T> second = null;
+        int inFlight = 1;
+        boolean primaryFailed = false;
+        try {
+            while (true) {
+                boolean canHedge = second == null && secondary != null;
+                long until = canHedge ? Math.min(hedgeAt, deadlineAt) : deadlineAt;
+                Future<T> done = race.poll(until - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                if (done == null) {
+                    if (System.nanoTime() - deadlineAt >= 0) {
+                        timeouts.increment();
+                        throw new TimeoutException("No answer within " + deadline);
+                    }
+                    second = race.submit(secondary);
+                    hedges.increment();
+                    inFlight++;
+                    continue;
+                }
+
+                inFlight--;
+                try {
+                    T result = done.get();
+                    if (done == second) {
+                        secondaryWins.increment();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    primaryFailed |= done == first;
+                    if (second == null && secondary != null) {
+                        // A failed primary is hedged at once
+                        second = race.submit(secondary);
+                        hedges.increment();
+                        inFlight++;
+                    } else if (inFlight == 0) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            // A primary that answered or was abandoned took at least this long
+            if (!primaryFailed) {
+                primaryLatency.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long secondaryWins() {
+        return secondaryWins.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public static class Builder {
+        private double percentile = 0.95;
+        private Duration deadline;
+        private LatencyTracker primaryLatency;
+
+        /**
+         * Hedge once the primary is slower than this share of its recent calls (default 0.95).
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Longest a call may take before the caller gives up on every provider.
+         */
+        public Builder deadline(Duration deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder primaryLatency(LatencyTracker primaryLatency) {
+            this.primaryLatency = primaryLatency;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            if (deadline == null || deadline.isNegative() || deadline.isZero()) {
+                throw new IllegalStateException("a positive deadline is required");
+            }
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalStateException("percentile must be in (0, 1]");
+            }
+            return new HedgePolicy(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
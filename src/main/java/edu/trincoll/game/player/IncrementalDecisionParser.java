@@ -0,0 +1,188 @@
+package edu.trincoll.game.player;
+
+/**
+ * Parses a streamed Decision one chunk at a time.
+ * <p>
+ * Feeds are scanned character by character with a small state machine
+ * over the top-level JSON object, so each string field is known the
+ * moment its closing quote arrives. Once action and target are in, the
+ * decision can be committed while the model is still writing reasoning.
+ * <p>
+ * Anything before the first '{' (such as a markdown fence) is skipped,
+ * values that are not strings are skipped, and escapes (including
+ * unicode escapes) are decoded. Not thread-safe; a stream delivers its
+ * chunks one at a time.
+ */
+class IncrementalDecisionParser {
+    private enum State { SEEK_OBJECT, SEEK_KEY, KEY, SEEK_COLON, SEEK_VALUE, STRING_VALUE, OTHER_VALUE, DONE }
+
+    private State state = State.SEEK_OBJECT;
+    private final StringBuilder token = new StringBuilder();
+    private String key;
+
+    // String escapes, in keys and values
+    private boolean escaped;
+    private int unicodeLeft;
+    private int unicodeValue;
+
+    // Skipping a value that is not a string
+    private int nesting;
+    private boolean inSkippedString;
+    private boolean skippedEscaped;
+
+    private String action;
+    private String target;
+    private String reasoning;
+
+    void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    private void accept(char c) {
+        switch (state) {
+            case SEEK_OBJECT -> {
+                if (c == '{') {
+                    state = State.SEEK_KEY;
+                }
+            }
+            case SEEK_KEY -> {
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                }
+            }
+            case KEY -> {
+                if (readString(c)) {
+                    key = token.toString();
+                    state = State.SEEK_COLON;
+                }
+            }
+            case SEEK_COLON -> {
+                if (c == ':') {
+                    state = State.SEEK_VALUE;
+                }
+            }
+            case SEEK_VALUE -> {
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.STRING_VALUE;
+                } else if (!Character.isWhitespace(c)) {
+                    nesting = 0;
+                    inSkippedString = false;
+                    state = State.OTHER_VALUE;
+                    skip(c);
+                }
+            }
+            case STRING_VALUE -> {
+                if (readString(c)) {
+                    assign(key, token.toString());
+                    state = State.SEEK_KEY;
+                }
+            }
+            case OTHER_VALUE -> skip(c);
+            case DONE -> { }
+        }
+    }
+
+    // Appends one character of a string to token; true at the closing quote
+    private boolean readString(char c) {
+        if (unicodeLeft > 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (--unicodeLeft == 0) {
+                token.append((char) unicodeValue);
+            }
+            return false;
+        }
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case 'n' -> token.append('\n');
+                case 't' -> token.append('\t');
+                case 'r' -> token.append('\r');
+                case 'b' -> token.append('\b');
+                case 'f' -> token.append('\f');
+                case 'u' -> {
+                    unicodeLeft = 4;
+                    unicodeValue = 0;
+                }
+                default -> token.append(c);
+            }
+            return false;
+        }
+        if (c == '\\') {
+            escaped = true;
+            return false;
+        }
+        if (c == '"') {
+            return true;
+        }
+        token.append(c);
+        return false;
+    }
+
+    // Skips a number, literal, object or array up to the next top-level ',' or '}'
+    private void skip(char c) {
+        if (inSkippedString) {
+            if (skippedEscaped) {
+                skippedEscaped = false;
+            } else if (c == '\\') {
+                skippedEscaped = true;
+            } else if (c == '"') {
+                inSkippedString = false;
+            }
+            return;
+        }
+        switch (c) {
+            case '"' -> inSkippedString = true;
+            case '{', '[' -> nesting++;
+            case '}', ']' -> {
+                if (nesting == 0) {
+                    state = State.DONE;
+                } else {
+                    nesting--;
+                }
+            }
+            case ',' -> {
+                if (nesting == 0) {
+                    state = State.SEEK_KEY;
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void assign(String name, String value) {
+        if ("action".equalsIgnoreCase(name) && action == null) {
+            action = value;
+        } else if ("target".equalsIgnoreCase(name) && target == null) {
+            target = value;
+        } else if ("reasoning".equalsIgnoreCase(name) && reasoning == null) {
+            reasoning = value;
+        }
+    }
+
+    /**
+     * Whether action and target are both known, i.e. the move can be made.
+     */
+    boolean isDecided() {
+        return action != null && target != null;
+    }
+
+    /**
+     * Whether the whole object has been read.
+     */
+    boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    /**
+     * What has been parsed so far; fields not seen yet are null.
+     */
+    LLMPlayer.Decision decision() {
+        return new LLMPlayer.Decision(action, target, reasoning);
+    }
+}
@@ -4,10 +4,26 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.trincoll.game.command.AttackCommand;
 import edu.trincoll.game.command.GameCommand;
 import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.jfr.LlmCallEvent;
+import edu.trincoll.game.metrics.GameMetrics;
 import edu.trincoll.game.model.Character;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ResponseEntity;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 
+
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * LLM-based AI player using Spring AI.
@@ -24,14 +40,84 @@ import java.util.List;
  * - FACADE: Simplifies complex LLM interaction
  * <p>
  * Students will implement the prompt engineering and response parsing.
+ * <p>
+ * Players built with a DecisionCache reuse the model's decision for a
+ * board they have already seen instead of calling it again; a
+ * DecisionStore does the same across restarts, keyed by the prompt.
+ * <p>
+ * A renderer with a systemPrompt() sends it as a separate system message
+ * ahead of the per-turn state, so providers can cache that prefix.
+ * <p>
+ * With a HedgePolicy, a slow call is duplicated to a secondary client and
+ * a call that misses the deadline falls back to a RuleBasedPlayer, so no
+ * turn waits on a provider for longer than the deadline.
+ * <p>
+ * With a CircuitBreakerRegistry, a model whose calls keep failing is not
+ * called at all until its breaker half-opens. Each side of a hedged call
+ * has the breaker of the model it calls and reports only its own outcome,
+ * so a failing primary opens its breaker even while the secondary answers
+ * for it, and is then skipped in favour of the secondary. Turns are played
+ * by the RuleBasedPlayer once every breaker refuses. A RetryBudget retries transient errors with
+ * jittered backoff, within a bounded share of traffic.
+ * <p>
+ * In streaming mode the answer is parsed as it arrives and the move is
+ * made as soon as action and target are known, without waiting for the
+ * reasoning; the rest of the stream is cancelled or, if asked, printed
+ * in the background until the player's next streamed move. A stream that
+ * has not named the move by the hedge deadline (STREAM_DEADLINE without a
+ * HedgePolicy) is cancelled and the turn falls back. A stream that
+ * completes is charged the usage in its last chunk; one cut short is
+ * charged an estimate of the tokens sent and received.
  */
 public class LLMPlayer implements Player {
-    private final ChatClient chatClient;
+    // Streaming has no entity converter to add format instructions; the
+    // key order puts the move before the reasoning
+    private static final String STREAM_FORMAT = """
+
+        Reply with one JSON object only, with the keys in this order:
+        {"action": "attack" or "heal", "target": "<exact character name>", "reasoning": "<one sentence>"}""";
+
+    // Longest a stream may take to name action and target without a HedgePolicy,
+    // the default game.llm.hedge.deadline
+    static final Duration STREAM_DEADLINE = Duration.ofSeconds(20);
+
+    private final ModelCaller caller;
     private final String modelName;
+    private final DecisionCache decisionCache;
+    private final DecisionStore decisionStore;
+    private final PromptRenderer promptRenderer;
+    private final PromptStats promptStats;
+    private final boolean streaming;
+    private final boolean continueReasoning;
+    private final GameMetrics metrics;
+    private final TokenUsageLedger usageLedger;
+    private final Player fallback = new RuleBasedPlayer();
+    // The stream still receiving reasoning for this player's last move, if continueReasoning
+    private final AtomicReference<StreamedAnswer> backgroundStream = new AtomicReference<>();
 
     public LLMPlayer(ChatClient chatClient, String modelName) {
-        this.chatClient = chatClient;
-        this.modelName = modelName;
+        this(new Builder().chatClient(chatClient).modelName(modelName));
+    }
+
+    private LLMPlayer(Builder builder) {
+        this.caller = new ModelCaller(
+            ModelCaller.Route.of(builder.chatClient, builder.modelName, builder.modelId, builder.circuitBreakers),
+            builder.secondaryChatClient != null
+                ? ModelCaller.Route.of(builder.secondaryChatClient, builder.secondaryModelName,
+                    builder.secondaryModelId, builder.circuitBreakers)
+                : null,
+            builder.hedgePolicy,
+            builder.retryBudget);
+        this.modelName = builder.modelName;
+        this.decisionCache = builder.decisionCache;
+        this.decisionStore = builder.decisionStore;
+        // Without a renderer, use this class's own buildPrompt
+        this.promptRenderer = builder.promptRenderer != null ? builder.promptRenderer : this::buildPrompt;
+        this.promptStats = builder.promptStats;
+        this.streaming = builder.streaming;
+        this.continueReasoning = builder.continueReasoning;
+        this.metrics = builder.metrics;
+        this.usageLedger = builder.usageLedger;
     }
 
     @Override
@@ -39,6 +125,24 @@ public class LLMPlayer implements Player {
                                    List<Character> allies,
                                    List<Character> enemies,
                                    GameState gameState) {
+        // Every decision is an LlmCallEvent for JDK Flight Recorder
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        try {
+            return decide(self, allies, enemies, gameState, event);
+        } finally {
+            if (event.shouldCommit()) {
+                event.setModel(modelName);
+                event.commit();
+            }
+        }
+    }
+
+    private GameCommand decide(Character self,
+                               List<Character> allies,
+                               List<Character> enemies,
+                               GameState gameState,
+                               LlmCallEvent event) {
         // TODO 1: Build the prompt (10 points)
         // Create a detailed prompt that gives the LLM:
         // - Character information (name, type, HP, mana, stats)
@@ -49,19 +153,68 @@ public class LLMPlayer implements Player {
         //
         // Hint: Use String templates or StringBuilder
         // Good prompts should be clear, structured, and include examples
-        String prompt = buildPrompt(self, allies, enemies, gameState);
+        //
+        // Once the game's token budget is spent, the rest is played rule-based
+        if (usageLedger != null && usageLedger.isOverBudget()) {
+            System.out.println("[" + modelName + "] Token budget spent, using rule-based fallback");
+            recordFallback(event, "budget");
+            return fallback.decideAction(self, allies, enemies, gameState);
+        }
+
+        // An identical board seen before is answered from the cache,
+        // skipping both the prompt and the network call; a prompt seen in
+        // an earlier run is answered from the on-disk store.
+        String cacheKey = decisionCache != null
+            ? DecisionCache.key(modelName, self, allies, enemies, gameState)
+            : null;
 
         // TODO 2: Call the LLM and parse response (15 points)
         try {
-            Decision decision = chatClient.prompt()
-                .user(prompt)
-                .call()
-                .entity(Decision.class);
-            
-            // Validate the decision
-            if (decision.action() == null || decision.target() == null) {
-                System.out.println("[" + modelName + "] Invalid decision format, using fallback");
-                return defaultAction(self, enemies);
+            Decision decision = cacheKey != null ? decisionCache.get(cacheKey) : null;
+            if (decision != null) {
+                event.setOutcome("cached");
+            } else {
+                String system = promptRenderer.systemPrompt();
+                String prompt = promptRenderer.render(self, allies, enemies, gameState);
+                // The store must tell apart prompts with different system prefixes
+                String storeKey = system != null ? system + '\u0000' + prompt : prompt;
+                if (promptStats != null) {
+                    promptStats.record(storeKey);
+                }
+                event.setPromptChars(storeKey.length());
+                decision = decisionStore != null ? decisionStore.get(modelName, storeKey) : null;
+                if (decision != null) {
+                    event.setOutcome("stored");
+                } else {
+                    ResponseEntity<ChatResponse, Decision> response;
+                    try {
+                        response = caller.call((client, usageSink) -> ask(client, system, prompt, usageSink),
+                            usageSink(self));
+                    } catch (TimeoutException e) {
+                        System.out.println("[" + modelName + "] No answer in time, using rule-based fallback");
+                        recordFallback(event, "timeout");
+                        return fallback.decideAction(self, allies, enemies, gameState);
+                    } catch (ModelCaller.CircuitOpenException e) {
+                        System.out.println("[" + modelName + "] Circuit open, using rule-based fallback");
+                        recordFallback(event, "circuit-open");
+                        return fallback.decideAction(self, allies, enemies, gameState);
+                    }
+                    decision = response.getEntity();
+
+                    // Validate the decision
+                    if (decision == null || decision.action() == null || decision.target() == null) {
+                        System.out.println("[" + modelName + "] Invalid decision format, using fallback");
+                        recordFallback(event, "invalid");
+                        return defaultAction(self, enemies);
+                    }
+                    event.setOutcome("success");
+                    if (decisionStore != null) {
+                        decisionStore.put(modelName, storeKey, decision);
+                    }
+                }
+                if (cacheKey != null) {
+                    decisionCache.put(cacheKey, decision);
+                }
             }
             
             // Log the LLM's reasoning
@@ -81,17 +234,185 @@ public class LLMPlayer implements Player {
                 case "heal" -> new HealCommand(target, 30);
                 default -> {
                     System.out.println("[" + modelName + "] Unknown action: " + decision.action());
+                    recordFallback(event, "invalid");
                     yield defaultAction(self, enemies);
                 }
             };
             
+        } catch (InterruptedException | CancellationException e) {
+            // Cancelled, e.g. a discarded speculation: nobody plays this move, so it is no fallback
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            event.setOutcome("cancelled");
+            return defaultAction(self, enemies);
         } catch (Exception e) {
             // Handle any errors gracefully
             System.out.println("[" + modelName + "] Error: " + e.getMessage() + ", using fallback");
+            recordFallback(event, "error");
             return defaultAction(self, enemies);
         }
     }
 
+    // Where the tokens of this character's calls are charged: (model id that answered, usage)
+    private BiConsumer<String, TokenUsage> usageSink(Character self) {
+        return usageLedger != null
+            ? (modelId, usage) -> usageLedger.record(modelId, self.getName(), usage)
+            : (modelId, usage) -> { };
+    }
+
+    // Every call that gets an answer reports its usage to the sink
+    private ResponseEntity<ChatResponse, Decision> ask(ChatClient client, String system, String prompt,
+                                                       Consumer<TokenUsage> usageSink) throws Exception {
+        if (streaming) {
+            return askStreaming(client, system, prompt, usageSink);
+        }
+        ChatClient.ChatClientRequestSpec request = client.prompt();
+        if (system != null) {
+            request = request.system(system);
+        }
+        ResponseEntity<ChatResponse, Decision> response = request
+            .user(prompt)
+            .call()
+            .responseEntity(Decision.class);
+        usageSink.accept(ModelCaller.usage(response.getResponse(), system, prompt));
+        return response;
+    }
+
+    // Returns once action and target have streamed in; usage is reported when the stream ends
+    private ResponseEntity<ChatResponse, Decision> askStreaming(ChatClient client, String system, String prompt,
+                                                                Consumer<TokenUsage> usageSink) throws Exception {
+        // The format goes with the system prompt, if any, so it stays in the cached prefix
+        ChatClient.ChatClientRequestSpec request = client.prompt();
+        if (system != null) {
+            request = request.system(system + STREAM_FORMAT).user(prompt);
+        } else {
+            request = request.user(prompt + STREAM_FORMAT);
+        }
+
+        StreamedAnswer answer = new StreamedAnswer(ModelCaller.estimatedInput(system, prompt), usageSink);
+        answer.subscribe(request.stream().chatResponse());
+        try {
+            HedgePolicy hedgePolicy = caller.hedgePolicy();
+            Decision decision = answer.decided.get(
+                (hedgePolicy != null ? hedgePolicy.deadline() : STREAM_DEADLINE).toNanos(), TimeUnit.NANOSECONDS);
+            if (continueReasoning) {
+                // At most one stream per player goes on in the background
+                StreamedAnswer previous = backgroundStream.getAndSet(answer);
+                if (previous != null) {
+                    previous.cancel();
+                }
+            } else {
+                answer.cancel();
+            }
+            return new ResponseEntity<>(null, decision);
+        } catch (InterruptedException | TimeoutException e) {
+            answer.cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * One streamed answer. The move is parsed from the chunks as they
+     * arrive; the call's usage goes to the sink once, when the stream
+     * completes, fails or is cancelled. A provider reports usage only in
+     * its last chunk, so a stream cut short is charged an estimate of the
+     * prompt and of the text received.
+     */
+    private final class StreamedAnswer {
+        private final IncrementalDecisionParser parser = new IncrementalDecisionParser();
+        private final CompletableFuture<Decision> decided = new CompletableFuture<>();
+        private final StringBuilder received = new StringBuilder();
+        private final int inputEstimate;
+        private final Consumer<TokenUsage> usageSink;
+        private Usage usage;
+        private Disposable subscription;
+        private boolean settled;
+
+        StreamedAnswer(int inputEstimate, Consumer<TokenUsage> usageSink) {
+            this.inputEstimate = inputEstimate;
+            this.usageSink = usageSink;
+        }
+
+        void subscribe(Flux<ChatResponse> responses) {
+            Disposable subscribed = responses.subscribe(this::onNext, this::onError, this::onComplete);
+            synchronized (this) {
+                subscription = subscribed;
+            }
+        }
+
+        private synchronized void onNext(ChatResponse response) {
+            Usage reported = response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+            if (reported != null && reported.getTotalTokens() != null && reported.getTotalTokens() > 0) {
+                usage = reported;
+            }
+            String chunk = response.getResult() != null && response.getResult().getOutput() != null
+                ? response.getResult().getOutput().getText()
+                : null;
+            if (chunk != null) {
+                received.append(chunk);
+                parser.feed(chunk);
+            }
+            if (parser.isDecided()) {
+                decided.complete(parser.decision());
+            }
+        }
+
+        private synchronized void onError(Throwable error) {
+            settle();
+            decided.completeExceptionally(error);
+        }
+
+        private synchronized void onComplete() {
+            settle();
+            // A stream that ends undecided yields a partial decision, rejected as invalid
+            decided.complete(parser.decision());
+            String reasoning = parser.decision().reasoning();
+            if (continueReasoning && reasoning != null && decided.join().reasoning() == null) {
+                System.out.println("[" + modelName + "] Reasoning: " + reasoning);
+            }
+        }
+
+        // Stops the stream if it is still running
+        synchronized void cancel() {
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            settle();
+        }
+
+        private void settle() {
+            if (settled) {
+                return;
+            }
+            settled = true;
+            usageSink.accept(usage != null
+                ? TokenUsage.from(usage)
+                : new TokenUsage(inputEstimate, 0, 0, PromptStats.estimateTokens(received)));
+        }
+    }
+
+    /**
+     * LLM calls dominate a turn and only read the board, so they can be prefetched.
+     */
+    @Override
+    public boolean supportsSpeculation() {
+        return true;
+    }
+
+    @Override
+    public String modelName() {
+        return modelName;
+    }
+
+    private void recordFallback(LlmCallEvent event, String reason) {
+        event.setOutcome(reason);
+        event.setFallbackUsed(true);
+        if (metrics != null) {
+            metrics.recordFallback(modelName, reason);
+        }
+    }
+
     /**
      * TODO 1: Implement this method to build an effective prompt.
      *
@@ -143,10 +464,11 @@ public class LLMPlayer implements Player {
      * @param gameState current game state
      * @return prompt string for the LLM
      */
-    private String buildPrompt(Character self,
-                              List<Character> allies,
-                              List<Character> enemies,
-                              GameState gameState) {
+    // Package-private so the prompt benchmark can measure it directly
+    String buildPrompt(Character self,
+                       List<Character> allies,
+                       List<Character> enemies,
+                       GameState gameState) {
         double healthPercent = (double) self.getStats().health() / self.getStats().maxHealth() * 100;
         
         StringBuilder prompt = new StringBuilder();
@@ -259,8 +581,9 @@ public class LLMPlayer implements Player {
      * Helper method provided to students.
      */
     private int estimateDamage(Character attacker, Character target) {
-        // Rough estimate using attack strategy
-        int baseDamage = attacker.attack(target);
+        // Rough estimate using attack strategy, on a copy so that
+        // building a prompt never spends the attacker's mana
+        int baseDamage = attacker.copy().attack(target);
         return target.getDefenseStrategy()
             .calculateDamageReduction(target, baseDamage);
     }
@@ -305,4 +628,169 @@ public class LLMPlayer implements Player {
         @JsonProperty(required = true) String target,
         @JsonProperty String reasoning
     ) {}
+
+    /**
+     * Builder for LLM players with optional infrastructure such as a decision cache.
+     */
+    public static class Builder {
+        private ChatClient chatClient;
+        private String modelName;
+        private String modelId;
+        private DecisionCache decisionCache;
+        private DecisionStore decisionStore;
+        private PromptRenderer promptRenderer;
+        private PromptStats promptStats;
+        private HedgePolicy hedgePolicy;
+        private ChatClient secondaryChatClient;
+        private String secondaryModelName;
+        private String secondaryModelId;
+        private CircuitBreakerRegistry circuitBreakers;
+        private RetryBudget retryBudget;
+        private boolean streaming;
+        private boolean continueReasoning;
+        private GameMetrics metrics;
+        private TokenUsageLedger usageLedger;
+
+        public Builder chatClient(ChatClient chatClient) {
+            this.chatClient = chatClient;
+            return this;
+        }
+
+        public Builder modelName(String modelName) {
+            this.modelName = modelName;
+            return this;
+        }
+
+        /**
+         * The provider's id for the model, e.g. gpt-5.1-nano, under which its
+         * tokens are priced and charged. Defaults to the model name.
+         */
+        public Builder modelId(String modelId) {
+            this.modelId = modelId;
+            return this;
+        }
+
+        /**
+         * Share a decision cache; without one every turn calls the model.
+         */
+        public Builder decisionCache(DecisionCache decisionCache) {
+            this.decisionCache = decisionCache;
+            return this;
+        }
+
+        /**
+         * Share a persistent store so decisions survive restarts.
+         */
+        public Builder decisionStore(DecisionStore decisionStore) {
+            this.decisionStore = decisionStore;
+            return this;
+        }
+
+        /**
+         * Render prompts with this instead of buildPrompt, e.g. a CompactPromptRenderer.
+         */
+        public Builder promptRenderer(PromptRenderer promptRenderer) {
+            this.promptRenderer = promptRenderer;
+            return this;
+        }
+
+        /**
+         * Record the size of every prompt sent.
+         */
+        public Builder promptStats(PromptStats promptStats) {
+            this.promptStats = promptStats;
+            return this;
+        }
+
+        /**
+         * Bound every call by the policy's deadline, hedging to the secondary
+         * client if one is given (null for a deadline only). The secondary's
+         * model name selects its circuit breaker.
+         */
+        public Builder hedge(HedgePolicy hedgePolicy, ChatClient secondaryChatClient, String secondaryModelName) {
+            return hedge(hedgePolicy, secondaryChatClient, secondaryModelName, null);
+        }
+
+        /**
+         * As hedge(HedgePolicy, ChatClient, String), charging the secondary's
+         * answers to its provider model id (see modelId).
+         */
+        public Builder hedge(HedgePolicy hedgePolicy, ChatClient secondaryChatClient,
+                             String secondaryModelName, String secondaryModelId) {
+            this.hedgePolicy = hedgePolicy;
+            this.secondaryChatClient = secondaryChatClient;
+            this.secondaryModelName = secondaryModelName;
+            this.secondaryModelId = secondaryModelId;
+            return this;
+        }
+
+        /**
+         * Share circuit breakers; this player uses the ones for its own and
+         * its secondary's model names.
+         */
+        public Builder circuitBreakers(CircuitBreakerRegistry circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Retry transient errors within this shared budget.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * Stream answers and move as soon as action and target are parsed.
+         */
+        public Builder streaming(boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * When streaming, keep receiving the reasoning in the background and
+         * print it, instead of cancelling the stream once the move is known.
+         */
+        public Builder continueReasoning(boolean continueReasoning) {
+            this.continueReasoning = continueReasoning;
+            return this;
+        }
+
+        /**
+         * Count turns that fall back to rule-based play, by reason.
+         */
+        public Builder metrics(GameMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Record every response's tokens, prompt cache use and cost in the
+         * game's ledger, under the model id of the route that answered, and
+         * play rule-based once its budget is spent.
+         */
+        public Builder usageLedger(TokenUsageLedger usageLedger) {
+            this.usageLedger = usageLedger;
+            return this;
+        }
+
+        public LLMPlayer build() {
+            if (chatClient == null) {
+                throw new IllegalStateException("chatClient is required");
+            }
+            if (modelName == null) {
+                throw new IllegalStateException("modelName is required");
+            }
+            if (secondaryChatClient != null && secondaryModelName == null) {
+                throw new IllegalStateException("a secondary client needs its model name");
+            }
+            return new LLMPlayer(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
 }
@@ -0,0 +1,454 @@
+package edu.trincoll.game.player;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.jfr.LlmCallEvent;
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.model.Character;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ResponseEntity;
+import org.springframework.ai.chat.model.ChatResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * LLM player that plans a whole team's round in one call.
+ * <p>
+ * Give the same instance to every character of a team. The first turn of
+ * a round asks the model for one order per living team member; the next
+ * members' turns are then served from that plan in turn order, without
+ * another call. If an earlier action invalidates an order (its target
+ * has died, or the unit cannot attack), the members that have not acted
+ * yet are planned again from the live board. A round with N LLM-controlled
+ * characters thus takes about one round-trip instead of N.
+ * <p>
+ * Orders the model leaves out or gets wrong fall back to a RuleBasedPlayer,
+ * as does every turn once the game's token budget is spent. If the call
+ * itself fails, or returns no plan, the round is not asked for again: the
+ * rest of the team plays it rule-based. A plan's
+ * tokens are charged to the character whose turn asked for it.
+ * <p>
+ * Plans take the same path as LLMPlayer's calls: circuit breakers, the
+ * HedgePolicy's deadline and secondary client, and the RetryBudget. A plan
+ * that misses the deadline or finds every breaker open fails the round
+ * like any other error. Every plan is an LlmCallEvent.
+ * <p>
+ * Design Patterns:
+ * <p>
+ * - STRATEGY: one Player implementation serving several characters
+ * - ADAPTER: adapts a TeamPlan to one GameCommand per turn
+ */
+public class LLMTeamPlayer implements Player {
+    static final String SYSTEM_PROMPT = """
+        You command a whole team in a turn-based RPG battle between two teams.
+        Each round, every unit you command takes one action, in the order listed:
+        attack <enemy>, or heal <ally> (itself included) for 30 HP.
+        A team loses when all its characters reach 0 HP.
+        Roles:
+        - WARRIOR: tank damage, protect weaker allies.
+        - MAGE: deal high damage, stay safe. Attacks cost 10 mana.
+        - ARCHER: pick off wounded enemies.
+        - ROGUE: take out high-value enemies fast.
+        Tactics: focus fire so wounded enemies die before they act; do not send more
+        damage at an enemy than it has HP left; heal allies below 30% HP.
+        Units are listed as name,type,hp,mana,atk,def; each enemy ends with the
+        estimated damage from each of your units, in order (x = cannot attack).
+        Give exactly one order per unit you command.""";
+
+    private final ModelCaller caller;
+    private final String modelName;
+    private final PromptStats promptStats;
+    private final BiFunction<String, String, TeamPlan> planner;
+    private final GameMetrics metrics;
+    private final TokenUsageLedger usageLedger;
+    private final Player fallback = new RuleBasedPlayer();
+
+    // The current round's plan and who has acted in it
+    private int plannedRound = -1;
+    private final Map<Character, Order> orders = new IdentityHashMap<>();
+    private final Set<Character> acted = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Why this round's plan failed (a fallback reason), or null
+    private String planFailure;
+
+    private long plans;
+    private long replans;
+
+    private LLMTeamPlayer(Builder builder) {
+        this.caller = new ModelCaller(
+            ModelCaller.Route.of(builder.chatClient, builder.modelName, builder.modelId, builder.circuitBreakers),
+            builder.secondaryChatClient != null
+                ? ModelCaller.Route.of(builder.secondaryChatClient, builder.secondaryModelName,
+                    builder.secondaryModelId, builder.circuitBreakers)
+                : null,
+            builder.hedgePolicy,
+            builder.retryBudget);
+        this.modelName = builder.modelName;
+        this.promptStats = builder.promptStats;
+        this.planner = builder.planner;
+        this.metrics = builder.metrics;
+        this.usageLedger = builder.usageLedger;
+    }
+
+    @Override
+    public GameCommand decideAction(Character self,
+                                   List<Character> allies,
+                                   List<Character> enemies,
+                                   GameState gameState) {
+        if (usageLedger != null && usageLedger.isOverBudget()) {
+            System.out.println("[" + modelName + "] Token budget spent, using rule-based fallback");
+            if (metrics != null) {
+                metrics.recordFallback(modelName, "budget");
+            }
+            return fallback.decideAction(self, allies, enemies, gameState);
+        }
+        if (gameState.roundNumber() != plannedRound) {
+            plannedRound = gameState.roundNumber();
+            orders.clear();
+            acted.clear();
+            planFailure = null;
+        }
+
+        Order order = orders.remove(self);
+        GameCommand command = order != null ? toCommand(self, order, allies, enemies) : null;
+        if (command == null && planFailure == null) {
+            // No plan yet this round, or an earlier turn broke this order
+            List<Character> remaining = new ArrayList<>();
+            for (Character ally : allies) {
+                if (ally.isAlive() && !acted.contains(ally)) {
+                    remaining.add(ally);
+                }
+            }
+            plan(self, remaining, allies, enemies, gameState);
+            order = orders.remove(self);
+            command = order != null ? toCommand(self, order, allies, enemies) : null;
+        }
+        acted.add(self);
+
+        if (command == null) {
+            String reason = planFailure != null ? planFailure : "no-order";
+            System.out.println("[" + modelName + "] No valid order for " + self.getName() + ", using fallback");
+            if (metrics != null) {
+                metrics.recordFallback(modelName, reason);
+            }
+            return fallback.decideAction(self, allies, enemies, gameState);
+        }
+        return command;
+    }
+
+    // Plans the remaining members' orders; self's turn asked for it and pays for it
+    private void plan(Character self, List<Character> remaining, List<Character> allies,
+                      List<Character> enemies, GameState gameState) {
+        // Every plan is an LlmCallEvent for JDK Flight Recorder
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        try {
+            plans++;
+            if (!acted.isEmpty()) {
+                replans++;
+            }
+            orders.clear();
+            String prompt = renderPrompt(remaining, allies, enemies, gameState);
+            if (promptStats != null) {
+                promptStats.record(SYSTEM_PROMPT + '\n' + prompt);
+            }
+            event.setPromptChars(SYSTEM_PROMPT.length() + prompt.length());
+            planFailure = plan(self, remaining, prompt);
+            event.setOutcome(planFailure != null ? planFailure : "success");
+            event.setFallbackUsed(planFailure != null);
+        } finally {
+            if (event.shouldCommit()) {
+                event.setModel(modelName);
+                event.commit();
+            }
+        }
+    }
+
+    // Why the plan failed (a fallback reason), or null once the orders are in
+    private String plan(Character self, List<Character> remaining, String prompt) {
+        TeamPlan plan;
+        try {
+            plan = caller.call((client, usageSink) -> planner != null
+                    ? planner.apply(SYSTEM_PROMPT, prompt)
+                    : ask(client, prompt, usageSink),
+                usageSink(self));
+        } catch (TimeoutException e) {
+            System.out.println("[" + modelName + "] No plan in time");
+            return "timeout";
+        } catch (ModelCaller.CircuitOpenException e) {
+            System.out.println("[" + modelName + "] Circuit open");
+            return "circuit-open";
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.println("[" + modelName + "] Error: " + e.getMessage());
+            return "error";
+        }
+        if (plan == null || plan.orders() == null) {
+            System.out.println("[" + modelName + "] Invalid plan format");
+            return "invalid";
+        }
+        if (plan.reasoning() != null) {
+            System.out.println("[" + modelName + "] Plan: " + plan.reasoning());
+        }
+        for (Order order : plan.orders()) {
+            for (Character member : remaining) {
+                if (order != null && member.getName().equalsIgnoreCase(order.character())) {
+                    orders.putIfAbsent(member, order);
+                }
+            }
+        }
+        return null;
+    }
+
+    private TeamPlan ask(ChatClient client, String prompt, Consumer<TokenUsage> usageSink) {
+        ResponseEntity<ChatResponse, TeamPlan> response = client.prompt()
+            .system(SYSTEM_PROMPT)
+            .user(prompt)
+            .call()
+            .responseEntity(TeamPlan.class);
+        usageSink.accept(ModelCaller.usage(response.getResponse(), SYSTEM_PROMPT, prompt));
+        return response.getEntity();
+    }
+
+    // Where the tokens of a plan are charged: (model id that answered, usage)
+    private BiConsumer<String, TokenUsage> usageSink(Character self) {
+        return usageLedger != null
+            ? (modelId, usage) -> usageLedger.record(modelId, self.getName(), usage)
+            : (modelId, usage) -> { };
+    }
+
+    // Package-private so tests can check the prompt
+    String renderPrompt(List<Character> remaining, List<Character> allies,
+                        List<Character> enemies, GameState gameState) {
+        StringBuilder prompt = new StringBuilder(512);
+        prompt.append("Round ").append(gameState.roundNumber())
+            .append(". Your units, in turn order:");
+        for (Character member : remaining) {
+            CompactPromptRenderer.appendUnit(prompt.append('\n'), member);
+        }
+
+        prompt.append("\nAllies that already acted:");
+        int listed = 0;
+        for (Character ally : allies) {
+            if (ally.isAlive() && !remaining.contains(ally)) {
+                CompactPromptRenderer.appendUnit(prompt.append('\n'), ally);
+                listed++;
+            }
+        }
+        if (listed == 0) {
+            prompt.append(" none");
+        }
+
+        prompt.append("\nEnemies:");
+        for (Character enemy : enemies) {
+            if (enemy.isAlive()) {
+                CompactPromptRenderer.appendUnit(prompt.append('\n'), enemy);
+                char separator = ',';
+                for (Character member : remaining) {
+                    int damage = CompactPromptRenderer.estimateDamage(member, enemy);
+                    prompt.append(separator);
+                    if (damage >= 0) {
+                        prompt.append('+').append(damage);
+                    } else {
+                        prompt.append('x');
+                    }
+                    separator = '/';
+                }
+            }
+        }
+        return prompt.toString();
+    }
+
+    // The order as a command, or null if it no longer applies
+    private static GameCommand toCommand(Character self, Order order,
+                                         List<Character> allies, List<Character> enemies) {
+        if (order.action() == null || order.target() == null) {
+            return null;
+        }
+        return switch (order.action().toLowerCase()) {
+            case "attack" -> {
+                Character target = findLiving(order.target(), enemies);
+                yield target != null && CompactPromptRenderer.estimateDamage(self, target) >= 0
+                    ? new AttackCommand(self, target)
+                    : null;
+            }
+            case "heal" -> {
+                Character target = findLiving(order.target(), allies);
+                yield target != null ? new HealCommand(target, 30) : null;
+            }
+            default -> null;
+        };
+    }
+
+    private static Character findLiving(String name, List<Character> characters) {
+        for (Character c : characters) {
+            if (c.isAlive() && c.getName().equalsIgnoreCase(name)) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String modelName() {
+        return modelName;
+    }
+
+    /**
+     * LLM calls made, including re-plans.
+     */
+    public long plans() {
+        return plans;
+    }
+
+    /**
+     * Calls made because an earlier action broke the round's plan.
+     */
+    public long replans() {
+        return replans;
+    }
+
+    /**
+     * Record for parsing the LLM's plan for a round.
+     */
+    public record TeamPlan(
+        @JsonProperty(required = true) List<Order> orders,
+        @JsonProperty String reasoning
+    ) {}
+
+    /**
+     * One unit's order within a TeamPlan.
+     */
+    public record Order(
+        @JsonProperty(required = true) String character,
+        @JsonProperty(required = true) String action,
+        @JsonProperty(required = true) String target
+    ) {}
+
+    public static class Builder {
+        private ChatClient chatClient;
+        private String modelName;
+        private String modelId;
+        private PromptStats promptStats;
+        private HedgePolicy hedgePolicy;
+        private ChatClient secondaryChatClient;
+        private String secondaryModelName;
+        private String secondaryModelId;
+        private CircuitBreakerRegistry circuitBreakers;
+        private RetryBudget retryBudget;
+        private BiFunction<String, String, TeamPlan> planner;
+        private GameMetrics metrics;
+        private TokenUsageLedger usageLedger;
+
+        public Builder chatClient(ChatClient chatClient) {
+            this.chatClient = chatClient;
+            return this;
+        }
+
+        public Builder modelName(String modelName) {
+            this.modelName = modelName;
+            return this;
+        }
+
+        /**
+         * The provider's id for the model, e.g. claude-haiku-4-5, under which
+         * plans' tokens are priced and charged. Defaults to the model name.
+         */
+        public Builder modelId(String modelId) {
+            this.modelId = modelId;
+            return this;
+        }
+
+        /**
+         * Record the size of every prompt sent.
+         */
+        public Builder promptStats(PromptStats promptStats) {
+            this.promptStats = promptStats;
+            return this;
+        }
+
+        /**
+         * Bound every plan by the policy's deadline, hedging to the secondary
+         * client if one is given (null for a deadline only). The secondary's
+         * model name selects its circuit breaker, and its answers are charged
+         * to its provider model id (see modelId).
+         */
+        public Builder hedge(HedgePolicy hedgePolicy, ChatClient secondaryChatClient,
+                             String secondaryModelName, String secondaryModelId) {
+            this.hedgePolicy = hedgePolicy;
+            this.secondaryChatClient = secondaryChatClient;
+            this.secondaryModelName = secondaryModelName;
+            this.secondaryModelId = secondaryModelId;
+            return this;
+        }
+
+        /**
+         * Share circuit breakers; this player uses the ones for its own and
+         * its secondary's model names.
+         */
+        public Builder circuitBreakers(CircuitBreakerRegistry circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Retry transient errors within this shared budget.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * Count turns that fall back to rule-based play.
+         */
+        public Builder metrics(GameMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Record every plan's tokens and cost in the game's ledger, and play
+         * rule-based once its budget is spent.
+         */
+        public Builder usageLedger(TokenUsageLedger usageLedger) {
+            this.usageLedger = usageLedger;
+            return this;
+        }
+
+        // Replaces the request to each client, for tests: (system prompt, user prompt) -> plan
+        Builder planner(BiFunction<String, String, TeamPlan> planner) {
+            this.planner = planner;
+            return this;
+        }
+
+        public LLMTeamPlayer build() {
+            if (chatClient == null && planner == null) {
+                throw new IllegalStateException("chatClient is required");
+            }
+            if (modelName == null) {
+                throw new IllegalStateException("modelName is required");
+            }
+            if (secondaryChatClient != null && secondaryModelName == null) {
+                throw new IllegalStateException("a secondary client needs its model name");
+            }
+            return new LLMTeamPlayer(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,51 @@
+package edu.trincoll.game.player;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Latency percentiles over a sliding window of recent calls.
+ * <p>
+ * Keeps the last N samples in a ring buffer, so a provider that slows
+ * down (or recovers) moves the percentiles within N calls.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    public LatencyTracker(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * The given percentile (0 to 1) of the recent samples, or null if there are none.
+     */
+    public synchronized Duration percentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count);
+        return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+}
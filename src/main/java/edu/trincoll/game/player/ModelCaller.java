@@ -0,0 +1,229 @@
+package edu.trincoll.game.player;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The path every LLM player's model call takes: circuit breakers, the
+ * hedge deadline and retries.
+ * <p>
+ * A call goes to the primary route and, with a HedgePolicy, is hedged to
+ * the secondary and bounded by the policy's deadline. Each route has the
+ * circuit breaker of its model and reports only its own outcome, so a
+ * failing primary opens its breaker even while the secondary answers for
+ * it. Transient errors are retried within the RetryBudget. Each route's
+ * tokens are charged to its provider's model id.
+ * <p>
+ * Shared by LLMPlayer and LLMTeamPlayer, which differ only in what they
+ * ask.
+ */
+final class ModelCaller {
+    /**
+     * A provider a call can go to, and the circuit breaker of its model
+     * (null without breakers); tokens are charged to the provider's model id.
+     */
+    record Route(ChatClient client, String model, String modelId, CircuitBreaker breaker) {
+
+        static Route of(ChatClient client, String model, String modelId, CircuitBreakerRegistry circuitBreakers) {
+            return new Route(client, model, modelId != null ? modelId : model,
+                circuitBreakers != null ? circuitBreakers.forModel(model) : null);
+        }
+    }
+
+    /**
+     * One request to one client. Every answer's usage goes to the sink.
+     */
+    @FunctionalInterface
+    interface Ask<T> {
+        T ask(ChatClient client, Consumer<TokenUsage> usageSink) throws Exception;
+    }
+
+    /**
+     * Thrown when every route's breaker refuses the call.
+     */
+    static final class CircuitOpenException extends Exception {
+        CircuitOpenException(String model) {
+            super("Circuit open for " + model);
+        }
+    }
+
+    private final Route primary;
+    private final Route secondary;
+    private final HedgePolicy hedgePolicy;
+    private final RetryBudget retryBudget;
+
+    /**
+     * @param secondary hedged to with the policy; null for none
+     * @param hedgePolicy hedging and deadline; null for neither
+     * @param retryBudget retries of transient errors; null for none
+     */
+    ModelCaller(Route primary, Route secondary, HedgePolicy hedgePolicy, RetryBudget retryBudget) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.hedgePolicy = hedgePolicy;
+        this.retryBudget = retryBudget;
+    }
+
+    HedgePolicy hedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * One model call, retried within the budget.
+     *
+     * @param usageSink receives (model id that answered, usage)
+     * @throws CircuitOpenException if every circuit breaker refuses the call
+     * @throws TimeoutException if no route answered within the deadline
+     */
+    <T> T call(Ask<T> ask, BiConsumer<String, TokenUsage> usageSink) throws Exception {
+        if (retryBudget != null) {
+            retryBudget.onFirstAttempt();
+        }
+        for (int retry = 1; ; retry++) {
+            try {
+                return hedgedCall(ask, usageSink);
+            } catch (CircuitOpenException e) {
+                throw e;
+            } catch (Exception e) {
+                // A timeout has used up the deadline, so it is never retried
+                if (!(e instanceof TimeoutException) && isTransient(e)
+                        && retryBudget != null && retryBudget.tryRetry(retry)) {
+                    Thread.sleep(retryBudget.backoff(retry).toMillis());
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The usage a response reports or, without usage from the provider, at
+     * least the estimated prompt.
+     */
+    static TokenUsage usage(ChatResponse response, String system, String prompt) {
+        Usage usage = response != null && response.getMetadata() != null
+            ? response.getMetadata().getUsage()
+            : null;
+        return usage != null
+            ? TokenUsage.from(usage)
+            : new TokenUsage(estimatedInput(system, prompt), 0, 0, 0);
+    }
+
+    static int estimatedInput(String system, String prompt) {
+        return PromptStats.estimateTokens(prompt) + (system != null ? PromptStats.estimateTokens(system) : 0);
+    }
+
+    // Errors worth retrying (rate limits, 5xx, I/O), possibly wrapped by the hedge
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientAiException
+                    || cause instanceof ResourceAccessException
+                    || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Hedged and bounded by the deadline when there is a policy
+    private <T> T hedgedCall(Ask<T> ask, BiConsumer<String, TokenUsage> usageSink) throws Exception {
+        Leg<T> first = new Leg<>(primary, ask, usageSink);
+        Leg<T> second = hedgePolicy != null && secondary != null
+            ? new Leg<>(secondary, ask, usageSink)
+            : null;
+        boolean timedOut = false;
+        try {
+            return hedgePolicy != null ? hedgePolicy.call(first, second) : first.call();
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } catch (ExecutionException e) {
+            // Only a refusal from every breaker reaches here as one
+            if (e.getCause() instanceof CircuitOpenException open) {
+                throw open;
+            }
+            throw e;
+        } finally {
+            first.abandon(timedOut);
+            if (second != null) {
+                second.abandon(timedOut);
+            }
+        }
+    }
+
+    /**
+     * One route's side of a call. It takes a permit from that route's
+     * breaker and reports its own outcome. A leg the call abandons, because
+     * the other answered or the caller was cancelled, gives its permit back
+     * with no verdict; one cut off by the deadline counts as failed. Its
+     * tokens are charged to its own route's model.
+     */
+    private static final class Leg<T> implements Callable<T> {
+        private final Route route;
+        private final Ask<T> ask;
+        private final Consumer<TokenUsage> usageSink;
+        private CircuitBreaker.Permit permit;
+        private boolean abandoned;
+
+        Leg(Route route, Ask<T> ask, BiConsumer<String, TokenUsage> usageSink) {
+            this.route = route;
+            this.ask = ask;
+            this.usageSink = usage -> usageSink.accept(route.modelId(), usage);
+        }
+
+        @Override
+        public T call() throws Exception {
+            CircuitBreaker breaker = route.breaker();
+            if (breaker != null && !acquire()) {
+                throw new CircuitOpenException(route.model());
+            }
+            T answer;
+            try {
+                answer = ask.ask(route.client(), usageSink);
+            } catch (Exception e) {
+                // A cancelled leg may fail in any way; abandon() settles it
+                if (breaker != null && !Thread.currentThread().isInterrupted()
+                        && !(e instanceof InterruptedException || e instanceof CancellationException)) {
+                    breaker.recordFailure(permit);
+                }
+                throw e;
+            }
+            if (breaker != null) {
+                breaker.recordSuccess(permit);
+            }
+            return answer;
+        }
+
+        // Synchronized with abandon(), so a leg that starts once the call is over takes no permit
+        private synchronized boolean acquire() {
+            if (abandoned) {
+                throw new CancellationException("Call already over");
+            }
+            permit = route.breaker().tryAcquire();
+            return permit != null;
+        }
+
+        // Settles the permit if the leg has not; a no-op for one that already did
+        synchronized void abandon(boolean timedOut) {
+            abandoned = true;
+            if (permit != null) {
+                if (timedOut) {
+                    route.breaker().recordFailure(permit);
+                } else {
+                    route.breaker().release(permit);
+                }
+            }
+        }
+    }
+}
@@ -32,4 +32,21 @@ public interface Player {
                             List<Character> allies,
                             List<Character> enemies,
                             GameState gameState);
+
+    /**
+     * Whether decideAction may be called ahead of time, on a virtual thread,
+     * against copies of a predicted board. Only players whose decisions are
+     * slow, thread-safe and free of side effects (such as LLM calls) should
+     * return true; a human at the console must not.
+     */
+    default boolean supportsSpeculation() {
+        return false;
+    }
+
+    /**
+     * Name of the model behind this player's decisions, or null if it uses none.
+     */
+    default String modelName() {
+        return null;
+    }
 }
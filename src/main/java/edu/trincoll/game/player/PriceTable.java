@@ -0,0 +1,53 @@
+package edu.trincoll.game.player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What each model's tokens cost, in USD per million tokens.
+ * <p>
+ * Prices are looked up by the provider's model id (e.g. gpt-5.1-nano),
+ * which players charge their tokens to, not by the display names used
+ * for circuit breakers and metrics. A model with no price costs nothing,
+ * so its usage is still counted but never uses up a budget.
+ */
+public class PriceTable {
+    /**
+     * One model's prices in USD per million tokens. A cacheWrite of 0 means
+     * cache writes are billed as plain input.
+     */
+    public record ModelPrice(String model, double input, double cachedInput, double cacheWrite, double output) {}
+
+    private static final double PER_MILLION = 1_000_000.0;
+
+    private final Map<String, ModelPrice> prices = new HashMap<>();
+
+    public PriceTable(List<ModelPrice> prices) {
+        for (ModelPrice price : prices) {
+            this.prices.put(price.model(), price);
+        }
+    }
+
+    /**
+     * The model's price, or null if it has none.
+     */
+    public ModelPrice price(String model) {
+        return prices.get(model);
+    }
+
+    /**
+     * Cost in USD of the given usage on the given model.
+     */
+    public double cost(String model, TokenUsage usage) {
+        ModelPrice price = prices.get(model);
+        if (price == null) {
+            return 0;
+        }
+        double cacheWrite = price.cacheWrite() > 0 ? price.cacheWrite() : price.input();
+        return (usage.inputTokens() * price.input()
+            + usage.cachedInputTokens() * price.cachedInput()
+            + usage.cacheWriteTokens() * cacheWrite
+            + usage.outputTokens() * price.output()) / PER_MILLION;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Renders the board into the user prompt an LLMPlayer sends.
+ * <p>
+ * Design Pattern: STRATEGY
+ * <p>
+ * - LLMPlayer's own buildPrompt is the verbose, student-written renderer
+ * - CompactPromptRenderer is a dense, token-minimal alternative
+ * <p>
+ * A renderer may split its prompt: systemPrompt() returns the invariant
+ * part (rules, roles, guidance), identical on every call, and render()
+ * only the per-turn state. LLMPlayer sends the first as the system
+ * message, where providers can cache it.
+ */
+@FunctionalInterface
+public interface PromptRenderer {
+    /**
+     * The per-turn prompt; the whole prompt if there is no system prompt.
+     */
+    String render(Character self,
+                  List<Character> allies,
+                  List<Character> enemies,
+                  GameState gameState);
+
+    /**
+     * Stable prefix sent as the system message, or null to send everything
+     * as one user message. Must not depend on the board.
+     */
+    default String systemPrompt() {
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package edu.trincoll.game.player;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running size of the prompts LLM players send.
+ * <p>
+ * Input tokens drive both per-turn latency and cost. Tokens are estimated
+ * at four characters each, the usual rule of thumb for English text with
+ * GPT- and Claude-style tokenizers; the provider's usage metadata is
+ * authoritative, this is for comparing renderers without an API call.
+ */
+public class PromptStats {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final LongAdder prompts = new LongAdder();
+    private final LongAdder chars = new LongAdder();
+
+    /**
+     * Estimated tokens in a piece of text.
+     */
+    public static int estimateTokens(CharSequence text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public void record(CharSequence prompt) {
+        prompts.increment();
+        chars.add(prompt.length());
+    }
+
+    public long prompts() {
+        return prompts.sum();
+    }
+
+    public long chars() {
+        return chars.sum();
+    }
+
+    public long estimatedTokens() {
+        return (chars.sum() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public double averageTokens() {
+        long n = prompts.sum();
+        return n > 0 ? (double) chars.sum() / CHARS_PER_TOKEN / n : 0;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.trincoll.game.player;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded retries for transient LLM errors, with jittered backoff.
+ * <p>
+ * Every first attempt deposits ratio tokens (up to a cap) and every retry
+ * withdraws one, so retries stay a bounded share of traffic: during an
+ * outage the budget drains and calls fail fast instead of multiplying
+ * the load. Each call also stops after maxAttempts.
+ * <p>
+ * Backoff is "full jitter": a uniform delay between zero and
+ * min(maxBackoff, baseBackoff * 2^retry), which keeps many players that
+ * failed together from retrying in lockstep.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double cap;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private double balance;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * @param ratio tokens earned per first attempt, i.e. the long-run retry share
+     * @param cap most tokens that can be saved up; the budget starts full
+     * @param maxAttempts attempts per call, the first one included
+     */
+    public RetryBudget(double ratio, int cap, int maxAttempts, Duration baseBackoff, Duration maxBackoff) {
+        if (ratio < 0 || cap < 0 || maxAttempts < 1) {
+            throw new IllegalArgumentException("need ratio >= 0, cap >= 0 and maxAttempts >= 1");
+        }
+        this.ratio = ratio;
+        this.cap = cap;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.balance = cap;
+    }
+
+    /**
+     * Records a first attempt, earning ratio tokens.
+     */
+    public synchronized void onFirstAttempt() {
+        balance = Math.min(cap, balance + ratio);
+    }
+
+    /**
+     * Whether retry number {@code retry} (1 = the first retry) may go out;
+     * withdraws a token if so.
+     */
+    public synchronized boolean tryRetry(int retry) {
+        if (retry >= maxAttempts || balance < 1) {
+            exhausted.increment();
+            return false;
+        }
+        balance -= 1;
+        retries.increment();
+        return true;
+    }
+
+    /**
+     * Jittered delay before retry number {@code retry} (1 = the first retry).
+     */
+    public Duration backoff(int retry) {
+        long ceiling = baseBackoffNanos << Math.min(retry - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Retries refused because the budget or the per-call attempts ran out.
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+}
@@ -24,7 +24,7 @@ import java.util.List;
  * <p>
  * 1. If self HP < 30%, heal self
  * 2. If ally HP < 20%, heal weakest ally
- * 3. Otherwise, attack weakest enemy
+ * 3. Otherwise, attack weakest living enemy
  */
 public class RuleBasedPlayer implements Player {
     private static final double SELF_HEAL_THRESHOLD = 0.30;
@@ -36,7 +36,7 @@ public class RuleBasedPlayer implements Player {
                                    List<Character> enemies,
                                    GameState gameState) {
         // Rule 1: Self-preservation
-        double healthPercent = (double) self.getStats().health() / self.getStats().maxHealth();
+        double healthPercent = (double) self.getHealth() / self.getMaxHealth();
         if (healthPercent < SELF_HEAL_THRESHOLD) {
             return new HealCommand(self, 30);
         }
@@ -45,19 +45,20 @@ public class RuleBasedPlayer implements Player {
         Character weakestAlly = allies.stream()
             .filter(c -> c != self)
             .filter(c -> {
-                double hp = (double) c.getStats().health() / c.getStats().maxHealth();
+                double hp = (double) c.getHealth() / c.getMaxHealth();
                 return hp < ALLY_HEAL_THRESHOLD;
             })
-            .min(Comparator.comparingInt(c -> c.getStats().health()))
+            .min(Comparator.comparingInt(c -> c.getHealth()))
             .orElse(null);
 
         if (weakestAlly != null) {
             return new HealCommand(weakestAlly, 30);
         }
 
-        // Rule 3: Attack weakest enemy (focus fire)
+        // Rule 3: Attack weakest living enemy (focus fire)
         Character weakestEnemy = enemies.stream()
-            .min(Comparator.comparingInt(c -> c.getStats().health()))
+            .filter(Character::isAlive)
+            .min(Comparator.comparingInt(c -> c.getHealth()))
             .orElse(enemies.get(0));
 
         return new AttackCommand(self, weakestEnemy);
@@ -0,0 +1,54 @@
+package edu.trincoll.game.player;
+
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+/**
+ * Tokens one response used, split the way providers bill them.
+ * <p>
+ * Read from the response's usage metadata, so these are the provider's
+ * own counts:
+ * <p>
+ * - Anthropic reports cache reads and cache writes separately from the
+ *   uncached input tokens
+ * - OpenAI caches long prefixes automatically and reports the cached part
+ *   of the prompt tokens
+ * - any other provider counts every prompt token as uncached
+ *
+ * @param inputTokens input tokens not served from a cache
+ * @param cachedInputTokens input tokens read from the prompt cache
+ * @param cacheWriteTokens input tokens written to the prompt cache
+ * @param outputTokens completion tokens, reasoning included
+ */
+public record TokenUsage(long inputTokens, long cachedInputTokens, long cacheWriteTokens, long outputTokens) {
+    public static final TokenUsage NONE = new TokenUsage(0, 0, 0, 0);
+
+    public static TokenUsage from(Usage usage) {
+        if (usage == null) {
+            return NONE;
+        }
+        Object nativeUsage = usage.getNativeUsage();
+        if (nativeUsage instanceof AnthropicApi.Usage anthropic) {
+            return new TokenUsage(orZero(anthropic.inputTokens()), orZero(anthropic.cacheReadInputTokens()),
+                orZero(anthropic.cacheCreationInputTokens()), orZero(anthropic.outputTokens()));
+        }
+        if (nativeUsage instanceof OpenAiApi.Usage openAi) {
+            int cached = openAi.promptTokensDetails() != null
+                ? orZero(openAi.promptTokensDetails().cachedTokens())
+                : 0;
+            return new TokenUsage(Math.max(0, orZero(openAi.promptTokens()) - cached), cached, 0,
+                orZero(openAi.completionTokens()));
+        }
+        return new TokenUsage(orZero(usage.getPromptTokens()), 0, 0, orZero(usage.getCompletionTokens()));
+    }
+
+    private static int orZero(Integer tokens) {
+        return tokens != null ? tokens : 0;
+    }
+
+    public TokenUsage plus(TokenUsage other) {
+        return new TokenUsage(inputTokens + other.inputTokens, cachedInputTokens + other.cachedInputTokens,
+            cacheWriteTokens + other.cacheWriteTokens, outputTokens + other.outputTokens);
+    }
+}
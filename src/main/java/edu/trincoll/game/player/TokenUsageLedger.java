@@ -0,0 +1,114 @@
+package edu.trincoll.game.player;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Token usage and cost of one game, per model and per character.
+ * <p>
+ * Usage keeps cache reads and writes apart from uncached input, so the
+ * ledger also tells how much of the game's prompts the providers served
+ * from their prompt caches (cachedFraction()). Each game has its own
+ * ledger, so a server's sessions do not mix their figures.
+ * <p>
+ * Every LLM player in a game shares the game's ledger and records each
+ * response it receives. Once the total cost passes the budget the ledger
+ * is over budget, and LLM players play their remaining turns with a
+ * RuleBasedPlayer instead of calling the model. The call that crosses
+ * the budget is already paid for, so a game can end slightly above it.
+ * <p>
+ * Thread-safe: speculative decisions record from virtual threads. Those
+ * count even when the speculation is discarded, since they were billed.
+ */
+public class TokenUsageLedger {
+    /**
+     * Usage and cost of a group of calls.
+     */
+    public record Tally(long calls, TokenUsage usage, double cost) {
+        static final Tally EMPTY = new Tally(0, TokenUsage.NONE, 0);
+
+        Tally plus(Tally other) {
+            return new Tally(calls + other.calls, usage.plus(other.usage), cost + other.cost);
+        }
+    }
+
+    private final PriceTable prices;
+    private final double budget;
+
+    private Tally total = Tally.EMPTY;
+    private final Map<String, Tally> byModel = new TreeMap<>();
+    private final Map<String, Tally> byCharacter = new TreeMap<>();
+
+    /**
+     * @param budget most USD the game may spend; 0 or less for no limit
+     */
+    public TokenUsageLedger(PriceTable prices, double budget) {
+        this.prices = prices;
+        this.budget = budget;
+    }
+
+    public synchronized void record(String model, String character, TokenUsage usage) {
+        Tally call = new Tally(1, usage, prices.cost(model, usage));
+        total = total.plus(call);
+        byModel.merge(model, call, Tally::plus);
+        byCharacter.merge(character, call, Tally::plus);
+    }
+
+    /**
+     * Whether the game has spent its budget; always false without one.
+     */
+    public synchronized boolean isOverBudget() {
+        return budget > 0 && total.cost() >= budget;
+    }
+
+    public double budget() {
+        return budget;
+    }
+
+    public synchronized Tally total() {
+        return total;
+    }
+
+    /**
+     * Share of the game's input tokens read from provider prompt caches.
+     */
+    public synchronized double cachedFraction() {
+        TokenUsage usage = total.usage();
+        long input = usage.inputTokens() + usage.cachedInputTokens() + usage.cacheWriteTokens();
+        return input > 0 ? (double) usage.cachedInputTokens() / input : 0;
+    }
+
+    public synchronized Map<String, Tally> byModel() {
+        return new TreeMap<>(byModel);
+    }
+
+    public synchronized Map<String, Tally> byCharacter() {
+        return new TreeMap<>(byCharacter);
+    }
+
+    /**
+     * The end-of-game cost report: totals, then one line per model and per character.
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder("\n=== Token Usage ===\n");
+        appendLine(report, "Game", total);
+        report.append(String.format("  Prompt cache: %.0f%% of input tokens read from cache%n", cachedFraction() * 100));
+        if (budget > 0) {
+            report.append(String.format("  Budget $%.4f, %s%n", budget,
+                isOverBudget() ? "spent: later LLM turns were played rule-based" : "not reached"));
+        }
+        report.append("By model:\n");
+        byModel.forEach((model, tally) -> appendLine(report, "  " + model
+            + (prices.price(model) == null ? " (no price)" : ""), tally));
+        report.append("By character:\n");
+        byCharacter.forEach((character, tally) -> appendLine(report, "  " + character, tally));
+        return report.toString();
+    }
+
+    private static void appendLine(StringBuilder report, String label, Tally tally) {
+        TokenUsage usage = tally.usage();
+        report.append(String.format("%s: %d calls, %d in + %d cached + %d cache-write, %d out, $%.4f%n",
+            label, tally.calls(), usage.inputTokens(), usage.cachedInputTokens(),
+            usage.cacheWriteTokens(), usage.outputTokens(), tally.cost()));
+    }
+}
@@ -0,0 +1,96 @@
+package edu.trincoll.game.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Game-scoped source of randomness built on SplittableRandom.
+ * <p>
+ * Every game owns one GameRandom and threads it through the controller,
+ * commands, battle sequences and strategies, so a game is reproducible
+ * from its seed. Instances are not thread-safe and are never shared
+ * between games; parallel runs give each game its own stream instead of
+ * contending on a shared java.util.Random.
+ * <p>
+ * Child streams:
+ * <p>
+ * - split() derives an independent child from this stream's state
+ * <p>
+ * - forStream(seed, index) derives stream number {@code index} of a
+ *   master seed directly, so game N gets the same stream whether games
+ *   run sequentially or in parallel, in any order
+ */
+public final class GameRandom {
+    // SplitMix64 increment, the same "golden gamma" SplittableRandom uses
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SplittableRandom random;
+
+    public GameRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private GameRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * A stream with an arbitrary seed, for games that need not be reproducible.
+     */
+    public static GameRandom unseeded() {
+        return new GameRandom(new SplittableRandom());
+    }
+
+    /**
+     * Stream number {@code index} of the given master seed.
+     * Depends only on its arguments, never on call order.
+     */
+    public static GameRandom forStream(long masterSeed, long index) {
+        return new GameRandom(mix64(masterSeed + GOLDEN_GAMMA * (index + 1)));
+    }
+
+    /**
+     * An independent child stream; advances this stream.
+     */
+    public GameRandom split() {
+        return new GameRandom(random.split());
+    }
+
+    /**
+     * Uniform int in [0, bound).
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Uniform int in [origin, bound).
+     */
+    public int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    /**
+     * Uniform double in [0, 1).
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * True with the given probability, e.g. chance(0.1) for a 10% crit.
+     */
+    public boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    // SplitMix64 finalizer (Stafford variant 13)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
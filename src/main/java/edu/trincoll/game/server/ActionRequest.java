@@ -0,0 +1,6 @@
+package edu.trincoll.game.server;
+
+/**
+ * Body of a human move: "attack" an enemy or "heal" an ally, by name.
+ */
+public record ActionRequest(String action, String target) {}
@@ -0,0 +1,313 @@
+package edu.trincoll.game.server;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.controller.GameController;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.CompactPromptRenderer;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.TokenUsageLedger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game hosted by the server, with its own GameController (and so its
+ * own CommandInvoker and undo history).
+ * <p>
+ * Human characters move when a client submits an action. Every other
+ * character's turn runs as a task on the server's executor, one task at a
+ * time per session, until it is a human's turn again or the game is over.
+ * <p>
+ * A lock guards the game, but decisions are made outside it, so polling a
+ * session never waits on a model. While AI players are thinking only
+ * their task changes the game: human actions and undo are refused.
+ * <p>
+ * An AI turn never stops the game: a decision that fails, or a move
+ * that cannot be played (e.g. a mage attacking without mana), is replaced
+ * by an attack on the weakest enemy it can hurt, or else by healing
+ * itself. Undo reaches back only as far as the controller's history.
+ * <p>
+ * The controller's events go to the session's SessionEvents, for clients
+ * streaming them.
+ */
+public class GameSession {
+    /**
+     * What the session is waiting for.
+     */
+    public enum Status {
+        WAITING_FOR_HUMAN,
+        THINKING,
+        OVER,
+        FAILED
+    }
+
+    private static final int LOG_SIZE = 20;
+    private static final int HEAL_AMOUNT = 30;
+
+    private final String id;
+    private final GameController controller;
+    private final List<Character> team1;
+    private final List<Character> team2;
+    private final Map<Character, SessionRequest.PlayerKind> kinds;
+    private final TokenUsageLedger usageLedger;
+    private final SessionEvents events;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<String> log = new ArrayDeque<>();
+    private Status status = Status.THINKING;
+    private Character current;
+    private String error;
+    private long version;
+    private volatile boolean closed;
+    private volatile long lastAccess = System.nanoTime();
+
+    GameSession(String id,
+                GameController controller,
+                List<Character> team1,
+                List<Character> team2,
+                Map<Character, SessionRequest.PlayerKind> kinds,
+                TokenUsageLedger usageLedger,
+                SessionEvents events,
+                Executor executor) {
+        this.id = id;
+        this.controller = controller;
+        this.team1 = team1;
+        this.team2 = team2;
+        this.kinds = kinds;
+        this.usageLedger = usageLedger;
+        this.events = events;
+        this.executor = executor;
+        controller.addListener(events);
+    }
+
+    /**
+     * Stands in for human characters in the controller's player map; their
+     * moves come from act() instead.
+     */
+    static final class RemotePlayer implements Player {
+        @Override
+        public GameCommand decideAction(Character self, List<Character> allies,
+                                        List<Character> enemies, GameState gameState) {
+            throw new IllegalStateException(self.getName() + " is played through the actions endpoint");
+        }
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public SessionEvents events() {
+        return events;
+    }
+
+    void start() {
+        executor.execute(this::advance);
+    }
+
+    /**
+     * Plays the waiting human character's move, then hands over to the AI players.
+     *
+     * @throws IllegalStateException if no human character is waiting to move
+     * @throws IllegalArgumentException if the action or its target is invalid
+     */
+    public SessionView act(ActionRequest action) {
+        lastAccess = System.nanoTime();
+        lock.lock();
+        try {
+            if (status != Status.WAITING_FOR_HUMAN) {
+                throw new IllegalStateException("Not waiting for a human move: " + status);
+            }
+            GameCommand command = command(current, action);
+            controller.playTurn(command);
+            played(command);
+            status = Status.THINKING;
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(this::advance);
+        return view();
+    }
+
+    /**
+     * Takes back the last human move, along with every AI move made since.
+     *
+     * @throws IllegalStateException if AI players are thinking or no human has moved
+     */
+    public SessionView undo() {
+        lastAccess = System.nanoTime();
+        lock.lock();
+        try {
+            if (status == Status.THINKING) {
+                throw new IllegalStateException("Cannot undo while AI players are thinking");
+            }
+            if (controller.undoableTurns().stream()
+                    .noneMatch(c -> kinds.get(c) == SessionRequest.PlayerKind.HUMAN)) {
+                throw new IllegalStateException("No human move to undo");
+            }
+            Character character;
+            do {
+                character = controller.undoTurn();
+            } while (kinds.get(character) != SessionRequest.PlayerKind.HUMAN);
+            current = controller.currentCharacter();
+            status = Status.WAITING_FOR_HUMAN;
+            error = null;
+            append("Undone back to " + character.getName() + "'s move");
+        } finally {
+            lock.unlock();
+        }
+        return view();
+    }
+
+    public SessionView view() {
+        lastAccess = System.nanoTime();
+        lock.lock();
+        try {
+            GameState state = controller.getGameState();
+            Integer winner = status == Status.OVER
+                ? (team1.stream().anyMatch(c -> c.getHealth() > 0) ? 1 : 2)
+                : null;
+            return new SessionView(id, status, state.roundNumber(), state.turnNumber(),
+                current != null ? current.getName() : null, winner,
+                characters(team1), characters(team2), List.copyOf(log), error,
+                usageLedger.total().cost(), version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Plays AI turns until a human must move or the game ends.
+     */
+    void advance() {
+        try {
+            while (!closed) {
+                lock.lock();
+                try {
+                    current = controller.currentCharacter();
+                    if (current == null) {
+                        status = Status.OVER;
+                        version++;
+                        return;
+                    }
+                    if (kinds.get(current) == SessionRequest.PlayerKind.HUMAN) {
+                        status = Status.WAITING_FOR_HUMAN;
+                        version++;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                GameCommand command;
+                try {
+                    command = controller.decideTurn();
+                } catch (RuntimeException e) {
+                    System.out.println("[GameSession] " + current.getName() + "'s player failed: " + e.getMessage());
+                    command = null;
+                }
+
+                lock.lock();
+                try {
+                    if (closed) {
+                        return;
+                    }
+                    command = playable(current, command);
+                    controller.playTurn(command);
+                    played(command);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                status = Status.FAILED;
+                error = e.getMessage();
+                version++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stops the session's AI task after its current decision.
+     */
+    void close() {
+        closed = true;
+        events.close();
+    }
+
+    // Clients streaming the events count as activity, even if they never poll
+    boolean idleSince(long cutoffNanos) {
+        return lastAccess - cutoffNanos < 0 && events.idleSince(cutoffNanos);
+    }
+
+    private GameCommand command(Character self, ActionRequest action) {
+        if (action == null || action.action() == null || action.target() == null) {
+            throw new IllegalArgumentException("An action needs an action and a target");
+        }
+        boolean onTeam1 = team1.contains(self);
+        return switch (action.action().toLowerCase()) {
+            case "attack" -> new AttackCommand(self, living(onTeam1 ? team2 : team1, action.target()));
+            case "heal" -> new HealCommand(living(onTeam1 ? team1 : team2, action.target()), HEAL_AMOUNT);
+            default -> throw new IllegalArgumentException(
+                "Action must be attack or heal, not " + action.action());
+        };
+    }
+
+    // The AI's command if it can be played now, else a move that can
+    private GameCommand playable(Character self, GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            Character target = attack.getTarget();
+            if (target.getHealth() > 0 && CompactPromptRenderer.estimateDamage(attack.getAttacker(), target) >= 0) {
+                return command;
+            }
+        } else if (command != null) {
+            return command;
+        }
+        List<Character> enemies = team1.contains(self) ? team2 : team1;
+        return enemies.stream()
+            .filter(enemy -> enemy.getHealth() > 0 && CompactPromptRenderer.estimateDamage(self, enemy) >= 0)
+            .min(Comparator.comparingInt(Character::getHealth))
+            .<GameCommand>map(enemy -> new AttackCommand(self, enemy))
+            .orElseGet(() -> new HealCommand(self, HEAL_AMOUNT));
+    }
+
+    private static Character living(List<Character> team, String name) {
+        return team.stream()
+            .filter(c -> c.getName().equalsIgnoreCase(name) && c.getHealth() > 0)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No valid target named " + name));
+    }
+
+    private void played(GameCommand command) {
+        append(command.getDescription());
+    }
+
+    private void append(String entry) {
+        log.addLast(entry);
+        if (log.size() > LOG_SIZE) {
+            log.removeFirst();
+        }
+        version++;
+    }
+
+    private List<SessionView.CharacterView> characters(List<Character> team) {
+        List<SessionView.CharacterView> views = new ArrayList<>(team.size());
+        for (Character c : team) {
+            views.add(new SessionView.CharacterView(c.getName(), c.getType(), kinds.get(c),
+                Math.max(0, c.getHealth()), c.getMaxHealth(), c.getMana(), c.getMaxMana()));
+        }
+        return views;
+    }
+}
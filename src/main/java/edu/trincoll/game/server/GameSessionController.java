@@ -0,0 +1,114 @@
+package edu.trincoll.game.server;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST endpoints of the game server (server profile).
+ * <p>
+ * - POST /api/sessions creates a session from a SessionRequest
+ * - GET /api/sessions/{id} polls it
+ * - GET /api/sessions/{id}/events streams its GameEvents as server-sent events
+ * - POST /api/sessions/{id}/actions plays the waiting human's ActionRequest
+ * - POST /api/sessions/{id}/undo takes back the last human move
+ * - DELETE /api/sessions/{id} ends it
+ * <p>
+ * Every call returns at once with a SessionView; AI turns carry on in the
+ * background, and clients poll until the status is WAITING_FOR_HUMAN or OVER,
+ * or follow the event stream instead.
+ * Errors are problem details: 404 for an unknown session, 400 for an
+ * invalid request, 409 when the session is not in a state to accept it,
+ * and 503 when the server is full.
+ */
+@RestController
+@RequestMapping("/api/sessions")
+@Profile("server")
+public class GameSessionController {
+    private final GameSessionManager sessions;
+
+    public GameSessionController(GameSessionManager sessions) {
+        this.sessions = sessions;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionView create(@RequestBody SessionRequest request) {
+        return sessions.create(request).view();
+    }
+
+    @GetMapping("/{id}")
+    public SessionView get(@PathVariable String id) {
+        return sessions.get(id).view();
+    }
+
+    /**
+     * Streams the session's events from the one after Last-Event-ID (from
+     * the oldest buffered one without it) until the session ends. The
+     * stream runs on the MVC async executor, virtual threads in the server
+     * profile.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> events(
+            @PathVariable String id,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SessionEvents events = sessions.get(id).events();
+        long after = lastEventId != null ? lastEventId : 0;
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .header("Cache-Control", "no-cache")
+            .body(out -> events.writeTo(out, after));
+    }
+
+    @PostMapping("/{id}/actions")
+    public SessionView act(@PathVariable String id, @RequestBody ActionRequest action) {
+        return sessions.get(id).act(action);
+    }
+
+    @PostMapping("/{id}/undo")
+    public SessionView undo(@PathVariable String id) {
+        return sessions.get(id).undo();
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable String id) {
+        sessions.remove(id);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ProblemDetail notFound(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ProblemDetail conflict(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ProblemDetail full(RuntimeException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+}
@@ -0,0 +1,304 @@
+package edu.trincoll.game.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.controller.GameController;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.PriceTable;
+import edu.trincoll.game.player.TokenUsageLedger;
+import edu.trincoll.game.random.GameRandom;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts the server's game sessions.
+ * <p>
+ * AI turns run on virtual threads, so a session waiting seconds on an LLM
+ * holds no platform thread and thousands of sessions can think at once.
+ * Each session has its own TokenUsageLedger, and so its own budget.
+ * Sessions nobody has touched for the idle timeout are removed, and past
+ * maxSessions new ones are refused; a slot is reserved before a session
+ * is built, so concurrent creates cannot overshoot the limit. Each
+ * session keeps its last historyLimit turns for undo, so a long game
+ * holds bounded memory.
+ * <p>
+ * Each session's events are serialized with the given ObjectMapper and
+ * buffered for its subscribers (see SessionEvents).
+ * <p>
+ * Design Pattern: FACTORY (sessions and their players)
+ */
+public class GameSessionManager implements AutoCloseable {
+    /**
+     * Creates the player for a non-human seat of a new session.
+     */
+    @FunctionalInterface
+    public interface PlayerFactory {
+        Player create(SessionRequest.PlayerKind kind, TokenUsageLedger usageLedger);
+    }
+
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    // Sessions hosted or being created; never more than maxSessions
+    private final AtomicInteger slots = new AtomicInteger();
+    private final PlayerFactory players;
+    private final PriceTable prices;
+    private final double budget;
+    private final GameMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final int maxSessions;
+    private final int historyLimit;
+    private final Duration idleTimeout;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final ScheduledExecutorService sweeper;
+
+    private GameSessionManager(Builder builder) {
+        this.players = builder.players;
+        this.prices = builder.prices;
+        this.budget = builder.budget;
+        this.metrics = builder.metrics;
+        this.objectMapper = builder.objectMapper;
+        this.maxSessions = builder.maxSessions;
+        this.historyLimit = builder.historyLimit;
+        this.idleTimeout = builder.idleTimeout;
+        this.ownedExecutor = builder.executor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.executor = builder.executor != null ? builder.executor : ownedExecutor;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toMillis() / 4);
+        sweeper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a session and starts its AI turns.
+     *
+     * @throws IllegalArgumentException if the teams are invalid
+     * @throws RejectedExecutionException if the server already hosts maxSessions
+     */
+    public GameSession create(SessionRequest request) {
+        validate(request);
+        if (slots.incrementAndGet() > maxSessions) {
+            slots.decrementAndGet();
+            throw new RejectedExecutionException("Server is full: " + maxSessions + " sessions");
+        }
+        GameSession session;
+        try {
+            session = newSession(request);
+            sessions.put(session.id(), session);
+        } catch (RuntimeException e) {
+            slots.decrementAndGet();
+            throw e;
+        }
+        session.start();
+        return session;
+    }
+
+    private GameSession newSession(SessionRequest request) {
+        TokenUsageLedger usageLedger = new TokenUsageLedger(prices, budget);
+        Map<Character, Player> playerMap = new HashMap<>();
+        Map<Character, SessionRequest.PlayerKind> kinds = new HashMap<>();
+        List<Character> team1 = seat(request.team1(), usageLedger, playerMap, kinds);
+        List<Character> team2 = seat(request.team2(), usageLedger, playerMap, kinds);
+        GameRandom random = request.seed() != null ? new GameRandom(request.seed()) : GameRandom.unseeded();
+
+        return new GameSession(UUID.randomUUID().toString(),
+            new GameController(team1, team2, playerMap, random, metrics,
+                CommandInvoker.builder().historyLimit(historyLimit).build()),
+            team1, team2, kinds, usageLedger,
+            new SessionEvents(objectMapper, SessionEvents.DEFAULT_CAPACITY), executor);
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no such session
+     */
+    public GameSession get(String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new NoSuchElementException("No session " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Ends a session; an AI turn in progress stops after its decision.
+     *
+     * @throws NoSuchElementException if there is no such session
+     */
+    public void remove(String id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            throw new NoSuchElementException("No session " + id);
+        }
+        slots.decrementAndGet();
+        session.close();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes every session idle for longer than the idle timeout.
+     */
+    void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        for (GameSession session : sessions.values()) {
+            // Only the remover frees the slot, should remove() race with this
+            if (session.idleSince(cutoff) && sessions.remove(session.id(), session)) {
+                slots.decrementAndGet();
+                session.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        sessions.values().forEach(GameSession::close);
+        sessions.clear();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private static void validate(SessionRequest request) {
+        if (request == null || request.team1() == null || request.team1().isEmpty()
+                || request.team2() == null || request.team2().isEmpty()) {
+            throw new IllegalArgumentException("Both teams need at least one character");
+        }
+        Set<String> names = new HashSet<>();
+        for (List<SessionRequest.Seat> team : List.of(request.team1(), request.team2())) {
+            for (SessionRequest.Seat seat : team) {
+                if (seat == null || seat.name() == null || seat.type() == null || seat.player() == null) {
+                    throw new IllegalArgumentException("Every seat needs a name, a type and a player");
+                }
+                if (!names.add(seat.name().toLowerCase())) {
+                    throw new IllegalArgumentException("Duplicate character name " + seat.name());
+                }
+            }
+        }
+    }
+
+    private List<Character> seat(List<SessionRequest.Seat> seats,
+                                 TokenUsageLedger usageLedger,
+                                 Map<Character, Player> playerMap,
+                                 Map<Character, SessionRequest.PlayerKind> kinds) {
+        List<Character> team = new ArrayList<>(seats.size());
+        for (SessionRequest.Seat seat : seats) {
+            Character character = CharacterFactory.createCharacter(seat.name(), seat.type());
+            playerMap.put(character, seat.player() == SessionRequest.PlayerKind.HUMAN
+                ? new GameSession.RemotePlayer()
+                : players.create(seat.player(), usageLedger));
+            kinds.put(character, seat.player());
+            team.add(character);
+        }
+        return team;
+    }
+
+    /**
+     * Builder for session managers.
+     */
+    public static class Builder {
+        private PlayerFactory players;
+        private PriceTable prices = new PriceTable(List.of());
+        private double budget;
+        private GameMetrics metrics;
+        private ObjectMapper objectMapper = new ObjectMapper();
+        private int maxSessions = 10_000;
+        private int historyLimit = 100;
+        private Duration idleTimeout = Duration.ofMinutes(30);
+        private Executor executor;
+
+        public Builder players(PlayerFactory players) {
+            this.players = players;
+            return this;
+        }
+
+        /**
+         * Token prices, and the most USD each session may spend (0 for no limit).
+         */
+        public Builder cost(PriceTable prices, double budget) {
+            this.prices = prices;
+            this.budget = budget;
+            return this;
+        }
+
+        public Builder metrics(GameMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Serializes session events; use the application's, so they match its JSON.
+         */
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        public Builder maxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+            return this;
+        }
+
+        /**
+         * Turns each session keeps for undo.
+         */
+        public Builder historyLimit(int historyLimit) {
+            this.historyLimit = historyLimit;
+            return this;
+        }
+
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        // Runs AI turns; virtual threads by default. Tests pass Runnable::run
+        Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public GameSessionManager build() {
+            if (players == null) {
+                throw new IllegalStateException("players is required");
+            }
+            if (maxSessions <= 0) {
+                throw new IllegalStateException("maxSessions must be positive");
+            }
+            if (historyLimit <= 0) {
+                throw new IllegalStateException("historyLimit must be positive");
+            }
+            if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalStateException("idleTimeout must be positive");
+            }
+            return new GameSessionManager(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,192 @@
+package edu.trincoll.game.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.game.event.GameEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A session's game events as server-sent events, for any number of subscribers.
+ * <p>
+ * Each event is serialized once, when the controller publishes it, into a
+ * complete SSE frame: id, event type and JSON data. The frames go into a
+ * ring buffer of the last few hundred events, and every subscriber writes
+ * the same bytes, so a hundred spectators cost a hundred writes, not a
+ * hundred serializations.
+ * <p>
+ * A subscriber that reconnects with Last-Event-ID resumes after that
+ * event. If it has already left the buffer, the subscriber resumes from
+ * the oldest buffered event and should poll the session for the state;
+ * an id past the last event (e.g. from before a restart) resumes with
+ * the next one.
+ * <p>
+ * Subscribers count as activity: the session is not idle while one is
+ * connected, and its idle time starts over when the last one leaves.
+ * Subscribers wait on a lock condition, which parks a virtual thread
+ * without pinning it.
+ */
+public class SessionEvents implements Consumer<GameEvent> {
+    /** Events kept for subscribers that join late or reconnect. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    // An SSE comment: keeps proxies from closing the connection, and finds dead clients
+    private static final byte[] HEARTBEAT_FRAME = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    record Frame(long id, byte[] bytes) {}
+
+    private final ObjectMapper mapper;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private long lastId;
+    private boolean closed;
+    private int subscribers;
+    private long lastSubscribed = System.nanoTime();
+
+    public SessionEvents(ObjectMapper mapper, int capacity) {
+        this.mapper = mapper;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        byte[] data;
+        try {
+            data = mapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event, e);
+        }
+        lock.lock();
+        try {
+            long id = ++lastId;
+            frames.addLast(new Frame(id, frame(id, event.type(), data)));
+            if (frames.size() > capacity) {
+                frames.removeFirst();
+            }
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static byte[] frame(long id, String type, byte[] data) {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(data.length + 48);
+        frame.writeBytes(("id: " + id + "\nevent: " + type + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+        frame.writeBytes(data);
+        frame.writeBytes(new byte[] {'\n', '\n'});
+        return frame.toByteArray();
+    }
+
+    /**
+     * Writes every buffered frame after lastEventId, then each new one as it
+     * is published, until the session closes. Throws IOException once the
+     * client has gone away.
+     */
+    public void writeTo(OutputStream out, long lastEventId) throws IOException {
+        long sent = lastEventId;
+        subscribed(1);
+        try {
+            while (true) {
+                List<Frame> batch = after(sent, HEARTBEAT);
+                if (batch.isEmpty()) {
+                    if (isClosed()) {
+                        return;
+                    }
+                    out.write(HEARTBEAT_FRAME);
+                } else {
+                    for (Frame frame : batch) {
+                        out.write(frame.bytes());
+                        sent = frame.id();
+                    }
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscribed(-1);
+        }
+    }
+
+    private void subscribed(int change) {
+        lock.lock();
+        try {
+            subscribers += change;
+            lastSubscribed = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * True if no subscriber is connected, and none has been since the cutoff.
+     */
+    boolean idleSince(long cutoffNanos) {
+        lock.lock();
+        try {
+            return subscribers == 0 && lastSubscribed - cutoffNanos < 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Buffered frames after the given id, waiting up to the timeout for one.
+     * Empty on timeout or once closed.
+     */
+    List<Frame> after(long id, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            // An id past the last event would otherwise wait for events that never come
+            id = Math.min(id, lastId);
+            long nanos = timeout.toNanos();
+            while (!closed && lastId <= id && nanos > 0) {
+                nanos = published.awaitNanos(nanos);
+            }
+            List<Frame> batch = new ArrayList<>();
+            for (Frame frame : frames) {
+                if (frame.id() > id) {
+                    batch.add(frame);
+                }
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends every subscriber's stream once it has written what is buffered.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
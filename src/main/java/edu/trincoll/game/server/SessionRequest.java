@@ -0,0 +1,28 @@
+package edu.trincoll.game.server;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.List;
+
+/**
+ * Body of a request to create a game session: both teams, who plays each
+ * character, and an optional seed for a reproducible game.
+ */
+public record SessionRequest(List<Seat> team1, List<Seat> team2, Long seed) {
+
+    /**
+     * Who decides a character's moves.
+     */
+    public enum PlayerKind {
+        /** A client, through the actions endpoint */
+        HUMAN,
+        RULE_BASED,
+        GPT,
+        CLAUDE
+    }
+
+    /**
+     * One character and its player.
+     */
+    public record Seat(String name, CharacterType type, PlayerKind player) {}
+}
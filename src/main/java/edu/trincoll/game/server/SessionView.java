@@ -0,0 +1,33 @@
+package edu.trincoll.game.server;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.List;
+
+/**
+ * What clients see of a game session when they poll it.
+ *
+ * @param status what the session is waiting for
+ * @param current character whose turn it is, or null once the game is over
+ * @param winner 1 or 2 once the game is over, otherwise null
+ * @param log most recent actions, oldest first
+ * @param error why the game stopped, if its status is FAILED
+ * @param costUsd what the session's LLM calls have cost so far
+ * @param version increases with every change, so clients can skip unchanged polls
+ */
+public record SessionView(String id,
+                          GameSession.Status status,
+                          int round,
+                          int turn,
+                          String current,
+                          Integer winner,
+                          List<CharacterView> team1,
+                          List<CharacterView> team2,
+                          List<String> log,
+                          String error,
+                          double costUsd,
+                          long version) {
+
+    public record CharacterView(String name, CharacterType type, SessionRequest.PlayerKind player,
+                                int health, int maxHealth, int mana, int maxMana) {}
+}
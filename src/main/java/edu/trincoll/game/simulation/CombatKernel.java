@@ -0,0 +1,303 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+import java.util.List;
+
+/**
+ * Structure-of-arrays combat kernel for simulation mode.
+ * <p>
+ * Both teams are stored as parallel primitive arrays (team 1 in slots
+ * [0, team1Size), team 2 after it), and attacks, defense, heals and the
+ * RuleBasedPlayer rules are resolved directly on those arrays. Nothing is
+ * allocated per turn or per game: reset() copies the starting state back
+ * in place, so one kernel can replay millions of games.
+ * <p>
+ * The formulas mirror the classes in edu.trincoll.game.strategy exactly,
+ * including integer truncation, so a kernel game ends with the same HP
+ * and mana as HeadlessGameEngine with RuleBasedPlayer on both sides.
+ * Only the built-in strategies are supported; a character with any other
+ * strategy is rejected when the kernel is built.
+ */
+public final class CombatKernel {
+    /** Returned by attack() when a magic attacker has too little mana. */
+    public static final int NOT_ENOUGH_MANA = -1;
+
+    private static final int MELEE = 0;
+    private static final int MAGIC = 1;
+    private static final int RANGED = 2;
+    private static final int STANDARD = 0;
+    private static final int HEAVY_ARMOR = 1;
+
+    private static final int MAGIC_MANA_COST = 10;
+    private static final int HEAL_AMOUNT = 30;
+    private static final double SELF_HEAL_THRESHOLD = 0.30;
+    private static final double ALLY_HEAL_THRESHOLD = 0.20;
+
+    private final int team1Size;
+    private final int size;
+
+    // Live state
+    private final int[] health;
+    private final int[] mana;
+
+    // Fixed per-slot properties
+    private final int[] maxHealth;
+    private final int[] attack;
+    private final int[] defense;
+    private final int[] maxMana;
+    private final int[] type;
+    private final int[] attackKind;
+    private final int[] defenseKind;
+
+    // Starting state, restored by reset()
+    private final int[] initialHealth;
+    private final int[] initialMana;
+
+    private int rounds;
+    private int turns;
+
+    private CombatKernel(int team1Size, int size) {
+        this.team1Size = team1Size;
+        this.size = size;
+        this.health = new int[size];
+        this.mana = new int[size];
+        this.maxHealth = new int[size];
+        this.attack = new int[size];
+        this.defense = new int[size];
+        this.maxMana = new int[size];
+        this.type = new int[size];
+        this.attackKind = new int[size];
+        this.defenseKind = new int[size];
+        this.initialHealth = new int[size];
+        this.initialMana = new int[size];
+    }
+
+    /**
+     * Builds a kernel from the current state of two teams.
+     * The characters themselves are only read, never modified.
+     */
+    public static CombatKernel of(List<Character> team1, List<Character> team2) {
+        if (team1.isEmpty() || team2.isEmpty()) {
+            throw new IllegalArgumentException("Both teams need at least one character");
+        }
+        CombatKernel kernel = new CombatKernel(team1.size(), team1.size() + team2.size());
+        for (int i = 0; i < team1.size(); i++) {
+            kernel.load(i, team1.get(i));
+        }
+        for (int i = 0; i < team2.size(); i++) {
+            kernel.load(team1.size() + i, team2.get(i));
+        }
+        return kernel;
+    }
+
+    private void load(int slot, Character character) {
+        CharacterStats stats = character.getStats();
+        initialHealth[slot] = health[slot] = stats.health();
+        initialMana[slot] = mana[slot] = stats.mana();
+        maxHealth[slot] = stats.maxHealth();
+        attack[slot] = stats.attackPower();
+        defense[slot] = stats.defense();
+        maxMana[slot] = stats.maxMana();
+        type[slot] = character.getType().ordinal();
+        attackKind[slot] = attackKindOf(character);
+        defenseKind[slot] = defenseKindOf(character);
+    }
+
+    private static int attackKindOf(Character character) {
+        Class<?> strategy = character.getAttackStrategy().getClass();
+        if (strategy == MeleeAttackStrategy.class) return MELEE;
+        if (strategy == MagicAttackStrategy.class) return MAGIC;
+        if (strategy == RangedAttackStrategy.class) return RANGED;
+        throw new IllegalArgumentException("Unsupported attack strategy for " + character.getName());
+    }
+
+    private static int defenseKindOf(Character character) {
+        Class<?> strategy = character.getDefenseStrategy().getClass();
+        if (strategy == StandardDefenseStrategy.class) return STANDARD;
+        if (strategy == HeavyArmorDefenseStrategy.class) return HEAVY_ARMOR;
+        throw new IllegalArgumentException("Unsupported defense strategy for " + character.getName());
+    }
+
+    /**
+     * Restores every slot to the state the kernel was built with.
+     */
+    public void reset() {
+        System.arraycopy(initialHealth, 0, health, 0, size);
+        System.arraycopy(initialMana, 0, mana, 0, size);
+        rounds = 0;
+        turns = 0;
+    }
+
+    /**
+     * Resolves an attack, as AttackCommand does with the built-in strategies.
+     *
+     * @return health actually lost by the target, or NOT_ENOUGH_MANA if a
+     *         magic attacker could not pay the mana cost (nothing changes)
+     */
+    public int attack(int attacker, int target) {
+        int damage;
+        switch (attackKind[attacker]) {
+            case MELEE -> damage = (int) (attack[attacker] * 1.2);
+            case MAGIC -> {
+                if (mana[attacker] < MAGIC_MANA_COST) {
+                    return NOT_ENOUGH_MANA;
+                }
+                damage = attack[attacker] + mana[attacker] / 10;
+                mana[attacker] -= MAGIC_MANA_COST;
+            }
+            default -> {
+                int baseDamage = (int) (attack[attacker] * 0.8);
+                double healthPercent = (double) health[target] / maxHealth[target];
+                damage = healthPercent < 0.3 ? (int) (baseDamage * 1.5) : baseDamage;
+            }
+        }
+
+        int actualDamage;
+        if (defenseKind[target] == HEAVY_ARMOR) {
+            int maxReduction = (int) (damage * 0.75);
+            actualDamage = damage - Math.min(defense[target], maxReduction);
+        } else {
+            actualDamage = Math.max(0, damage - defense[target] / 2);
+        }
+
+        int before = health[target];
+        health[target] = clamp(before - Math.max(0, actualDamage), maxHealth[target]);
+        return before - health[target];
+    }
+
+    /**
+     * Heals a slot, capped at max health, as HealCommand does.
+     *
+     * @return health actually restored
+     */
+    public int heal(int target, int amount) {
+        int before = health[target];
+        health[target] = clamp(before + amount, maxHealth[target]);
+        return health[target] - before;
+    }
+
+    /**
+     * Plays one game with RuleBasedPlayer rules on both sides, using the
+     * same turn order and round limit semantics as HeadlessGameEngine.
+     *
+     * @return the winner; final state is available through the accessors
+     */
+    public GameResult.Winner playRuleBasedGame(int maxRounds) {
+        while (!isGameOver() && rounds < maxRounds) {
+            rounds++;
+            if (playTeam(0, team1Size, team1Size, size)) break;
+            if (playTeam(team1Size, size, 0, team1Size)) break;
+        }
+
+        boolean team1Alive = anyAlive(0, team1Size);
+        boolean team2Alive = anyAlive(team1Size, size);
+        if (team1Alive && !team2Alive) return GameResult.Winner.TEAM_1;
+        if (team2Alive && !team1Alive) return GameResult.Winner.TEAM_2;
+        return GameResult.Winner.DRAW;
+    }
+
+    private boolean playTeam(int allyFrom, int allyTo, int enemyFrom, int enemyTo) {
+        for (int self = allyFrom; self < allyTo; self++) {
+            if (isGameOver()) return true;
+            if (health[self] > 0) {
+                takeRuleBasedTurn(self, allyFrom, allyTo, enemyFrom, enemyTo);
+                turns++;
+            }
+        }
+        return isGameOver();
+    }
+
+    /**
+     * RuleBasedPlayer.decideAction followed by command execution.
+     */
+    private void takeRuleBasedTurn(int self, int allyFrom, int allyTo, int enemyFrom, int enemyTo) {
+        // Rule 1: Self-preservation
+        if ((double) health[self] / maxHealth[self] < SELF_HEAL_THRESHOLD) {
+            heal(self, HEAL_AMOUNT);
+            return;
+        }
+
+        // Rule 2: Help weakest ally if critical (first minimum wins ties)
+        int weakestAlly = -1;
+        for (int ally = allyFrom; ally < allyTo; ally++) {
+            if (ally != self
+                && (double) health[ally] / maxHealth[ally] < ALLY_HEAL_THRESHOLD
+                && (weakestAlly < 0 || health[ally] < health[weakestAlly])) {
+                weakestAlly = ally;
+            }
+        }
+        if (weakestAlly >= 0) {
+            heal(weakestAlly, HEAL_AMOUNT);
+            return;
+        }
+
+        // Rule 3: Attack weakest living enemy
+        int weakestEnemy = -1;
+        for (int enemy = enemyFrom; enemy < enemyTo; enemy++) {
+            if (health[enemy] > 0 && (weakestEnemy < 0 || health[enemy] < health[weakestEnemy])) {
+                weakestEnemy = enemy;
+            }
+        }
+        attack(self, weakestEnemy < 0 ? enemyFrom : weakestEnemy);
+    }
+
+    private boolean isGameOver() {
+        return !anyAlive(0, team1Size) || !anyAlive(team1Size, size);
+    }
+
+    private boolean anyAlive(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (health[i] > 0) return true;
+        }
+        return false;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    // Accessors
+
+    public int size() {
+        return size;
+    }
+
+    public int team1Size() {
+        return team1Size;
+    }
+
+    public int health(int slot) {
+        return health[slot];
+    }
+
+    public int maxHealth(int slot) {
+        return maxHealth[slot];
+    }
+
+    public int mana(int slot) {
+        return mana[slot];
+    }
+
+    public int maxMana(int slot) {
+        return maxMana[slot];
+    }
+
+    public int type(int slot) {
+        return type[slot];
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    public int turns() {
+        return turns;
+    }
+}
@@ -0,0 +1,27 @@
+package edu.trincoll.game.simulation;
+
+/**
+ * Compact outcome of a headless game.
+ * <p>
+ * Final health is stored as primitive arrays in team order, so a result
+ * costs a handful of bytes no matter how the game was played.
+ *
+ * @param winner which team won, or DRAW if the round limit was reached
+ * @param rounds number of rounds started
+ * @param turns number of turns taken across all rounds
+ * @param team1Health final HP of each team 1 character, in team order
+ * @param team2Health final HP of each team 2 character, in team order
+ */
+public record GameResult(
+    Winner winner,
+    int rounds,
+    int turns,
+    int[] team1Health,
+    int[] team2Health
+) {
+    public enum Winner {
+        TEAM_1,
+        TEAM_2,
+        DRAW
+    }
+}
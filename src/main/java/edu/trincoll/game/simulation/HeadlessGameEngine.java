@@ -0,0 +1,168 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.random.GameRandom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same turn loop as GameController, without any console output.
+ * <p>
+ * Design Patterns Demonstrated:
+ * <p>
+ * - FACADE: One call plays a whole game and returns a GameResult
+ * - STRATEGY: Players and characters keep their own strategies
+ * <p>
+ * Differences from GameController:
+ * <p>
+ * - Nothing is printed; the outcome comes back as a GameResult
+ * - Command history is not retained, only counted
+ * - A command that fails (e.g. a mage out of mana) forfeits the turn
+ *   instead of aborting the run
+ * - A round limit guarantees termination; hitting it is a DRAW
+ * <p>
+ * An engine plays exactly one game, since the characters it is given
+ * are mutated as the game progresses. Given the same seed, a game always
+ * plays out the same way.
+ */
+public class HeadlessGameEngine {
+    public static final int DEFAULT_MAX_ROUNDS = 1_000;
+
+    private final List<Character> team1;
+    private final List<Character> team2;
+    private final Map<Character, Player> playerMap;
+    private final int maxRounds;
+    private final GameRandom random;
+    private GameState gameState;
+    private int commandsExecuted;
+    private int turnsTaken;
+
+    public HeadlessGameEngine(List<Character> team1,
+                              List<Character> team2,
+                              Map<Character, Player> playerMap) {
+        this(team1, team2, playerMap, DEFAULT_MAX_ROUNDS);
+    }
+
+    public HeadlessGameEngine(List<Character> team1,
+                              List<Character> team2,
+                              Map<Character, Player> playerMap,
+                              int maxRounds) {
+        this(team1, team2, playerMap, maxRounds, GameRandom.unseeded());
+    }
+
+    public HeadlessGameEngine(List<Character> team1,
+                              List<Character> team2,
+                              Map<Character, Player> playerMap,
+                              int maxRounds,
+                              GameRandom random) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("maxRounds must be positive");
+        }
+        this.team1 = new ArrayList<>(team1);
+        this.team2 = new ArrayList<>(team2);
+        this.playerMap = new HashMap<>(playerMap);
+        this.maxRounds = maxRounds;
+        this.random = random;
+        this.gameState = GameState.initial();
+    }
+
+    /**
+     * Plays the game to completion (or the round limit).
+     *
+     * @return the outcome of the game
+     */
+    public GameResult run() {
+        int rounds = 0;
+
+        while (!isGameOver() && rounds < maxRounds) {
+            rounds++;
+
+            if (playTeam(team1, team2)) break;
+            if (playTeam(team2, team1)) break;
+
+            gameState = gameState.nextRound();
+        }
+
+        return toResult(rounds);
+    }
+
+    /**
+     * Plays one team's half of a round.
+     *
+     * @return true if the game ended during this half
+     */
+    private boolean playTeam(List<Character> allies, List<Character> enemies) {
+        for (int i = 0; i < allies.size(); i++) {
+            if (isGameOver()) return true;
+            Character character = allies.get(i);
+            if (character.isAlive()) {
+                processTurn(character, allies, enemies);
+            }
+        }
+        return isGameOver();
+    }
+
+    private void processTurn(Character character,
+                             List<Character> allies,
+                             List<Character> enemies) {
+        Player player = playerMap.get(character);
+        if (player == null) {
+            return;
+        }
+
+        GameCommand command = player.decideAction(character, allies, enemies, gameState);
+        if (command == null) {
+            return;
+        }
+
+        turnsTaken++;
+        try {
+            command.execute(random);
+            commandsExecuted++;
+        } catch (IllegalStateException e) {
+            // Turn forfeited - the command could not be carried out
+        }
+
+        gameState = gameState.nextTurn()
+            .withUndo(true, commandsExecuted);
+    }
+
+    private boolean isGameOver() {
+        return !anyAlive(team1) || !anyAlive(team2);
+    }
+
+    private static boolean anyAlive(List<Character> team) {
+        for (int i = 0; i < team.size(); i++) {
+            if (team.get(i).isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GameResult toResult(int rounds) {
+        GameResult.Winner winner;
+        if (!anyAlive(team2) && anyAlive(team1)) {
+            winner = GameResult.Winner.TEAM_1;
+        } else if (!anyAlive(team1) && anyAlive(team2)) {
+            winner = GameResult.Winner.TEAM_2;
+        } else {
+            winner = GameResult.Winner.DRAW;
+        }
+        return new GameResult(winner, rounds, turnsTaken, healthOf(team1), healthOf(team2));
+    }
+
+    private static int[] healthOf(List<Character> team) {
+        int[] health = new int[team.size()];
+        for (int i = 0; i < health.length; i++) {
+            health[i] = team.get(i).getHealth();
+        }
+        return health;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A tournament entrant: a team composition plus the kind of player that
+ * controls every character on it.
+ * <p>
+ * Each game builds fresh characters from the composition through
+ * CharacterFactory, so no mutable state is shared between games.
+ *
+ * @param playerType label for the player kind (e.g. "RuleBased")
+ * @param composition character types in turn order
+ * @param playerFactory creates the player for one game
+ */
+public record TeamSpec(
+    String playerType,
+    List<CharacterType> composition,
+    Supplier<Player> playerFactory
+) {
+    public TeamSpec {
+        Objects.requireNonNull(playerType, "Player type cannot be null");
+        Objects.requireNonNull(playerFactory, "Player factory cannot be null");
+        if (composition == null || composition.isEmpty()) {
+            throw new IllegalArgumentException("Composition must contain at least one character");
+        }
+        composition = List.copyOf(composition);
+    }
+
+    /**
+     * Label used in tournament reports, e.g. "RuleBased[WARRIOR+MAGE]".
+     */
+    public String label() {
+        StringBuilder sb = new StringBuilder(playerType).append('[');
+        for (int i = 0; i < composition.size(); i++) {
+            if (i > 0) sb.append('+');
+            sb.append(composition.get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Creates a fresh team for one game. Names are prefixed so the two
+     * sides never collide, even in a mirror match.
+     */
+    List<Character> createTeam(String prefix) {
+        List<Character> team = new ArrayList<>(composition.size());
+        for (int i = 0; i < composition.size(); i++) {
+            team.add(CharacterFactory.createCharacter(prefix + i, composition.get(i)));
+        }
+        return team;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.trincoll.game.simulation;
+
+import java.util.List;
+
+/**
+ * Merged outcome of a tournament.
+ * <p>
+ * Matrices are indexed [team1 entrant][team2 entrant], so wins[i][j]
+ * counts games entrant i won while playing first against entrant j.
+ *
+ * @param entrants entrant labels, in the order used by the matrices
+ * @param wins games won by the first-moving entrant
+ * @param losses games lost by the first-moving entrant
+ * @param draws games that reached the round limit
+ * @param wallTimeNanos elapsed wall-clock time for the whole tournament
+ * @param parallelism number of worker threads used
+ * @param masterSeed seed that reproduces every game in the tournament
+ */
+public record TournamentResult(
+    List<String> entrants,
+    long[][] wins,
+    long[][] losses,
+    long[][] draws,
+    long wallTimeNanos,
+    int parallelism,
+    long masterSeed
+) {
+    public long totalGames() {
+        long total = 0;
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = 0; j < entrants.size(); j++) {
+                total += wins[i][j] + losses[i][j] + draws[i][j];
+            }
+        }
+        return total;
+    }
+
+    public double gamesPerSecond() {
+        return wallTimeNanos > 0 ? totalGames() / (wallTimeNanos / 1_000_000_000.0) : 0;
+    }
+
+    /**
+     * Fraction of all games (as either side) won by the given entrant.
+     */
+    public double winRate(int entrant) {
+        long won = 0;
+        long played = 0;
+        for (int other = 0; other < entrants.size(); other++) {
+            won += wins[entrant][other] + losses[other][entrant];
+            played += wins[entrant][other] + losses[entrant][other] + draws[entrant][other]
+                + wins[other][entrant] + losses[other][entrant] + draws[other][entrant];
+        }
+        return played > 0 ? (double) won / played : 0;
+    }
+}
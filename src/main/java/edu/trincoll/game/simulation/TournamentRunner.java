@@ -0,0 +1,168 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.random.GameRandom;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays a round-robin Monte Carlo tournament across all cores.
+ * <p>
+ * Every ordered pair of entrants (including mirror matches) plays
+ * gamesPerPairing games. The game index range is split recursively on a
+ * work-stealing ForkJoinPool; each leaf keeps its own tally and tallies
+ * are merged on join, so workers never contend on shared counters.
+ * <p>
+ * Games are independent: each one builds its own characters and players
+ * from the TeamSpecs, so nothing mutable is shared between threads.
+ * <p>
+ * Game N always plays on GameRandom.forStream(masterSeed, N), so a run
+ * is bit-identical for a given master seed no matter how many threads
+ * play it or in which order games are scheduled.
+ */
+public class TournamentRunner {
+    private static final int LEAF_GAMES = 256;
+
+    private final List<TeamSpec> entrants;
+    private final int gamesPerPairing;
+    private final int parallelism;
+    private final int maxRounds;
+    private final long masterSeed;
+
+    public TournamentRunner(List<TeamSpec> entrants, int gamesPerPairing, int parallelism) {
+        this(entrants, gamesPerPairing, parallelism, HeadlessGameEngine.DEFAULT_MAX_ROUNDS);
+    }
+
+    public TournamentRunner(List<TeamSpec> entrants, int gamesPerPairing,
+                            int parallelism, int maxRounds) {
+        this(entrants, gamesPerPairing, parallelism, maxRounds, new SplittableRandom().nextLong());
+    }
+
+    public TournamentRunner(List<TeamSpec> entrants, int gamesPerPairing,
+                            int parallelism, int maxRounds, long masterSeed) {
+        if (entrants == null || entrants.isEmpty()) {
+            throw new IllegalArgumentException("Tournament needs at least one entrant");
+        }
+        if (gamesPerPairing <= 0 || parallelism <= 0 || maxRounds <= 0) {
+            throw new IllegalArgumentException("Game count, parallelism and round limit must be positive");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.gamesPerPairing = gamesPerPairing;
+        this.parallelism = parallelism;
+        this.maxRounds = maxRounds;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Plays every game and returns the merged win/loss matrix.
+     */
+    public TournamentResult run() {
+        long totalGames = (long) entrants.size() * entrants.size() * gamesPerPairing;
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Tally tally;
+        try {
+            tally = pool.invoke(new GameRange(0, totalGames));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new TournamentResult(
+            entrants.stream().map(TeamSpec::label).toList(),
+            tally.wins, tally.losses, tally.draws,
+            elapsed, parallelism, masterSeed);
+    }
+
+    /**
+     * Plays game number {@code index} and records it in the tally.
+     */
+    private void playGame(long index, Tally tally) {
+        int pairing = (int) (index / gamesPerPairing);
+        int first = pairing / entrants.size();
+        int second = pairing % entrants.size();
+
+        TeamSpec spec1 = entrants.get(first);
+        TeamSpec spec2 = entrants.get(second);
+        List<Character> team1 = spec1.createTeam("A");
+        List<Character> team2 = spec2.createTeam("B");
+
+        Map<Character, Player> playerMap = new HashMap<>();
+        Player player1 = spec1.playerFactory().get();
+        Player player2 = spec2.playerFactory().get();
+        team1.forEach(c -> playerMap.put(c, player1));
+        team2.forEach(c -> playerMap.put(c, player2));
+
+        GameResult result = new HeadlessGameEngine(team1, team2, playerMap, maxRounds,
+            GameRandom.forStream(masterSeed, index)).run();
+        switch (result.winner()) {
+            case TEAM_1 -> tally.wins[first][second]++;
+            case TEAM_2 -> tally.losses[first][second]++;
+            case DRAW -> tally.draws[first][second]++;
+        }
+    }
+
+    /**
+     * Per-task result counters, merged pairwise as tasks join.
+     */
+    private static final class Tally {
+        final long[][] wins;
+        final long[][] losses;
+        final long[][] draws;
+
+        Tally(int size) {
+            wins = new long[size][size];
+            losses = new long[size][size];
+            draws = new long[size][size];
+        }
+
+        Tally merge(Tally other) {
+            for (int i = 0; i < wins.length; i++) {
+                for (int j = 0; j < wins.length; j++) {
+                    wins[i][j] += other.wins[i][j];
+                    losses[i][j] += other.losses[i][j];
+                    draws[i][j] += other.draws[i][j];
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fork/join task over a half-open range of game indices.
+     */
+    private final class GameRange extends RecursiveTask<Tally> {
+        private final long from;
+        private final long to;
+
+        GameRange(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= LEAF_GAMES) {
+                Tally tally = new Tally(entrants.size());
+                for (long i = from; i < to; i++) {
+                    playGame(i, tally);
+                }
+                return tally;
+            }
+
+            long mid = (from + to) >>> 1;
+            GameRange left = new GameRange(from, mid);
+            GameRange right = new GameRange(mid, to);
+            left.fork();
+            Tally rightTally = right.compute();
+            return left.join().merge(rightTally);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package edu.trincoll.game.strategy;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
 
 /**
  * Strategy pattern for attack behaviors.
@@ -19,4 +20,19 @@ public interface AttackStrategy {
      * @return The amount of damage to apply (before defense calculation)
      */
     int calculateDamage(Character attacker, Character target);
+
+    /**
+     * Calculate damage using the game's random stream (crits, misses, etc.).
+     * <p>
+     * Deterministic strategies need not override this; the default ignores
+     * the random stream and delegates to {@link #calculateDamage(Character, Character)}.
+     *
+     * @param attacker The character performing the attack
+     * @param target The character being attacked
+     * @param random The game-scoped random stream
+     * @return The amount of damage to apply (before defense calculation)
+     */
+    default int calculateDamage(Character attacker, Character target, GameRandom random) {
+        return calculateDamage(attacker, target);
+    }
 }
@@ -1,6 +1,7 @@
 package edu.trincoll.game.strategy;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
 
 /**
  * Strategy pattern for defense behaviors.
@@ -18,4 +19,19 @@ public interface DefenseStrategy {
      * @return The actual damage after defense calculation
      */
     int calculateDamageReduction(Character defender, int incomingDamage);
+
+    /**
+     * Calculate damage reduction using the game's random stream (dodges, blocks, etc.).
+     * <p>
+     * The default ignores the random stream and delegates to
+     * {@link #calculateDamageReduction(Character, int)}.
+     *
+     * @param defender The character defending
+     * @param incomingDamage The amount of damage before defense
+     * @param random The game-scoped random stream
+     * @return The actual damage after defense calculation
+     */
+    default int calculateDamageReduction(Character defender, int incomingDamage, GameRandom random) {
+        return calculateDamageReduction(defender, incomingDamage);
+    }
 }
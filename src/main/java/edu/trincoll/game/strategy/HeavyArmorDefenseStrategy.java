@@ -31,7 +31,7 @@ public class HeavyArmorDefenseStrategy implements DefenseStrategy {
         int maxReduction = (int) (incomingDamage * 0.75);
 
         // Actual reduction is the lesser of defense or max allowed reduction
-        int actualReduction = Math.min(defender.getStats().defense(), maxReduction);
+        int actualReduction = Math.min(defender.getDefense(), maxReduction);
 
         // Damage dealt is incoming minus actual reduction
         return incomingDamage - actualReduction;
@@ -25,10 +25,10 @@ public class MagicAttackStrategy implements AttackStrategy {
     @Override
     public int calculateDamage(Character attacker, Character target) {
         // Base damage = attacker's attack power
-        int baseDamage = attacker.getStats().attackPower();
+        int baseDamage = attacker.getAttackPower();
 
         // Mana bonus = current mana / 10
-        int manaBonus = attacker.getStats().mana() / 10;
+        int manaBonus = attacker.getMana() / 10;
 
         // Total damage = base + mana bonus
         int totalDamage = baseDamage + manaBonus;
@@ -23,7 +23,7 @@ public class MeleeAttackStrategy implements AttackStrategy {
     public int calculateDamage(Character attacker, Character target) {
         // Base damage = attacker's attack power
         // Add 20% bonus (multiply by 1.2)
-        int attackPower = attacker.getStats().attackPower();
+        int attackPower = attacker.getAttackPower();
         return (int) (attackPower * 1.2);
     }
 }
@@ -31,10 +31,10 @@ public class RangedAttackStrategy implements AttackStrategy {
     @Override
     public int calculateDamage(Character attacker, Character target) {
         // Base damage with 80% accuracy
-        int baseDamage = (int) (attacker.getStats().attackPower() * 0.8);
+        int baseDamage = (int) (attacker.getAttackPower() * 0.8);
 
         // Check for critical hit (target health < 30% of max)
-        double healthPercent = (double) target.getStats().health() / target.getStats().maxHealth();
+        double healthPercent = (double) target.getHealth() / target.getMaxHealth();
 
         if (healthPercent < 0.3) {
             // Critical hit: 50% bonus
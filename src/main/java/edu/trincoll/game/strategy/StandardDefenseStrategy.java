@@ -22,7 +22,7 @@ public class StandardDefenseStrategy implements DefenseStrategy {
     @Override
     public int calculateDamageReduction(Character defender, int incomingDamage) {
         // Damage reduction = defense / 2
-        int damageReduction = defender.getStats().defense() / 2;
+        int damageReduction = defender.getDefense() / 2;
 
         // Actual damage = incoming - reduction
         int actualDamage = incomingDamage - damageReduction;
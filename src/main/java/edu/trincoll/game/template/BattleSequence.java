@@ -1,6 +1,7 @@
 package edu.trincoll.game.template;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
 
 /**
  * Template Method pattern for battle sequences.
@@ -14,14 +15,23 @@ import edu.trincoll.game.model.Character;
  * 5. End turn
  *
  * Subclasses can override hook methods to customize behavior.
+ *
+ * The game's random stream is available to every step, so sequences
+ * with random outcomes are reproducible from the game seed.
  */
 public abstract class BattleSequence {
     protected final Character attacker;
     protected final Character defender;
+    protected final GameRandom random;
 
     public BattleSequence(Character attacker, Character defender) {
+        this(attacker, defender, GameRandom.unseeded());
+    }
+
+    public BattleSequence(Character attacker, Character defender, GameRandom random) {
         this.attacker = attacker;
         this.defender = defender;
+        this.random = random;
     }
 
     /**
@@ -1,6 +1,7 @@
 package edu.trincoll.game.template;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
 
 /**
  * Power attack sequence - charges up before attack, exhausted after.
@@ -16,6 +17,10 @@ public class PowerAttackSequence extends BattleSequence {
         super(attacker, defender);
     }
 
+    public PowerAttackSequence(Character attacker, Character defender, GameRandom random) {
+        super(attacker, defender, random);
+    }
+
     /**
      * TODO 5c: Implement preAttackAction()
      *
@@ -27,7 +32,7 @@ public class PowerAttackSequence extends BattleSequence {
     @Override
     protected void preAttackAction() {
         // Calculate damage bonus: attack power / 4
-        damageBonus = attacker.getStats().attackPower() / 4;
+        damageBonus = attacker.getAttackPower() / 4;
     }
 
     /**
@@ -41,10 +46,10 @@ public class PowerAttackSequence extends BattleSequence {
     @Override
     protected void performAttack() {
         // Calculate base damage
-        int baseDamage = attacker.attack(defender);
+        int baseDamage = attacker.attack(defender, random);
 
         // Add bonus and apply total damage
-        defender.takeDamage(baseDamage + damageBonus);
+        defender.takeDamage(baseDamage + damageBonus, random);
     }
 
     /**
@@ -59,10 +64,10 @@ public class PowerAttackSequence extends BattleSequence {
     @Override
     protected void postAttackAction() {
         // Calculate recoil: 10% of max health
-        int recoilDamage = (int) (attacker.getStats().maxHealth() * 0.1);
+        int recoilDamage = (int) (attacker.getMaxHealth() * 0.1);
 
         // Apply recoil directly (not through takeDamage which would apply defense)
-        int currentHealth = attacker.getStats().health();
+        int currentHealth = attacker.getHealth();
         attacker.setHealth(currentHealth - recoilDamage);
     }
 }
@@ -1,6 +1,7 @@
 package edu.trincoll.game.template;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.random.GameRandom;
 
 /**
  * Standard battle sequence - simple attack with no special actions.
@@ -16,6 +17,10 @@ public class StandardBattleSequence extends BattleSequence {
         super(attacker, defender);
     }
 
+    public StandardBattleSequence(Character attacker, Character defender, GameRandom random) {
+        super(attacker, defender, random);
+    }
+
     /**
      * TODO 5b: Implement performAttack()
      *
@@ -26,9 +31,9 @@ public class StandardBattleSequence extends BattleSequence {
     @Override
     protected void performAttack() {
         // Calculate damage
-        int damage = attacker.attack(defender);
+        int damage = attacker.attack(defender, random);
 
         // Apply damage
-        defender.takeDamage(damage);
+        defender.takeDamage(damage, random);
     }
 }
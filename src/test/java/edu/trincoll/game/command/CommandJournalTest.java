@@ -0,0 +1,107 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CommandJournal Tests")
+class CommandJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Character attacker;
+    private Character target;
+
+    private record Entry(byte opcode, int actor, int target, int amount, int health) {}
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("commands.journal");
+        attacker = CharacterFactory.createWarrior("Attacker");
+        target = CharacterFactory.createMage("Target");
+    }
+
+    private List<Entry> readAll() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (CommandJournalReader reader = CommandJournalReader.open(file)) {
+            long count = reader.forEach((opcode, actor, targetId, amount, health) ->
+                entries.add(new Entry(opcode, actor, targetId, amount, health)));
+            assertThat(count).isEqualTo(entries.size());
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Should journal executed and undone commands through the invoker")
+    void shouldJournalInvokerCommands() throws IOException {
+        try (CommandJournal journal = CommandJournal.open(file)) {
+            CommandInvoker invoker = new CommandInvoker(journal);
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            int afterAttack = target.getHealth();
+            invoker.executeCommand(new HealCommand(target, 10));
+            invoker.undoLastCommand();
+
+            assertThat(journal.size()).isEqualTo(3);
+
+            List<Entry> entries = readAll();
+            assertThat(entries).containsExactly(
+                new Entry(CommandJournal.ATTACK, 0, 1, 43, afterAttack),
+                new Entry(CommandJournal.HEAL, CommandJournal.NO_CHARACTER, 1, 10, afterAttack + 10),
+                new Entry(CommandJournal.UNDO, CommandJournal.NO_CHARACTER, 1, 10, afterAttack)
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should span several mapped regions")
+    void shouldSpanRegions() throws IOException {
+        try (CommandJournal journal = CommandJournal.open(file, 4)) {
+            for (int i = 0; i < 50; i++) {
+                journal.append(CommandJournal.ATTACK, 0, 1, i, 100 - i);
+            }
+        }
+
+        List<Entry> entries = readAll();
+        assertThat(entries).hasSize(50);
+        assertThat(entries.get(49)).isEqualTo(new Entry(CommandJournal.ATTACK, 0, 1, 49, 51));
+    }
+
+    @Test
+    @DisplayName("Should continue an existing journal after reopening")
+    void shouldContinueAfterReopen() throws IOException {
+        try (CommandJournal journal = CommandJournal.open(file)) {
+            journal.recordExecuted(new AttackCommand(attacker, target));
+        }
+        try (CommandJournal journal = CommandJournal.open(file)) {
+            assertThat(journal.size()).isEqualTo(1);
+            // Ids from the earlier session are not reused
+            assertThat(journal.idOf(CharacterFactory.createRogue("Newcomer"))).isEqualTo(2);
+            journal.recordExecuted(new HealCommand(target, 5));
+        }
+
+        assertThat(readAll()).extracting(Entry::opcode)
+            .containsExactly(CommandJournal.ATTACK, CommandJournal.HEAL);
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a journal")
+    void shouldRejectForeignFile() throws IOException {
+        Files.writeString(file, "definitely not a command journal");
+
+        assertThatThrownBy(() -> CommandJournalReader.open(file))
+            .isInstanceOf(IOException.class);
+    }
+}
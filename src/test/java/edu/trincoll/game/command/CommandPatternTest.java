@@ -7,6 +7,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Command Pattern Tests")
@@ -374,4 +377,156 @@ class CommandPatternTest {
             assertThat(heal.getDescription()).isNotEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("Memento Undo Tests")
+    class MementoUndoTests {
+
+        private CommandInvoker invoker;
+
+        @BeforeEach
+        void setUp() {
+            invoker = new CommandInvoker();
+        }
+
+        @Test
+        @DisplayName("Should refund mana spent by a magic attack")
+        void shouldRefundMana() {
+            Character mage = CharacterFactory.createMage("Caster");
+            Character warrior = CharacterFactory.createWarrior("Target");
+            int manaBefore = mage.getMana();
+
+            invoker.executeCommand(new AttackCommand(mage, warrior));
+            assertThat(mage.getMana()).isLessThan(manaBefore);
+
+            invoker.undoLastCommand();
+
+            assertThat(mage.getMana()).isEqualTo(manaBefore);
+        }
+
+        @Test
+        @DisplayName("Should bring a killed character back to its exact health")
+        void shouldUndoDeath() {
+            Character warrior = CharacterFactory.createWarrior("Attacker");
+            Character mage = CharacterFactory.createMage("Target");
+            mage.setHealth(5);
+
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            assertThat(mage.isDead()).isTrue();
+
+            invoker.undoLastCommand();
+
+            assertThat(mage.getHealth()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should restore the very snapshot taken before the command")
+        void shouldRestoreSharedSnapshot() {
+            Character warrior = CharacterFactory.createWarrior("Attacker");
+            Character mage = CharacterFactory.createMage("Target");
+            var before = mage.getStats();
+
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            invoker.executeCommand(new HealCommand(mage, 10));
+            invoker.undoLastCommand();
+            invoker.undoLastCommand();
+
+            assertThat(mage.getStats()).isSameAs(before);
+        }
+
+        @Test
+        @DisplayName("Should fall back to undo() for commands without affected characters")
+        void shouldFallBackToCommandUndo() {
+            int[] undone = {0};
+            GameCommand custom = new GameCommand() {
+                @Override
+                public void execute() {
+                }
+
+                @Override
+                public void undo() {
+                    undone[0]++;
+                }
+
+                @Override
+                public String getDescription() {
+                    return "custom";
+                }
+            };
+
+            invoker.executeCommand(custom);
+            invoker.undoLastCommand();
+
+            assertThat(undone[0]).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded History Tests")
+    class BoundedHistoryTests {
+
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            target = CharacterFactory.createWarrior("Target");
+            target.setHealth(50);
+        }
+
+        @Test
+        @DisplayName("Should report history size without copying")
+        void shouldReportHistorySize() {
+            CommandInvoker invoker = new CommandInvoker();
+
+            invoker.executeCommand(new HealCommand(target, 1));
+            invoker.executeCommand(new HealCommand(target, 1));
+            invoker.undoLastCommand();
+
+            assertThat(invoker.historySize()).isEqualTo(1);
+            assertThat(invoker.getCommandHistory()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should keep only the last N commands and spill older ones in order")
+        void shouldSpillOldestCommands() {
+            List<GameCommand> spilled = new ArrayList<>();
+            CommandInvoker invoker = CommandInvoker.builder()
+                .historyLimit(2)
+                .spillTo(spilled::add)
+                .build();
+            GameCommand first = new HealCommand(target, 1);
+            GameCommand second = new HealCommand(target, 2);
+            GameCommand third = new HealCommand(target, 3);
+
+            invoker.executeCommand(first);
+            invoker.executeCommand(second);
+            invoker.executeCommand(third);
+
+            assertThat(spilled).containsExactly(first);
+            assertThat(invoker.getCommandHistory()).containsExactly(second, third);
+        }
+
+        @Test
+        @DisplayName("Should stop undoing at the history limit")
+        void shouldStopUndoingAtLimit() {
+            CommandInvoker invoker = CommandInvoker.builder().historyLimit(2).build();
+
+            for (int i = 0; i < 3; i++) {
+                invoker.executeCommand(new HealCommand(target, 10));
+            }
+            for (int i = 0; i < 3; i++) {
+                invoker.undoLastCommand();
+            }
+
+            assertThat(target.getHealth()).isEqualTo(60);
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject a spill sink without a history limit")
+        void shouldRejectSinkWithoutLimit() {
+            assertThatThrownBy(() -> CommandInvoker.builder().spillTo(command -> {}).build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
 }
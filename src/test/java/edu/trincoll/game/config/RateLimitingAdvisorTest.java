@@ -0,0 +1,47 @@
+package edu.trincoll.game.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitingAdvisor Tests")
+class RateLimitingAdvisorTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static ChatClientResponse responseUsing(int totalTokens) {
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+            .usage(new DefaultUsage(totalTokens, 0, totalTokens))
+            .build();
+        return new ChatClientResponse(new ChatResponse(List.of(), metadata), Map.of());
+    }
+
+    @Test
+    @DisplayName("Should charge the tokens the provider reports, not the estimate")
+    void shouldReconcileWithReportedUsage() {
+        // 600 tokens/min = 10/s, burst of 10; the 12-char prompt estimates 3 + 2 = 5
+        TokenBucket tokens = new TokenBucket(10, 10, now::get);
+        RateLimitingAdvisor advisor = new RateLimitingAdvisor("test",
+            new TokenBucket(100, 100, now::get), tokens, 2);
+        ChatClientRequest request = new ChatClientRequest(new Prompt("attack Conan"), Map.of());
+
+        advisor.adviseCall(request, r -> responseUsing(15));
+
+        // 15 charged from a balance of 10: the next token waits 0.6s
+        assertThat(tokens.reserve(1)).isEqualTo(Duration.ofMillis(600));
+        assertThat(advisor.calls()).isEqualTo(1);
+        assertThat(advisor.throttled()).isZero();
+    }
+}
@@ -0,0 +1,214 @@
+package edu.trincoll.game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.game.player.LLMPlayer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StubChatModel Tests")
+class StubChatModelTest {
+    private static final String PROMPT = """
+        You are Conan, a WARRIOR. Turn 3, round 1.
+        You: Conan,WARRIOR,150/150,0/0,40,20
+        Allies: none
+        Enemies:
+        Legolas,ARCHER,70/100,0/0,30,10,+27
+        Gandalf,MAGE,45/80,100/100,50,5,+35""";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static String text(ChatResponse response) {
+        return response.getResult().getOutput().getText();
+    }
+
+    @Nested
+    @DisplayName("Answers")
+    class Answers {
+
+        @Test
+        @DisplayName("Should answer with a Decision attacking the weakest enemy")
+        void shouldAnswerWithDecision() throws IOException {
+            StubChatModel stub = StubChatModel.builder().build();
+
+            LLMPlayer.Decision decision = mapper.readValue(
+                text(stub.call(new Prompt(PROMPT))), LLMPlayer.Decision.class);
+
+            assertThat(decision.action()).isEqualTo("attack");
+            assertThat(decision.target()).isEqualTo("Gandalf");
+        }
+
+        @Test
+        @DisplayName("Should answer a team prompt with one order per unit")
+        void shouldAnswerTeamPrompt() throws IOException {
+            String prompt = """
+                Round 2. Your units, in turn order:
+                Conan,WARRIOR,150/150,0/0,40,20
+                Merlin,MAGE,80/80,90/100,50,5
+                Allies that already acted: none
+                Enemies:
+                Legolas,ARCHER,70/100,0/0,30,10,+27/+35""";
+
+            String text = StubChatModel.answer(prompt);
+
+            assertThat(mapper.readTree(text).get("orders")).hasSize(2);
+            assertThat(mapper.readTree(text).get("orders").get(1).get("character").asText()).isEqualTo("Merlin");
+            assertThat(mapper.readTree(text).get("orders").get(1).get("target").asText()).isEqualTo("Legolas");
+        }
+
+        @Test
+        @DisplayName("Should report prompt and completion tokens")
+        void shouldReportUsage() {
+            StubChatModel stub = StubChatModel.builder().model("stub-test").completionTokens(40).build();
+
+            ChatResponse response = stub.call(new Prompt(PROMPT));
+
+            assertThat(response.getMetadata().getModel()).isEqualTo("stub-test");
+            assertThat(response.getMetadata().getUsage().getPromptTokens()).isPositive();
+            assertThat(response.getMetadata().getUsage().getCompletionTokens()).isEqualTo(40);
+        }
+
+        @Test
+        @DisplayName("Should stream the same answer in chunks")
+        void shouldStream() {
+            StubChatModel stub = StubChatModel.builder().build();
+            StringBuilder streamed = new StringBuilder();
+            List<ChatResponse> chunks = new ArrayList<>();
+
+            stub.stream(new Prompt(PROMPT)).doOnNext(chunks::add).subscribe(r -> streamed.append(text(r)));
+
+            assertThat(chunks).hasSizeGreaterThan(1);
+            assertThat(streamed.toString()).isEqualTo(StubChatModel.answer(PROMPT));
+            assertThat(chunks.get(chunks.size() - 1).getMetadata().getUsage().getCompletionTokens()).isEqualTo(60);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class Failures {
+
+        @Test
+        @DisplayName("Should fail with a transient error at the error rate")
+        void shouldFail() {
+            StubChatModel stub = StubChatModel.builder().errorRate(1).build();
+
+            assertThatThrownBy(() -> stub.call(new Prompt(PROMPT)))
+                .isInstanceOf(TransientAiException.class);
+            assertThat(stub.errors()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return JSON that does not parse at the malformed rate")
+        void shouldReturnMalformed() {
+            StubChatModel stub = StubChatModel.builder().malformedRate(1).build();
+
+            String text = text(stub.call(new Prompt(PROMPT)));
+
+            assertThatThrownBy(() -> mapper.readValue(text, LLMPlayer.Decision.class))
+                .isInstanceOf(IOException.class);
+            assertThat(stub.malformed()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should mix outcomes in proportion with a seed")
+        void shouldMixOutcomes() {
+            StubChatModel stub = StubChatModel.builder().errorRate(0.2).malformedRate(0.1).seed(7).build();
+
+            for (int i = 0; i < 2000; i++) {
+                try {
+                    stub.call(new Prompt(PROMPT));
+                } catch (TransientAiException e) {
+                    // counted by the stub
+                }
+            }
+
+            assertThat(stub.calls()).isEqualTo(2000);
+            assertThat(stub.errors()).isBetween(340L, 460L);
+            assertThat(stub.malformed()).isBetween(150L, 250L);
+        }
+
+        @Test
+        @DisplayName("Should reject rates that sum past one")
+        void shouldRejectRates() {
+            assertThatThrownBy(() -> StubChatModel.builder().errorRate(0.6).malformedRate(0.6).build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Latency")
+    class Latency {
+        private final SplittableRandom random = new SplittableRandom(1);
+
+        @Test
+        @DisplayName("Should wait the sampled latency before answering")
+        void shouldWait() {
+            StubChatModel stub = StubChatModel.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(50)))
+                .build();
+
+            long start = System.nanoTime();
+            stub.call(new Prompt(PROMPT));
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        }
+
+        @Test
+        @DisplayName("Should center lognormal latency on the median")
+        void shouldCenterLognormal() {
+            LatencyDistribution latency = LatencyDistribution.lognormal(Duration.ofMillis(900), 0.5);
+
+            long[] millis = new long[10_001];
+            for (int i = 0; i < millis.length; i++) {
+                millis[i] = latency.sample(random).toMillis();
+            }
+            Arrays.sort(millis);
+
+            assertThat(millis[5_000]).isBetween(860L, 940L);
+            assertThat(millis[9_500]).isBetween(1900L, 2300L);
+        }
+
+        @Test
+        @DisplayName("Should draw histogram latencies in proportion to their counts")
+        void shouldWeightHistogram() {
+            LatencyDistribution latency = LatencyDistribution.histogram(new long[] {100, 2000}, new long[] {3, 1});
+
+            int slow = 0;
+            for (int i = 0; i < 4000; i++) {
+                long ms = latency.sample(random).toMillis();
+                assertThat(ms).isIn(100L, 2000L);
+                if (ms == 2000) {
+                    slow++;
+                }
+            }
+
+            assertThat(slow).isBetween(900, 1100);
+        }
+
+        @Test
+        @DisplayName("Should read recorded latencies from a file")
+        void shouldReadHistogramFile(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("latencies.txt");
+            Files.writeString(file, "# ms count\n\n250 0\n700\n900 0\n");
+
+            LatencyDistribution latency = LatencyDistribution.histogram(file);
+
+            assertThat(latency.sample(random)).isEqualTo(Duration.ofMillis(700));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.trincoll.game.controller;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.random.GameRandom;
+import edu.trincoll.game.simulation.GameResult;
+import edu.trincoll.game.simulation.HeadlessGameEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SpeculativePrefetcher Tests")
+class SpeculativePrefetcherTest {
+
+    // Rule-based decisions that count calls and may be prefetched
+    private static class SpeculatingRuleBasedPlayer extends RuleBasedPlayer {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public GameCommand decideAction(Character self, List<Character> allies,
+                                        List<Character> enemies, GameState gameState) {
+            calls.incrementAndGet();
+            return super.decideAction(self, allies, enemies, gameState);
+        }
+
+        @Override
+        public boolean supportsSpeculation() {
+            return true;
+        }
+    }
+
+    // Always attacks the healthiest enemy, which the predictor never guesses
+    private static class Contrarian implements Player {
+        private final boolean speculate;
+
+        Contrarian(boolean speculate) {
+            this.speculate = speculate;
+        }
+
+        @Override
+        public GameCommand decideAction(Character self, List<Character> allies,
+                                        List<Character> enemies, GameState gameState) {
+            Character target = enemies.stream()
+                .filter(Character::isAlive)
+                .max(Comparator.comparingInt(Character::getHealth))
+                .orElse(enemies.get(0));
+            return new AttackCommand(self, target);
+        }
+
+        @Override
+        public boolean supportsSpeculation() {
+            return speculate;
+        }
+    }
+
+    private static List<Character> team1() {
+        return List.of(CharacterFactory.createWarrior("Conan"), CharacterFactory.createWarrior("Xena"));
+    }
+
+    private static List<Character> team2() {
+        return List.of(CharacterFactory.createArcher("Legolas"), CharacterFactory.createRogue("Shadow"));
+    }
+
+    private static Map<Character, Player> allPlayedBy(Player player, List<Character> team1, List<Character> team2) {
+        Map<Character, Player> playerMap = new HashMap<>();
+        team1.forEach(c -> playerMap.put(c, player));
+        team2.forEach(c -> playerMap.put(c, player));
+        return playerMap;
+    }
+
+    private static int[] health(List<Character> team) {
+        return team.stream().mapToInt(Character::getHealth).toArray();
+    }
+
+    @Test
+    @DisplayName("Should use every prefetched decision when predictions hold")
+    void shouldUsePrefetchedDecisions() {
+        List<Character> team1 = team1();
+        List<Character> team2 = team2();
+        SpeculatingRuleBasedPlayer player = new SpeculatingRuleBasedPlayer();
+
+        new GameController(team1, team2, allPlayedBy(player, team1, team2)).playGame();
+
+        List<Character> headless1 = team1();
+        List<Character> headless2 = team2();
+        GameResult expected = new HeadlessGameEngine(headless1, headless2,
+            allPlayedBy(new RuleBasedPlayer(), headless1, headless2)).run();
+
+        assertThat(health(team1)).containsExactly(expected.team1Health());
+        assertThat(health(team2)).containsExactly(expected.team2Health());
+        // One decision per turn: nothing was re-issued
+        assertThat(player.calls.get()).isEqualTo(expected.turns());
+    }
+
+    @Test
+    @DisplayName("Should keep predictions hitting once a bounded history is full")
+    void shouldPredictBoundedHistory() {
+        List<Character> team1 = team1();
+        List<Character> team2 = team2();
+        SpeculatingRuleBasedPlayer player = new SpeculatingRuleBasedPlayer();
+
+        new GameController(team1, team2, allPlayedBy(player, team1, team2), GameRandom.unseeded(), null,
+            CommandInvoker.builder().historyLimit(2).build()).playGame();
+
+        List<Character> headless1 = team1();
+        List<Character> headless2 = team2();
+        GameResult expected = new HeadlessGameEngine(headless1, headless2,
+            allPlayedBy(new RuleBasedPlayer(), headless1, headless2)).run();
+
+        // The live history stops growing at 2; a prediction that kept counting would miss every turn after
+        assertThat(player.calls.get()).isEqualTo(expected.turns());
+    }
+
+    @Test
+    @DisplayName("Should re-issue mispredicted decisions and play the same game")
+    void shouldReissueMispredictions() {
+        List<Character> speculative1 = team1();
+        List<Character> speculative2 = team2();
+        new GameController(speculative1, speculative2,
+            allPlayedBy(new Contrarian(true), speculative1, speculative2)).playGame();
+
+        List<Character> sequential1 = team1();
+        List<Character> sequential2 = team2();
+        new GameController(sequential1, sequential2,
+            allPlayedBy(new Contrarian(false), sequential1, sequential2)).playGame();
+
+        assertThat(health(speculative1)).containsExactly(health(sequential1));
+        assertThat(health(speculative2)).containsExactly(health(sequential2));
+    }
+}
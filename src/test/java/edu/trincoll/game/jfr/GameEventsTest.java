@@ -0,0 +1,133 @@
+package edu.trincoll.game.jfr;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.controller.GameController;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.GameState;
+import edu.trincoll.game.player.LLMPlayer;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.random.GameRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JFR Game Event Tests")
+class GameEventsTest {
+
+    @TempDir
+    Path dir;
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = dir.resolve("game.jfr");
+        try (Recording recording = new Recording()) {
+            for (Class<?> type : List.of(TurnEvent.class, CommandEvent.class, LlmCallEvent.class, StrategyEvent.class)) {
+                recording.enable(type.getName());
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    @DisplayName("Should record every turn, command and strategy of a game")
+    void shouldRecordGame() throws IOException {
+        Character conan = CharacterFactory.createWarrior("Conan");
+        Character xena = CharacterFactory.createWarrior("Xena");
+        Character legolas = CharacterFactory.createArcher("Legolas");
+        Character shadow = CharacterFactory.createRogue("Shadow");
+        Player player = new RuleBasedPlayer();
+        Map<Character, Player> playerMap = new HashMap<>();
+        for (Character c : List.of(conan, xena, legolas, shadow)) {
+            playerMap.put(c, player);
+        }
+
+        List<RecordedEvent> events = record(() -> new GameController(
+            List.of(conan, xena), List.of(legolas, shadow), playerMap, new GameRandom(7)).playGame());
+
+        List<RecordedEvent> turns = named(events, "edu.trincoll.game.Turn");
+        List<RecordedEvent> commands = named(events, "edu.trincoll.game.Command");
+        assertThat(turns).isNotEmpty().hasSameSizeAs(commands);
+        assertThat(turns.get(0).getString("playerType")).isEqualTo("RuleBasedPlayer");
+        assertThat(turns.get(0).getInt("round")).isEqualTo(1);
+
+        long attacks = commands.stream().filter(e -> e.getString("commandType").equals("AttackCommand")).count();
+        assertThat(commands).anyMatch(e -> e.getInt("damage") > 0);
+        assertThat(named(events, "edu.trincoll.game.Strategy"))
+            .hasSize((int) attacks)
+            .allMatch(e -> e.getInt("damage") > 0);
+    }
+
+    @Test
+    @DisplayName("Should time a stepwise turn from its start, decision included")
+    void shouldIncludeDecisionInStepwiseTurn() throws IOException {
+        Character conan = CharacterFactory.createWarrior("Conan");
+        Character shadow = CharacterFactory.createRogue("Shadow");
+        Player slow = new RuleBasedPlayer() {
+            @Override
+            public GameCommand decideAction(Character self, List<Character> allies,
+                                            List<Character> enemies, GameState gameState) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.decideAction(self, allies, enemies, gameState);
+            }
+        };
+        GameController controller = new GameController(
+            List.of(conan), List.of(shadow), Map.of(conan, slow, shadow, slow), new GameRandom(7));
+
+        // As the game server plays a turn
+        List<RecordedEvent> events = record(() -> {
+            controller.currentCharacter();
+            controller.playTurn(controller.decideTurn());
+        });
+
+        List<RecordedEvent> turns = named(events, "edu.trincoll.game.Turn");
+        assertThat(turns).hasSize(1);
+        assertThat(turns.get(0).getString("character")).isEqualTo("Conan");
+        assertThat(turns.get(0).getDuration().toMillis()).isGreaterThanOrEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("Should record an LLM call that fell back, with its outcome")
+    void shouldRecordLlmFallback() throws IOException {
+        // No ChatClient: the call fails and the player falls back
+        LLMPlayer player = new LLMPlayer(null, "offline");
+        Character conan = CharacterFactory.createWarrior("Conan");
+        List<Character> enemies = List.of(CharacterFactory.createRogue("Shadow"));
+
+        List<RecordedEvent> events = record(() ->
+            player.decideAction(conan, List.of(conan), enemies, GameState.initial()));
+
+        List<RecordedEvent> calls = named(events, "edu.trincoll.game.LlmCall");
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).getString("model")).isEqualTo("offline");
+        assertThat(calls.get(0).getString("outcome")).isEqualTo("error");
+        assertThat(calls.get(0).getBoolean("fallbackUsed")).isTrue();
+        assertThat(calls.get(0).getInt("promptChars")).isPositive();
+        // The prompt's damage estimate runs a strategy on a copy, which is no attack
+        assertThat(named(events, "edu.trincoll.game.Strategy")).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package edu.trincoll.game.metrics;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.controller.GameController;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.random.GameRandom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameMetrics Tests")
+class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameMetrics metrics = new GameMetrics(registry);
+
+    // A rule-based player that reports a model, as LLM players do
+    private static class ModelPlayer extends RuleBasedPlayer {
+        @Override
+        public String modelName() {
+            return "GPT-5";
+        }
+    }
+
+    @Test
+    @DisplayName("Should time decisions by player class and model")
+    void shouldTagDecisions() {
+        metrics.recordDecision(new RuleBasedPlayer(), 1_000);
+        metrics.recordDecision(new ModelPlayer(), 2_000_000);
+        metrics.recordDecision(new ModelPlayer(), 3_000_000);
+
+        assertThat(registry.timer(GameMetrics.DECISION, "player", "RuleBasedPlayer", "model", "none").count())
+            .isEqualTo(1);
+        assertThat(registry.timer(GameMetrics.DECISION, "player", "ModelPlayer", "model", "GPT-5").count())
+            .isEqualTo(2);
+        assertThat(registry.timer(GameMetrics.DECISION, "player", "ModelPlayer", "model", "GPT-5")
+            .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should time commands by command type")
+    void shouldTagCommands() {
+        Character conan = CharacterFactory.createWarrior("Conan");
+        Character shadow = CharacterFactory.createRogue("Shadow");
+
+        metrics.recordCommand(new AttackCommand(conan, shadow), 500);
+        metrics.recordCommand(new AttackCommand(shadow, conan), 500);
+        metrics.recordCommand(new HealCommand(conan, 30), 500);
+
+        assertThat(registry.timer(GameMetrics.COMMAND, "command", "AttackCommand").count()).isEqualTo(2);
+        assertThat(registry.timer(GameMetrics.COMMAND, "command", "HealCommand").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count fallbacks by model and reason")
+    void shouldCountFallbacks() {
+        metrics.recordFallback("GPT-5", "timeout");
+        metrics.recordFallback("GPT-5", "timeout");
+        metrics.recordFallback("GPT-5", "error");
+
+        assertThat(registry.counter(GameMetrics.FALLBACKS, "model", "GPT-5", "reason", "timeout").count())
+            .isEqualTo(2);
+        assertThat(registry.counter(GameMetrics.FALLBACKS, "model", "GPT-5", "reason", "error").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time every turn and round of a controller game")
+    void shouldInstrumentController() {
+        Character conan = CharacterFactory.createWarrior("Conan");
+        Character xena = CharacterFactory.createWarrior("Xena");
+        Character legolas = CharacterFactory.createArcher("Legolas");
+        Character shadow = CharacterFactory.createRogue("Shadow");
+        Player player = new RuleBasedPlayer();
+        Map<Character, Player> playerMap = new HashMap<>();
+        for (Character c : List.of(conan, xena, legolas, shadow)) {
+            playerMap.put(c, player);
+        }
+
+        new GameController(List.of(conan, xena), List.of(legolas, shadow), playerMap,
+            new GameRandom(42), metrics).playGame();
+
+        long decisions = registry.timer(GameMetrics.DECISION, "player", "RuleBasedPlayer", "model", "none").count();
+        long attacks = registry.timer(GameMetrics.COMMAND, "command", "AttackCommand").count();
+        long heals = registry.timer(GameMetrics.COMMAND, "command", "HealCommand").count();
+        assertThat(decisions).isPositive().isEqualTo(attacks + heals);
+        assertThat(registry.timer(GameMetrics.ROUND).count()).isBetween(1L, decisions);
+    }
+}
@@ -246,6 +246,68 @@ class CharacterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stat Block and Snapshots")
+    class StatBlock {
+
+        @Test
+        @DisplayName("Should expose primitive stats matching the snapshot")
+        void shouldExposePrimitiveStats() {
+            Character mage = new Character("Gandalf", CharacterType.MAGE,
+                mageStats, meleeStrategy, standardDefenseStrategy);
+
+            assertThat(mage.getHealth()).isEqualTo(mage.getStats().health());
+            assertThat(mage.getMaxHealth()).isEqualTo(80);
+            assertThat(mage.getAttackPower()).isEqualTo(60);
+            assertThat(mage.getDefense()).isEqualTo(10);
+            assertThat(mage.getMana()).isEqualTo(100);
+            assertThat(mage.getMaxMana()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should reuse the snapshot until stats change")
+        void shouldReuseSnapshotUntilChange() {
+            Character warrior = new Character("Conan", CharacterType.WARRIOR,
+                warriorStats, meleeStrategy, heavyArmorStrategy);
+
+            CharacterStats before = warrior.getStats();
+            assertThat(warrior.getStats()).isSameAs(before);
+
+            warrior.takeDamage(100);
+
+            CharacterStats after = warrior.getStats();
+            assertThat(after).isNotSameAs(before);
+            assertThat(after.health()).isEqualTo(80); // 100 - min(30, 75) = 70 damage
+            assertThat(before.health()).isEqualTo(150); // Old snapshot is unchanged
+        }
+
+        @Test
+        @DisplayName("Should clamp health to zero on lethal damage")
+        void shouldClampHealthToZero() {
+            Character mage = new Character("Gandalf", CharacterType.MAGE,
+                mageStats, meleeStrategy, standardDefenseStrategy);
+
+            mage.takeDamage(500);
+
+            assertThat(mage.getHealth()).isZero();
+            assertThat(mage.getStats().health()).isZero();
+            assertThat(mage.isDead()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should clamp set health within bounds")
+        void shouldClampSetHealth() {
+            Character warrior = new Character("Conan", CharacterType.WARRIOR,
+                warriorStats, meleeStrategy, heavyArmorStrategy);
+
+            warrior.setHealth(-20);
+            assertThat(warrior.getHealth()).isZero();
+
+            warrior.setHealth(999);
+            assertThat(warrior.getHealth()).isEqualTo(150);
+        }
+    }
+
     @Nested
     @DisplayName("Equals and HashCode")
     class EqualsAndHashCode {
@@ -0,0 +1,141 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(30), now::get);
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            CircuitBreaker.Permit permit = breaker.tryAcquire();
+            assertThat(permit).isNotNull();
+            breaker.recordFailure(permit);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay closed below the minimum number of calls")
+    void shouldWaitForMinimumCalls() {
+        fail(1);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should open at the failure rate and refuse calls")
+    void shouldOpenAtFailureRate() {
+        breaker.recordSuccess(breaker.tryAcquire());
+        fail(1);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget failures that slid out of the window")
+    void shouldSlideWindow() {
+        CircuitBreaker wide = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), now::get);
+        wide.recordFailure(wide.tryAcquire());
+        for (int i = 0; i < 4; i++) {
+            wide.recordSuccess(wide.tryAcquire());
+        }
+        wide.recordFailure(wide.tryAcquire());
+
+        assertThat(wide.failureRate()).isEqualTo(0.25);
+        assertThat(wide.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should let one trial call through after the open duration")
+    void shouldHalfOpen() {
+        fail(2);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+        assertThat(trial).isNotNull();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        breaker.recordSuccess(trial);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should let only the trial's own permit settle a half-open breaker")
+    void shouldIgnoreStalePermits() {
+        CircuitBreaker.Permit slow = breaker.tryAcquire();
+        fail(2);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        // Admitted before the breaker opened: neither closes it nor frees the trial slot
+        breaker.recordSuccess(slow);
+        breaker.release(slow);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        breaker.release(trial);
+        assertThat(breaker.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should count each permit's outcome once")
+    void shouldSettlePermitOnce() {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+
+        breaker.recordFailure(permit);
+        breaker.recordFailure(permit);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reopen when the trial call fails")
+    void shouldReopenOnFailedTrial() {
+        fail(2);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        fail(1);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.opened()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should share one breaker per model name")
+    void shouldShareBreakerPerModel() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(4, 2, 0.5, Duration.ofSeconds(30));
+
+        assertThat(registry.forModel("GPT-5")).isSameAs(registry.forModel("GPT-5"));
+        assertThat(registry.forModel("GPT-5")).isNotSameAs(registry.forModel("Claude"));
+        assertThat(registry.breakers()).containsOnlyKeys("Claude", "GPT-5");
+    }
+
+    @Test
+    @DisplayName("Should show listeners every breaker, created before or after, once")
+    void shouldNotifyBreakerListeners() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(4, 2, 0.5, Duration.ofSeconds(30));
+        List<String> seen = new ArrayList<>();
+        registry.forModel("GPT-5");
+
+        registry.forEachBreaker((model, breaker) -> seen.add(model));
+        registry.forModel("Claude");
+        registry.forModel("Claude");
+
+        assertThat(seen).containsExactly("GPT-5", "Claude");
+    }
+}
@@ -0,0 +1,110 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CompactPromptRenderer Tests")
+class CompactPromptRendererTest {
+
+    private final CompactPromptRenderer renderer = new CompactPromptRenderer();
+
+    private Character self;
+    private Character woundedAlly;
+    private Character deadAlly;
+    private List<Character> allies;
+    private List<Character> enemies;
+
+    @BeforeEach
+    void setUp() {
+        self = CharacterFactory.createWarrior("Conan");
+        woundedAlly = CharacterFactory.createArcher("Legolas");
+        woundedAlly.setHealth(15);
+        deadAlly = CharacterFactory.createRogue("Ghost");
+        deadAlly.setHealth(0);
+        allies = List.of(self, woundedAlly, deadAlly);
+        enemies = List.of(CharacterFactory.createRogue("Shadow"), CharacterFactory.createMage("Saruman"));
+    }
+
+    @Test
+    @DisplayName("Should list living units with their stats and damage estimates")
+    void shouldListLivingUnits() {
+        String prompt = renderer.render(self, allies, enemies, GameState.initial());
+
+        assertThat(prompt)
+            .contains("You: Conan,WARRIOR,150/150,0/0,40,30")
+            .contains("Legolas,ARCHER,15/100,20/20,50,15")
+            .contains("Saruman,MAGE,80/80,100/100,60,10,+43")
+            .contains("Turn 1, round 1");
+    }
+
+    @Test
+    @DisplayName("Should drop dead units and list self only once")
+    void shouldDropDeadUnits() {
+        String prompt = renderer.render(self, allies, enemies, GameState.initial());
+
+        assertThat(prompt).doesNotContain("Ghost");
+        assertThat(prompt.indexOf("Conan,WARRIOR")).isEqualTo(prompt.lastIndexOf("Conan,WARRIOR"));
+    }
+
+    @Test
+    @DisplayName("Should leave the response format to entity(Decision.class)")
+    void shouldOmitJsonSpec() {
+        String prompt = renderer.render(self, allies, enemies, GameState.initial());
+
+        assertThat(prompt).doesNotContain("JSON").doesNotContain("\"action\"");
+    }
+
+    @Test
+    @DisplayName("Should be at least 40% smaller than the verbose prompt")
+    void shouldBeMuchSmallerThanVerbosePrompt() {
+        String verbose = new LLMPlayer(null, "test").buildPrompt(self, allies, enemies, GameState.initial());
+        String compact = renderer.render(self, allies, enemies, GameState.initial());
+
+        assertThat(PromptStats.estimateTokens(compact))
+            .isLessThanOrEqualTo(PromptStats.estimateTokens(verbose) * 6 / 10);
+    }
+
+    @Test
+    @DisplayName("Should keep rules and roles in a system prompt shared by every turn")
+    void shouldShareSystemPrompt() {
+        String system = renderer.systemPrompt();
+        GameState later = GameState.initial().nextRound().nextTurn();
+
+        assertThat(system).contains("WARRIOR").contains("MAGE").contains("ARCHER").contains("ROGUE");
+        assertThat(new CompactPromptRenderer().systemPrompt()).isEqualTo(system);
+        assertThat(renderer.render(self, allies, enemies, later))
+            .doesNotContain("Roles")
+            .contains("Turn 2, round 2");
+    }
+
+    @Test
+    @DisplayName("Should not spend mana while estimating damage")
+    void shouldNotSpendMana() {
+        Character mage = CharacterFactory.createMage("Gandalf");
+
+        renderer.render(mage, List.of(mage), enemies, GameState.initial());
+
+        assertThat(mage.getMana()).isEqualTo(mage.getMaxMana());
+    }
+
+    @Test
+    @DisplayName("Should track prompt sizes")
+    void shouldTrackPromptSizes() {
+        PromptStats stats = new PromptStats();
+
+        stats.record("12345678");
+        stats.record("1234");
+
+        assertThat(stats.prompts()).isEqualTo(2);
+        assertThat(stats.chars()).isEqualTo(12);
+        assertThat(stats.estimatedTokens()).isEqualTo(3);
+        assertThat(stats.averageTokens()).isEqualTo(1.5);
+    }
+}
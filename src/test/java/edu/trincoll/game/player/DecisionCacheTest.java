@@ -0,0 +1,129 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DecisionCache Tests")
+class DecisionCacheTest {
+
+    private static final LLMPlayer.Decision ATTACK = new LLMPlayer.Decision("attack", "Enemy", "weakest");
+
+    private long now;
+    private DecisionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        cache = new DecisionCache(2, Duration.ofSeconds(10), () -> now);
+    }
+
+    @Nested
+    @DisplayName("Canonical Keys")
+    class CanonicalKeys {
+
+        private Character self;
+        private Character ally;
+        private Character enemy;
+
+        @BeforeEach
+        void setUp() {
+            self = CharacterFactory.createArcher("Self");
+            ally = CharacterFactory.createMage("Ally");
+            enemy = CharacterFactory.createWarrior("Enemy");
+        }
+
+        private String key() {
+            return DecisionCache.key("GPT-5", self, List.of(self, ally), List.of(enemy), GameState.initial());
+        }
+
+        @Test
+        @DisplayName("Should give identical boards the same key")
+        void shouldMatchIdenticalBoards() {
+            String first = key();
+
+            self = CharacterFactory.createArcher("Self");
+            ally = CharacterFactory.createMage("Ally");
+            enemy = CharacterFactory.createWarrior("Enemy");
+
+            assertThat(key()).isEqualTo(first);
+        }
+
+        @Test
+        @DisplayName("Should distinguish boards that differ in any stat")
+        void shouldDistinguishDifferentBoards() {
+            String before = key();
+            enemy.setHealth(100);
+
+            assertThat(key()).isNotEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Should distinguish models and turns")
+        void shouldDistinguishModelsAndTurns() {
+            String gpt = key();
+
+            assertThat(DecisionCache.key("Claude", self, List.of(self, ally), List.of(enemy), GameState.initial()))
+                .isNotEqualTo(gpt);
+            assertThat(DecisionCache.key("GPT-5", self, List.of(self, ally), List.of(enemy),
+                GameState.initial().nextTurn()))
+                .isNotEqualTo(gpt);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("Should count hits and misses")
+        void shouldCountHitsAndMisses() {
+            assertThat(cache.get("a")).isNull();
+            cache.put("a", ATTACK);
+
+            assertThat(cache.get("a")).isEqualTo(ATTACK);
+            assertThat(cache.hits()).isEqualTo(1);
+            assertThat(cache.misses()).isEqualTo(1);
+            assertThat(cache.hitRate()).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void shouldEvictLeastRecentlyUsed() {
+            cache.put("a", ATTACK);
+            cache.put("b", ATTACK);
+            cache.get("a");
+            cache.put("c", ATTACK);
+
+            assertThat(cache.get("b")).isNull();
+            assertThat(cache.get("a")).isNotNull();
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.evictions()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should expire entries after the TTL")
+        void shouldExpireEntries() {
+            cache.put("a", ATTACK);
+            now += Duration.ofSeconds(11).toNanos();
+
+            assertThat(cache.get("a")).isNull();
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject a non-positive size")
+        void shouldRejectInvalidSize() {
+            assertThatThrownBy(() -> new DecisionCache(0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
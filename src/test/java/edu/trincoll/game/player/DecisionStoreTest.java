@@ -0,0 +1,109 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DecisionStore Tests")
+class DecisionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("decisions.store");
+    }
+
+    private static LLMPlayer.Decision attack(String target) {
+        return new LLMPlayer.Decision("attack", target, "focus fire");
+    }
+
+    @Test
+    @DisplayName("Should answer a repeat prompt after a restart")
+    void shouldSurviveRestart() throws IOException {
+        try (DecisionStore store = DecisionStore.open(file, 1 << 20)) {
+            store.put("GPT-5", "prompt one", attack("Orc"));
+            store.put("GPT-5", "prompt two", new LLMPlayer.Decision("heal", "Cleric", null));
+        }
+
+        try (DecisionStore store = DecisionStore.open(file, 1 << 20)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("GPT-5", "prompt one")).isEqualTo(attack("Orc"));
+            assertThat(store.get("GPT-5", "prompt two").reasoning()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should key by model as well as prompt")
+    void shouldKeyByModel() throws IOException {
+        try (DecisionStore store = DecisionStore.open(file, 1 << 20)) {
+            store.put("GPT-5", "same prompt", attack("Orc"));
+
+            assertThat(store.get("Claude", "same prompt")).isNull();
+            assertThat(store.get("GPT-5", "other prompt")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest decision and drop dead records on compaction")
+    void shouldCompactReplacedDecisions() throws IOException {
+        try (DecisionStore store = DecisionStore.open(file, 1 << 20)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("GPT-5", "prompt", attack("Target " + i));
+            }
+            long before = store.usedBytes();
+
+            store.compact();
+
+            assertThat(store.usedBytes()).isLessThan(before);
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get("GPT-5", "prompt")).isEqualTo(attack("Target 99"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay within its size cap by dropping the oldest decisions")
+    void shouldRespectSizeCap() throws IOException {
+        try (DecisionStore store = DecisionStore.open(file, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                store.put("GPT-5", "prompt " + i, attack("Orc"));
+            }
+
+            assertThat(store.compactions()).isPositive();
+            assertThat(store.usedBytes()).isLessThanOrEqualTo(4096);
+            assertThat(store.get("GPT-5", "prompt 199")).isNotNull();
+            assertThat(store.get("GPT-5", "prompt 0")).isNull();
+        }
+        assertThat(Files.size(file)).isLessThanOrEqualTo(4096);
+    }
+
+    @Test
+    @DisplayName("Should skip a decision too large for the store")
+    void shouldSkipOversizeDecision() throws IOException {
+        try (DecisionStore store = DecisionStore.open(file, 4096)) {
+            store.put("GPT-5", "prompt", new LLMPlayer.Decision("attack", "Orc", "x".repeat(4096)));
+
+            assertThat(store.size()).isZero();
+            assertThat(store.get("GPT-5", "prompt")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a decision store")
+    void shouldRejectForeignFile() throws IOException {
+        Files.writeString(file, "definitely not a decision store");
+
+        assertThatThrownBy(() -> DecisionStore.open(file, 4096))
+            .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,131 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HedgePolicy Tests")
+class HedgePolicyTest {
+
+    // Answers after a delay; counts down when interrupted (i.e. cancelled)
+    private static Callable<String> answerAfter(long millis, String answer, CountDownLatch cancelled) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+                return answer;
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                throw e;
+            }
+        };
+    }
+
+    private static HedgePolicy policy(Duration deadline) {
+        return HedgePolicy.builder().deadline(deadline).build();
+    }
+
+    @Nested
+    @DisplayName("Hedging")
+    class HedgingTests {
+
+        @Test
+        @DisplayName("Should not hedge a fast primary")
+        void shouldNotHedgeFastPrimary() throws Exception {
+            HedgePolicy hedge = policy(Duration.ofSeconds(5));
+
+            String answer = hedge.call(() -> "primary", () -> "secondary");
+
+            assertThat(answer).isEqualTo("primary");
+            assertThat(hedge.hedges()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should let a faster secondary win and cancel the primary")
+        void shouldCancelSlowPrimary() throws Exception {
+            HedgePolicy hedge = policy(Duration.ofSeconds(2));
+            CountDownLatch cancelled = new CountDownLatch(1);
+
+            String answer = hedge.call(answerAfter(10_000, "primary", cancelled), () -> "secondary");
+
+            assertThat(answer).isEqualTo("secondary");
+            assertThat(hedge.secondaryWins()).isEqualTo(1);
+            assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should hedge a failed primary at once")
+        void shouldHedgeFailedPrimary() throws Exception {
+            HedgePolicy hedge = policy(Duration.ofSeconds(60));
+            long start = System.nanoTime();
+
+            String answer = hedge.call(() -> { throw new IllegalStateException("down"); }, () -> "secondary");
+
+            assertThat(answer).isEqualTo("secondary");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        }
+
+        @Test
+        @DisplayName("Should hedge at the percentile of recent primary latency")
+        void shouldHedgeAtPercentile() throws Exception {
+            LatencyTracker latency = new LatencyTracker(10);
+            for (int i = 1; i <= 10; i++) {
+                latency.record(Duration.ofMillis(i * 10));
+            }
+            HedgePolicy hedge = HedgePolicy.builder()
+                .deadline(Duration.ofSeconds(10))
+                .percentile(0.9)
+                .primaryLatency(latency)
+                .build();
+
+            assertThat(hedge.hedgeDelay()).isEqualTo(Duration.ofMillis(90));
+        }
+    }
+
+    @Nested
+    @DisplayName("Deadline")
+    class DeadlineTests {
+
+        @Test
+        @DisplayName("Should time out when no call answers within the deadline")
+        void shouldTimeOut() {
+            HedgePolicy hedge = policy(Duration.ofMillis(200));
+            CountDownLatch cancelled = new CountDownLatch(2);
+            long start = System.nanoTime();
+
+            assertThatThrownBy(() -> hedge.call(
+                answerAfter(10_000, "primary", cancelled),
+                answerAfter(10_000, "secondary", cancelled)))
+                .isInstanceOf(TimeoutException.class);
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+            assertThat(hedge.timeouts()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should report the failure when every call fails")
+        void shouldReportFailure() {
+            HedgePolicy hedge = policy(Duration.ofSeconds(5));
+
+            assertThatThrownBy(() -> hedge.call(
+                () -> { throw new IllegalStateException("primary down"); },
+                () -> { throw new IllegalStateException("secondary down"); }))
+                .isInstanceOf(ExecutionException.class);
+        }
+
+        @Test
+        @DisplayName("Should require a positive deadline")
+        void shouldRequireDeadline() {
+            assertThatThrownBy(() -> HedgePolicy.builder().build())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IncrementalDecisionParser Tests")
+class IncrementalDecisionParserTest {
+
+    private final IncrementalDecisionParser parser = new IncrementalDecisionParser();
+
+    private void feedEachChar(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            parser.feed(json.substring(i, i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should be decided as soon as target closes, before any reasoning")
+    void shouldDecideBeforeReasoning() {
+        parser.feed("{\"action\": \"attack\", \"tar");
+        assertThat(parser.isDecided()).isFalse();
+
+        parser.feed("get\": \"Saruman\", \"reasoning\": \"He is the most dan");
+
+        assertThat(parser.isDecided()).isTrue();
+        assertThat(parser.isComplete()).isFalse();
+        assertThat(parser.decision()).isEqualTo(new LLMPlayer.Decision("attack", "Saruman", null));
+    }
+
+    @Test
+    @DisplayName("Should parse a complete object split at every character")
+    void shouldParseCharByChar() {
+        feedEachChar("{\"action\":\"heal\",\"target\":\"Legolas\",\"reasoning\":\"Low HP\"}");
+
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(parser.decision()).isEqualTo(new LLMPlayer.Decision("heal", "Legolas", "Low HP"));
+    }
+
+    @Test
+    @DisplayName("Should decode escapes, including split unicode escapes")
+    void shouldDecodeEscapes() {
+        feedEachChar("{\"target\":\"Sh\\u0061dow \\\"the\\\" Rogue\",\"action\":\"attack\"}");
+
+        assertThat(parser.decision().target()).isEqualTo("Shadow \"the\" Rogue");
+    }
+
+    @Test
+    @DisplayName("Should skip a markdown fence and values that are not strings")
+    void shouldSkipNoise() {
+        parser.feed("```json\n{\"confidence\": 0.9, \"alternatives\": [\"heal\", {\"x\": \"}\"}], ");
+        parser.feed("\"action\": \"attack\", \"target\": \"Conan\"}\n```");
+
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(parser.decision()).isEqualTo(new LLMPlayer.Decision("attack", "Conan", null));
+    }
+
+    @Test
+    @DisplayName("Should stay undecided when the stream ends early")
+    void shouldStayUndecided() {
+        parser.feed("{\"action\": \"attack\"");
+
+        assertThat(parser.isDecided()).isFalse();
+        assertThat(parser.decision().target()).isNull();
+    }
+}
@@ -0,0 +1,324 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.config.LatencyDistribution;
+import edu.trincoll.game.config.StubChatModel;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives LLMPlayer through a real ChatClient over a StubChatModel, with the
+ * stub's latency and error rate set per case.
+ */
+@DisplayName("LLMPlayer Tests")
+class LLMPlayerTest {
+
+    private Character conan;
+    private List<Character> allies;
+    private List<Character> enemies;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        conan = CharacterFactory.createWarrior("Conan");
+        allies = List.of(conan);
+        enemies = List.of(CharacterFactory.createRogue("Shadow"), CharacterFactory.createMage("Saruman"));
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static StubChatModel stub(String model, long latencyMillis, double errorRate) {
+        return StubChatModel.builder()
+            .model(model)
+            .latency(LatencyDistribution.fixed(Duration.ofMillis(latencyMillis)))
+            .errorRate(errorRate)
+            .build();
+    }
+
+    private LLMPlayer.Builder player(StubChatModel primary) {
+        return LLMPlayer.builder()
+            .chatClient(ChatClient.builder(primary).build())
+            .modelName(primary.model())
+            .promptRenderer(new CompactPromptRenderer())
+            .metrics(new GameMetrics(registry));
+    }
+
+    // Hedges after about 10ms, once the policy has seen enough primary calls
+    private static HedgePolicy hedgeAfter10ms(Duration deadline) {
+        LatencyTracker latency = new LatencyTracker(100);
+        for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+            latency.record(Duration.ofMillis(10));
+        }
+        return HedgePolicy.builder().deadline(deadline).primaryLatency(latency).build();
+    }
+
+    private static void open(CircuitBreaker breaker) {
+        breaker.recordFailure(breaker.tryAcquire());
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private GameCommand decide(LLMPlayer player) {
+        return player.decideAction(conan, allies, enemies, GameState.initial());
+    }
+
+    private double fallbacks(String model, String reason) {
+        return registry.counter(GameMetrics.FALLBACKS, "model", model, "reason", reason).count();
+    }
+
+    @Nested
+    @DisplayName("Circuit breakers and the deadline")
+    class BreakerTests {
+
+        @Test
+        @DisplayName("Should give the losing leg's permit back without a verdict")
+        void shouldReleaseLosingLeg() throws InterruptedException {
+            CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(1, 1, 0.5, Duration.ofMillis(1));
+            open(breakers.forModel("slow"));
+            Thread.sleep(5);
+            StubChatModel slow = stub("slow", 2_000, 0);
+            StubChatModel fast = stub("fast", 0, 0);
+            LLMPlayer player = player(slow)
+                .hedge(hedgeAfter10ms(Duration.ofSeconds(5)), ChatClient.builder(fast).build(), "fast")
+                .circuitBreakers(breakers)
+                .build();
+
+            GameCommand command = decide(player);
+
+            // The slow primary took the half-open trial; losing must neither fail nor keep it
+            assertThat(command).isInstanceOf(AttackCommand.class);
+            assertThat(fast.calls()).isEqualTo(1);
+            assertThat(breakers.forModel("slow").state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+            assertThat(breakers.forModel("slow").tryAcquire()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should count a leg cut off by the deadline as failed")
+        void shouldFailLegAtDeadline() {
+            CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(1, 1, 0.5, Duration.ofSeconds(30));
+            LLMPlayer player = player(stub("slow", 2_000, 0))
+                .hedge(HedgePolicy.builder().deadline(Duration.ofMillis(50)).build(), null, null)
+                .circuitBreakers(breakers)
+                .build();
+
+            GameCommand command = decide(player);
+
+            assertThat(command).isNotNull();
+            assertThat(fallbacks("slow", "timeout")).isEqualTo(1.0);
+            assertThat(breakers.forModel("slow").state()).isEqualTo(CircuitBreaker.State.OPEN);
+        }
+
+        @Test
+        @DisplayName("Should not leak a permit to a leg that starts once the call is over")
+        void shouldNotLeakLatePermits() throws InterruptedException {
+            // The primary answers about when the hedge fires, so the secondary races the end of
+            // the call; it always fails, keeping its breaker cycling through one half-open trial,
+            // so a single leaked permit would refuse it for good
+            CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(1, 1, 0.5, Duration.ofMillis(1));
+            StubChatModel primary = stub("primary", 10, 0);
+            StubChatModel secondary = stub("secondary", 0, 1.0);
+            LLMPlayer player = player(primary)
+                .hedge(hedgeAfter10ms(Duration.ofSeconds(5)), ChatClient.builder(secondary).build(), "secondary")
+                .circuitBreakers(breakers)
+                .build();
+
+            for (int i = 0; i < 50; i++) {
+                assertThat(decide(player)).isInstanceOf(AttackCommand.class);
+            }
+            Thread.sleep(5);
+
+            assertThat(fallbacks("primary", "error")).isZero();
+            assertThat(breakers.forModel("secondary").tryAcquire()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should skip a model whose breaker is open in favour of the secondary")
+        void shouldSkipOpenPrimary() {
+            CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(1, 1, 0.5, Duration.ofSeconds(30));
+            open(breakers.forModel("primary"));
+            StubChatModel primary = stub("primary", 0, 0);
+            StubChatModel secondary = stub("secondary", 0, 0);
+            LLMPlayer player = player(primary)
+                .hedge(HedgePolicy.builder().deadline(Duration.ofSeconds(5)).build(),
+                    ChatClient.builder(secondary).build(), "secondary")
+                .circuitBreakers(breakers)
+                .build();
+
+            GameCommand command = decide(player);
+
+            assertThat(command).isInstanceOf(AttackCommand.class);
+            assertThat(primary.calls()).isZero();
+            assertThat(secondary.calls()).isEqualTo(1);
+            assertThat(fallbacks("primary", "circuit-open")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should fall back as circuit-open only when every breaker refuses")
+        void shouldFallBackWhenEveryBreakerRefuses() {
+            CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(1, 1, 0.5, Duration.ofSeconds(30));
+            open(breakers.forModel("primary"));
+            open(breakers.forModel("secondary"));
+            StubChatModel primary = stub("primary", 0, 0);
+            StubChatModel secondary = stub("secondary", 0, 0);
+            LLMPlayer player = player(primary)
+                .hedge(HedgePolicy.builder().deadline(Duration.ofSeconds(5)).build(),
+                    ChatClient.builder(secondary).build(), "secondary")
+                .circuitBreakers(breakers)
+                .build();
+
+            GameCommand command = decide(player);
+
+            assertThat(command).isNotNull();
+            assertThat(primary.calls() + secondary.calls()).isZero();
+            assertThat(fallbacks("primary", "circuit-open")).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Retries")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should retry transient errors up to the budget's attempts")
+        void shouldRetryTransientErrors() {
+            StubChatModel failing = stub("failing", 0, 1.0);
+            RetryBudget budget = new RetryBudget(0.1, 10, 3, Duration.ofMillis(1), Duration.ofMillis(1));
+            LLMPlayer player = player(failing).retryBudget(budget).build();
+
+            GameCommand command = decide(player);
+
+            assertThat(command).isNotNull();
+            assertThat(failing.calls()).isEqualTo(3);
+            assertThat(budget.retries()).isEqualTo(2);
+            assertThat(fallbacks("failing", "error")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should make one attempt without a retry budget")
+        void shouldNotRetryWithoutBudget() {
+            StubChatModel failing = stub("failing", 0, 1.0);
+            LLMPlayer player = player(failing).build();
+
+            decide(player);
+
+            assertThat(failing.calls()).isEqualTo(1);
+            assertThat(fallbacks("failing", "error")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should not retry a call that missed the deadline")
+        void shouldNotRetryTimeout() {
+            StubChatModel slow = stub("slow", 2_000, 0);
+            RetryBudget budget = new RetryBudget(0.1, 10, 3, Duration.ofMillis(1), Duration.ofMillis(1));
+            LLMPlayer player = player(slow)
+                .hedge(HedgePolicy.builder().deadline(Duration.ofMillis(50)).build(), null, null)
+                .retryBudget(budget)
+                .build();
+
+            decide(player);
+
+            assertThat(slow.calls()).isEqualTo(1);
+            assertThat(budget.retries()).isZero();
+            assertThat(fallbacks("slow", "timeout")).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class StreamingTests {
+        private final TokenUsageLedger ledger = new TokenUsageLedger(
+            new PriceTable(List.of(new PriceTable.ModelPrice("stream", 1.00, 0, 0, 0))), 0);
+
+        private LLMPlayer.Builder streamingPlayer(StubChatModel stub) {
+            return player(stub).usageLedger(ledger).streaming(true);
+        }
+
+        private static StubChatModel stream(long latencyMillis, long chunkDelayMillis) {
+            return StubChatModel.builder()
+                .model("stream")
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(latencyMillis)))
+                .chunkDelay(Duration.ofMillis(chunkDelayMillis))
+                .completionTokens(1_000)
+                .build();
+        }
+
+        private void awaitCharges(long calls) throws InterruptedException {
+            for (int i = 0; i < 300 && ledger.total().calls() < calls; i++) {
+                Thread.sleep(10);
+            }
+        }
+
+        @Test
+        @DisplayName("Should charge a finished stream once, with the usage it reports")
+        void shouldChargeFinishedStreamOnce() throws InterruptedException {
+            LLMPlayer player = streamingPlayer(stream(0, 5)).continueReasoning(true).build();
+
+            assertThat(decide(player)).isInstanceOf(AttackCommand.class);
+            awaitCharges(1);
+            Thread.sleep(100);
+
+            assertThat(ledger.total().calls()).isEqualTo(1);
+            assertThat(ledger.total().usage().outputTokens()).isEqualTo(1_000);
+        }
+
+        @Test
+        @DisplayName("Should charge a stream cut off after the move an estimate, once")
+        void shouldEstimateCutOffStream() throws InterruptedException {
+            LLMPlayer player = streamingPlayer(stream(0, 20)).build();
+
+            assertThat(decide(player)).isInstanceOf(AttackCommand.class);
+            Thread.sleep(300);
+
+            // Only the chunks received before the move are counted, not the 1000 never sent
+            assertThat(ledger.total().calls()).isEqualTo(1);
+            assertThat(ledger.total().usage().inputTokens()).isPositive();
+            assertThat(ledger.total().usage().outputTokens()).isBetween(1, 999);
+        }
+
+        @Test
+        @DisplayName("Should keep at most one stream per player in the background")
+        void shouldKeepOneBackgroundStream() throws InterruptedException {
+            LLMPlayer player = streamingPlayer(stream(0, 50)).continueReasoning(true).build();
+
+            // Two moves at once, so both streams would still be running after them
+            Thread other = Thread.ofVirtual().start(() -> decide(player));
+            decide(player);
+            other.join();
+
+            // The later move cancelled the other stream, which is charged what it received
+            assertThat(ledger.total().calls()).isEqualTo(1);
+            assertThat(ledger.total().usage().outputTokens()).isLessThan(1_000);
+
+            awaitCharges(2);
+            assertThat(ledger.total().calls()).isEqualTo(2);
+            assertThat(ledger.total().usage().outputTokens()).isBetween(1_001, 1_999);
+        }
+
+        @Test
+        @DisplayName("Should fall back when the stream names no move by the deadline")
+        void shouldFallBackAtDeadline() throws InterruptedException {
+            LLMPlayer player = streamingPlayer(stream(2_000, 0))
+                .hedge(HedgePolicy.builder().deadline(Duration.ofMillis(50)).build(), null, null)
+                .build();
+
+            GameCommand command = decide(player);
+            awaitCharges(1);
+
+            assertThat(command).isNotNull();
+            assertThat(fallbacks("stream", "timeout")).isEqualTo(1.0);
+            assertThat(ledger.total().calls()).isEqualTo(1);
+            assertThat(ledger.total().usage().outputTokens()).isZero();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package edu.trincoll.game.player;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.GameMetrics;
+import edu.trincoll.game.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LLMTeamPlayer Tests")
+class LLMTeamPlayerTest {
+
+    private Character conan;
+    private Character xena;
+    private Character shadow;
+    private Character saruman;
+    private List<Character> team;
+    private List<Character> enemies;
+    private final List<String> prompts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        conan = CharacterFactory.createWarrior("Conan");
+        xena = CharacterFactory.createWarrior("Xena");
+        shadow = CharacterFactory.createRogue("Shadow");
+        saruman = CharacterFactory.createMage("Saruman");
+        team = List.of(conan, xena);
+        enemies = List.of(shadow, saruman);
+    }
+
+    private LLMTeamPlayer playerAnswering(LLMTeamPlayer.Order... orders) {
+        return LLMTeamPlayer.builder()
+            .modelName("test")
+            .planner((system, prompt) -> {
+                prompts.add(prompt);
+                return new LLMTeamPlayer.TeamPlan(List.of(orders), null);
+            })
+            .build();
+    }
+
+    private static Character targetOf(GameCommand command) {
+        return ((AttackCommand) command).getTarget();
+    }
+
+    @Test
+    @DisplayName("Should plan the whole team's round with one call")
+    void shouldPlanRoundOnce() {
+        LLMTeamPlayer player = playerAnswering(
+            new LLMTeamPlayer.Order("Conan", "attack", "Shadow"),
+            new LLMTeamPlayer.Order("Xena", "attack", "Saruman"));
+
+        GameCommand first = player.decideAction(conan, team, enemies, GameState.initial());
+        GameCommand second = player.decideAction(xena, team, enemies, GameState.initial().nextTurn());
+
+        assertThat(targetOf(first)).isSameAs(shadow);
+        assertThat(targetOf(second)).isSameAs(saruman);
+        assertThat(player.plans()).isEqualTo(1);
+        assertThat(prompts.get(0)).contains("Conan,WARRIOR").contains("Xena,WARRIOR");
+    }
+
+    @Test
+    @DisplayName("Should re-plan the rest of the round when an order's target has died")
+    void shouldReplanBrokenOrder() {
+        LLMTeamPlayer player = playerAnswering(
+            new LLMTeamPlayer.Order("Conan", "attack", "Shadow"),
+            new LLMTeamPlayer.Order("Xena", "attack", "Shadow"));
+
+        player.decideAction(conan, team, enemies, GameState.initial());
+        shadow.setHealth(0);
+        GameCommand second = player.decideAction(xena, team, enemies, GameState.initial().nextTurn());
+
+        assertThat(player.plans()).isEqualTo(2);
+        assertThat(player.replans()).isEqualTo(1);
+        // Only Xena is planned again; Conan already acted
+        assertThat(prompts.get(1)).startsWith("Round 1. Your units, in turn order:\nXena,");
+        // The new plan still targets Shadow, so Xena falls back to a rule-based move
+        assertThat(targetOf(second)).isSameAs(saruman);
+    }
+
+    @Test
+    @DisplayName("Should plan again every round")
+    void shouldPlanEachRound() {
+        LLMTeamPlayer player = playerAnswering(
+            new LLMTeamPlayer.Order("Conan", "heal", "Xena"),
+            new LLMTeamPlayer.Order("Xena", "attack", "Saruman"));
+
+        player.decideAction(conan, team, enemies, GameState.initial());
+        player.decideAction(xena, team, enemies, GameState.initial().nextTurn());
+        GameCommand nextRound = player.decideAction(conan, team, enemies, GameState.initial().nextRound());
+
+        assertThat(nextRound).isInstanceOf(HealCommand.class);
+        assertThat(player.plans()).isEqualTo(2);
+        assertThat(player.replans()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fall back when the model leaves a unit out")
+    void shouldFallBackForMissingOrder() {
+        LLMTeamPlayer player = playerAnswering(new LLMTeamPlayer.Order("Xena", "attack", "Saruman"));
+
+        GameCommand command = player.decideAction(conan, team, enemies, GameState.initial());
+
+        assertThat(command).isInstanceOf(AttackCommand.class);
+        assertThat(((AttackCommand) command).getAttacker()).isSameAs(conan);
+    }
+
+    @Test
+    @DisplayName("Should play the rest of the round rule-based after the planner fails")
+    void shouldNotReplanFailedRound() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LLMTeamPlayer player = LLMTeamPlayer.builder()
+            .modelName("test")
+            .metrics(new GameMetrics(registry))
+            .planner((system, prompt) -> {
+                prompts.add(prompt);
+                throw new IllegalStateException("model unavailable");
+            })
+            .build();
+
+        GameCommand first = player.decideAction(conan, team, enemies, GameState.initial());
+        GameCommand second = player.decideAction(xena, team, enemies, GameState.initial().nextTurn());
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(player.plans()).isEqualTo(1);
+        assertThat(registry.counter(GameMetrics.FALLBACKS, "model", "test", "reason", "error").count())
+            .isEqualTo(2.0);
+
+        player.decideAction(conan, team, enemies, GameState.initial().nextRound());
+        assertThat(player.plans()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fall back when the plan misses the hedge deadline")
+    void shouldFallBackAfterDeadline() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LLMTeamPlayer player = LLMTeamPlayer.builder()
+            .modelName("test")
+            .metrics(new GameMetrics(registry))
+            .hedge(HedgePolicy.builder().deadline(Duration.ofMillis(50)).build(), null, null, null)
+            .planner((system, prompt) -> {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new LLMTeamPlayer.TeamPlan(List.of(), null);
+            })
+            .build();
+
+        GameCommand first = player.decideAction(conan, team, enemies, GameState.initial());
+        player.decideAction(xena, team, enemies, GameState.initial().nextTurn());
+
+        assertThat(first).isNotNull();
+        assertThat(player.plans()).isEqualTo(1);
+        assertThat(registry.counter(GameMetrics.FALLBACKS, "model", "test", "reason", "timeout").count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should count failed plans against the model's circuit breaker")
+    void shouldOpenCircuitOnFailedPlans() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(2, 2, 0.5, Duration.ofSeconds(30));
+        LLMTeamPlayer player = LLMTeamPlayer.builder()
+            .modelName("test")
+            .metrics(new GameMetrics(registry))
+            .circuitBreakers(breakers)
+            .planner((system, prompt) -> {
+                prompts.add(prompt);
+                throw new IllegalStateException("model unavailable");
+            })
+            .build();
+
+        player.decideAction(conan, team, enemies, GameState.initial());
+        player.decideAction(conan, team, enemies, GameState.initial().nextRound());
+        player.decideAction(conan, team, enemies, GameState.initial().nextRound().nextRound());
+
+        assertThat(breakers.forModel("test").state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(prompts).hasSize(2);
+        assertThat(registry.counter(GameMetrics.FALLBACKS, "model", "test", "reason", "circuit-open").count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should play rule-based without planning once the token budget is spent")
+    void shouldStopPlanningOverBudget() {
+        TokenUsageLedger ledger = new TokenUsageLedger(
+            new PriceTable(List.of(new PriceTable.ModelPrice("test", 1.00, 0, 0, 0))), 0.01);
+        ledger.record("test", "Conan", new TokenUsage(10_000, 0, 0, 0));
+        LLMTeamPlayer player = LLMTeamPlayer.builder()
+            .modelName("test")
+            .usageLedger(ledger)
+            .planner((system, prompt) -> {
+                throw new AssertionError("planned over budget");
+            })
+            .build();
+
+        GameCommand command = player.decideAction(conan, team, enemies, GameState.initial());
+
+        assertThat(command).isInstanceOf(AttackCommand.class);
+        assertThat(player.plans()).isZero();
+    }
+}
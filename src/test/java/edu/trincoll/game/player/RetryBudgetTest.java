@@ -0,0 +1,49 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RetryBudget Tests")
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Should stop retrying a call after max attempts")
+    void shouldLimitAttemptsPerCall() {
+        RetryBudget budget = new RetryBudget(0.2, 10, 3, Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        assertThat(budget.tryRetry(1)).isTrue();
+        assertThat(budget.tryRetry(2)).isTrue();
+        assertThat(budget.tryRetry(3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse retries once the budget is spent until calls refill it")
+    void shouldDrainAndRefill() {
+        RetryBudget budget = new RetryBudget(0.5, 1, 5, Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        assertThat(budget.tryRetry(1)).isTrue();
+        assertThat(budget.tryRetry(1)).isFalse();
+
+        budget.onFirstAttempt();
+        budget.onFirstAttempt();
+        assertThat(budget.tryRetry(1)).isTrue();
+        assertThat(budget.retries()).isEqualTo(2);
+        assertThat(budget.exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should jitter backoff below an exponentially growing, capped ceiling")
+    void shouldJitterBackoff() {
+        RetryBudget budget = new RetryBudget(0.2, 10, 3, Duration.ofMillis(100), Duration.ofMillis(300));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(budget.backoff(1)).isBetween(Duration.ZERO, Duration.ofMillis(100));
+            assertThat(budget.backoff(2)).isBetween(Duration.ZERO, Duration.ofMillis(200));
+            assertThat(budget.backoff(5)).isBetween(Duration.ZERO, Duration.ofMillis(300));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package edu.trincoll.game.player;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenUsageLedger Tests")
+class TokenUsageLedgerTest {
+
+    private PriceTable prices;
+
+    @BeforeEach
+    void setUp() {
+        prices = new PriceTable(List.of(
+            new PriceTable.ModelPrice("cheap", 1.00, 0.10, 0, 4.00),
+            new PriceTable.ModelPrice("cached", 2.00, 0.20, 2.50, 10.00)));
+    }
+
+    @Nested
+    @DisplayName("Pricing")
+    class Pricing {
+
+        @Test
+        @DisplayName("Should price each kind of token per million")
+        void shouldPriceTokens() {
+            TokenUsage usage = new TokenUsage(1_000_000, 1_000_000, 1_000_000, 1_000_000);
+
+            assertThat(prices.cost("cached", usage)).isCloseTo(14.70, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should bill cache writes as input when the model has no cache-write price")
+        void shouldDefaultCacheWriteToInput() {
+            TokenUsage usage = new TokenUsage(0, 0, 500_000, 0);
+
+            assertThat(prices.cost("cheap", usage)).isCloseTo(0.50, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should cost nothing for a model without a price")
+        void shouldNotPriceUnknownModel() {
+            assertThat(prices.price("unknown")).isNull();
+            assertThat(prices.cost("unknown", new TokenUsage(1_000_000, 0, 0, 1_000_000))).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count every prompt token as uncached for a generic usage")
+        void shouldReadGenericUsage() {
+            TokenUsage usage = TokenUsage.from(new DefaultUsage(120, 30));
+
+            assertThat(usage).isEqualTo(new TokenUsage(120, 0, 0, 30));
+            assertThat(TokenUsage.from(null)).isEqualTo(TokenUsage.NONE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Accounting")
+    class Accounting {
+
+        @Test
+        @DisplayName("Should total usage per game, model and character")
+        void shouldAggregate() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0);
+
+            ledger.record("cheap", "Conan", new TokenUsage(1000, 0, 0, 100));
+            ledger.record("cheap", "Xena", new TokenUsage(2000, 500, 0, 200));
+            ledger.record("cached", "Conan", new TokenUsage(100, 900, 0, 50));
+
+            assertThat(ledger.total().calls()).isEqualTo(3);
+            assertThat(ledger.total().usage()).isEqualTo(new TokenUsage(3100, 1400, 0, 350));
+            assertThat(ledger.byModel().get("cheap").calls()).isEqualTo(2);
+            assertThat(ledger.byCharacter().get("Conan").usage()).isEqualTo(new TokenUsage(1100, 900, 0, 150));
+            assertThat(ledger.byModel().get("cheap").cost() + ledger.byModel().get("cached").cost())
+                .isCloseTo(ledger.total().cost(), within(1e-12));
+        }
+
+        @Test
+        @DisplayName("Should never be over budget without a budget")
+        void shouldIgnoreMissingBudget() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0);
+
+            ledger.record("cached", "Conan", new TokenUsage(10_000_000, 0, 0, 10_000_000));
+
+            assertThat(ledger.isOverBudget()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should be over budget once the game's cost reaches it")
+        void shouldTripBudget() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0.01);
+
+            ledger.record("cheap", "Conan", new TokenUsage(5_000, 0, 0, 0));
+            assertThat(ledger.isOverBudget()).isFalse();
+
+            ledger.record("cheap", "Conan", new TokenUsage(5_000, 0, 0, 0));
+            assertThat(ledger.isOverBudget()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report totals, budget, models and characters")
+        void shouldReport() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0.01);
+            ledger.record("cheap", "Conan", new TokenUsage(10_000, 0, 0, 0));
+            ledger.record("mystery", "Xena", new TokenUsage(10, 0, 0, 5));
+
+            assertThat(ledger.report())
+                .contains("=== Token Usage ===")
+                .contains("Game: 2 calls")
+                .contains("Budget $0.0100, spent")
+                .contains("cheap: 1 calls")
+                .contains("mystery (no price)")
+                .contains("Conan: 1 calls, 10000 in")
+                .contains("Xena: 1 calls");
+        }
+    }
+
+    @Nested
+    @DisplayName("Prompt cache")
+    class PromptCache {
+
+        @Test
+        @DisplayName("Should split Anthropic usage into cache reads, writes and uncached input")
+        void shouldReadAnthropicUsage() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0);
+
+            ledger.record("cached", "Conan", TokenUsage.from(
+                new DefaultUsage(30, 20, 50, new AnthropicApi.Usage(30, 20, 1200, 0))));
+            ledger.record("cached", "Conan", TokenUsage.from(
+                new DefaultUsage(30, 20, 50, new AnthropicApi.Usage(30, 20, 0, 1200))));
+
+            assertThat(ledger.total().usage()).isEqualTo(new TokenUsage(60, 1200, 1200, 40));
+            assertThat(ledger.cachedFraction()).isEqualTo(1200.0 / 2460);
+        }
+
+        @Test
+        @DisplayName("Should take OpenAI's cached tokens out of its prompt tokens")
+        void shouldReadOpenAiUsage() {
+            OpenAiApi.Usage usage = new OpenAiApi.Usage(20, 1500, 1520,
+                new OpenAiApi.Usage.PromptTokensDetails(0, 1280), null);
+
+            assertThat(TokenUsage.from(new DefaultUsage(1500, 20, 1520, usage)))
+                .isEqualTo(new TokenUsage(220, 1280, 0, 20));
+        }
+
+        @Test
+        @DisplayName("Should report no cache use for uncached input or an empty game")
+        void shouldReportNoCacheUse() {
+            TokenUsageLedger ledger = new TokenUsageLedger(prices, 0);
+            assertThat(ledger.cachedFraction()).isZero();
+
+            ledger.record("cheap", "Conan", TokenUsage.from(new DefaultUsage(100, 20)));
+
+            assertThat(ledger.cachedFraction()).isZero();
+            assertThat(ledger.report()).contains("Prompt cache: 0% of input tokens");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.trincoll.game.random;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.simulation.GameResult;
+import edu.trincoll.game.simulation.HeadlessGameEngine;
+import edu.trincoll.game.strategy.AttackStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameRandom Tests")
+class GameRandomTest {
+
+    @Nested
+    @DisplayName("Streams")
+    class Streams {
+
+        @Test
+        @DisplayName("Should repeat the same sequence for the same seed")
+        void shouldRepeatSequenceForSameSeed() {
+            GameRandom first = new GameRandom(42);
+            GameRandom second = new GameRandom(42);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(first.nextLong()).isEqualTo(second.nextLong());
+            }
+        }
+
+        @Test
+        @DisplayName("Should derive the same indexed stream regardless of call order")
+        void shouldDeriveIndexedStreamsIndependentOfOrder() {
+            long forward = GameRandom.forStream(7, 3).nextLong();
+            GameRandom.forStream(7, 0);
+            GameRandom.forStream(7, 5);
+            long later = GameRandom.forStream(7, 3).nextLong();
+
+            assertThat(later).isEqualTo(forward);
+        }
+
+        @Test
+        @DisplayName("Should give different games different streams")
+        void shouldGiveDifferentGamesDifferentStreams() {
+            assertThat(GameRandom.forStream(7, 0).nextLong())
+                .isNotEqualTo(GameRandom.forStream(7, 1).nextLong());
+            assertThat(GameRandom.forStream(7, 0).nextLong())
+                .isNotEqualTo(GameRandom.forStream(8, 0).nextLong());
+        }
+
+        @Test
+        @DisplayName("Should split into reproducible child streams")
+        void shouldSplitReproducibly() {
+            GameRandom first = new GameRandom(99).split();
+            GameRandom second = new GameRandom(99).split();
+
+            assertThat(first.nextInt(1_000_000)).isEqualTo(second.nextInt(1_000_000));
+        }
+
+        @Test
+        @DisplayName("Should keep values within bounds")
+        void shouldKeepValuesWithinBounds() {
+            GameRandom random = new GameRandom(1);
+
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(random.nextInt(10)).isBetween(0, 9);
+                assertThat(random.nextInt(5, 8)).isBetween(5, 7);
+                assertThat(random.nextDouble()).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Reproducible Games")
+    class ReproducibleGames {
+
+        // Melee damage that varies by +/- 10 using the game's stream
+        private final AttackStrategy variableMelee = new AttackStrategy() {
+            @Override
+            public int calculateDamage(Character attacker, Character target) {
+                return (int) (attacker.getAttackPower() * 1.2);
+            }
+
+            @Override
+            public int calculateDamage(Character attacker, Character target, GameRandom random) {
+                return calculateDamage(attacker, target) + random.nextInt(-10, 11);
+            }
+        };
+
+        private GameResult play(long seed) {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character rogue = CharacterFactory.createRogue("Shadow");
+            warrior.setAttackStrategy(variableMelee);
+            rogue.setAttackStrategy(variableMelee);
+
+            Player player = new RuleBasedPlayer();
+            Map<Character, Player> playerMap = new HashMap<>();
+            playerMap.put(warrior, player);
+            playerMap.put(rogue, player);
+
+            return new HeadlessGameEngine(List.of(warrior), List.of(rogue), playerMap,
+                HeadlessGameEngine.DEFAULT_MAX_ROUNDS, new GameRandom(seed)).run();
+        }
+
+        @Test
+        @DisplayName("Should replay a game with random outcomes exactly from its seed")
+        void shouldReplayGameFromSeed() {
+            GameResult first = play(2024);
+            GameResult second = play(2024);
+
+            assertThat(second.winner()).isEqualTo(first.winner());
+            assertThat(second.rounds()).isEqualTo(first.rounds());
+            assertThat(second.team1Health()).containsExactly(first.team1Health());
+            assertThat(second.team2Health()).containsExactly(first.team2Health());
+        }
+
+        @Test
+        @DisplayName("Should leave deterministic strategies unaffected")
+        void shouldLeaveDeterministicStrategiesUnaffected() {
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character target = CharacterFactory.createMage("Target");
+
+            assertThat(attacker.attack(target, new GameRandom(5))).isEqualTo(attacker.attack(target));
+        }
+    }
+}
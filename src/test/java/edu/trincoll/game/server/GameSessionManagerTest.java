@@ -0,0 +1,296 @@
+package edu.trincoll.game.server;
+
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.server.SessionRequest.PlayerKind;
+import edu.trincoll.game.server.SessionRequest.Seat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameSessionManager Tests")
+class GameSessionManagerTest {
+
+    private GameSessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        // AI turns run on the calling thread, so every call returns with them done
+        manager = managerBuilder().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    private static GameSessionManager.Builder managerBuilder() {
+        return GameSessionManager.builder()
+            .players((kind, usageLedger) -> new RuleBasedPlayer())
+            .executor(Runnable::run);
+    }
+
+    private static SessionRequest request(PlayerKind conan) {
+        return new SessionRequest(
+            List.of(new Seat("Conan", CharacterType.WARRIOR, conan),
+                new Seat("Xena", CharacterType.WARRIOR, PlayerKind.RULE_BASED)),
+            List.of(new Seat("Legolas", CharacterType.ARCHER, PlayerKind.RULE_BASED),
+                new Seat("Shadow", CharacterType.ROGUE, PlayerKind.RULE_BASED)),
+            7L);
+    }
+
+    private static SessionView.CharacterView character(SessionView view, String name) {
+        return Stream.concat(view.team1().stream(), view.team2().stream())
+            .filter(c -> c.name().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Playing")
+    class Playing {
+
+        @Test
+        @DisplayName("Should wait for the human's first move")
+        void shouldWaitForHuman() {
+            SessionView view = manager.create(request(PlayerKind.HUMAN)).view();
+
+            assertThat(view.status()).isEqualTo(GameSession.Status.WAITING_FOR_HUMAN);
+            assertThat(view.current()).isEqualTo("Conan");
+            assertThat(view.round()).isEqualTo(1);
+            assertThat(view.team1()).extracting(SessionView.CharacterView::player)
+                .containsExactly(PlayerKind.HUMAN, PlayerKind.RULE_BASED);
+        }
+
+        @Test
+        @DisplayName("Should play the human's move and then the AI turns until the human's next move")
+        void shouldPlayRound() {
+            GameSession session = manager.create(request(PlayerKind.HUMAN));
+
+            SessionView view = session.act(new ActionRequest("attack", "shadow"));
+
+            assertThat(view.status()).isIn(GameSession.Status.WAITING_FOR_HUMAN, GameSession.Status.OVER);
+            assertThat(view.log()).hasSize(4);
+            assertThat(view.log().get(0)).contains("Conan").contains("Shadow");
+            assertThat(character(view, "Shadow").health())
+                .isLessThan(character(view, "Shadow").maxHealth());
+            if (view.status() == GameSession.Status.WAITING_FOR_HUMAN) {
+                assertThat(view.round()).isEqualTo(2);
+                assertThat(view.current()).isEqualTo("Conan");
+            }
+        }
+
+        @Test
+        @DisplayName("Should play an all-AI session to the end")
+        void shouldPlayAiSession() {
+            SessionView view = manager.create(request(PlayerKind.RULE_BASED)).view();
+
+            assertThat(view.status()).isEqualTo(GameSession.Status.OVER);
+            assertThat(view.winner()).isIn(1, 2);
+            assertThat(view.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should refuse invalid actions without playing a turn")
+        void shouldRefuseInvalidActions() {
+            GameSession session = manager.create(request(PlayerKind.HUMAN));
+            long version = session.view().version();
+
+            assertThatThrownBy(() -> session.act(new ActionRequest("attack", "Xena")))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> session.act(new ActionRequest("dance", "Shadow")))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(session.view().version()).isEqualTo(version);
+        }
+
+        @Test
+        @DisplayName("Should replace an AI move that cannot be played instead of failing")
+        void shouldReplaceUnplayableMove() {
+            // Tank heals every turn, so Gandalf runs out of mana long before the game ends
+            Player healer = (self, allies, enemies, gameState) -> new HealCommand(self, 30);
+            try (GameSessionManager managed = managerBuilder()
+                    .players((kind, usageLedger) -> kind == PlayerKind.GPT ? healer : new RuleBasedPlayer())
+                    .build()) {
+                GameSession session = managed.create(new SessionRequest(
+                    List.of(new Seat("Conan", CharacterType.WARRIOR, PlayerKind.HUMAN),
+                        new Seat("Gandalf", CharacterType.MAGE, PlayerKind.RULE_BASED)),
+                    List.of(new Seat("Tank", CharacterType.WARRIOR, PlayerKind.GPT)),
+                    7L));
+
+                SessionView view = session.view();
+                for (int round = 0; round < 12; round++) {
+                    view = session.act(new ActionRequest("heal", "Conan"));
+                }
+
+                assertThat(view.status()).isEqualTo(GameSession.Status.WAITING_FOR_HUMAN);
+                assertThat(character(view, "Gandalf").mana()).isZero();
+                assertThat(view.log()).contains("Heal Gandalf for 30 HP");
+            }
+        }
+
+        @Test
+        @DisplayName("Should refuse moves when no human is waiting")
+        void shouldRefuseMoveWhenOver() {
+            GameSession session = manager.create(request(PlayerKind.RULE_BASED));
+
+            assertThatThrownBy(() -> session.act(new ActionRequest("attack", "Shadow")))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Undo")
+    class Undo {
+
+        @Test
+        @DisplayName("Should take back the human's move and the AI moves after it")
+        void shouldUndoRound() {
+            GameSession session = manager.create(request(PlayerKind.HUMAN));
+            session.act(new ActionRequest("attack", "Shadow"));
+
+            SessionView view = session.undo();
+
+            assertThat(view.status()).isEqualTo(GameSession.Status.WAITING_FOR_HUMAN);
+            assertThat(view.current()).isEqualTo("Conan");
+            assertThat(view.round()).isEqualTo(1);
+            assertThat(view.team1()).allMatch(c -> c.health() == c.maxHealth());
+            assertThat(view.team2()).allMatch(c -> c.health() == c.maxHealth());
+        }
+
+        @Test
+        @DisplayName("Should refuse undo once the human's move has left the history")
+        void shouldRefuseUndoPastHistory() {
+            try (GameSessionManager bounded = managerBuilder().historyLimit(2).build()) {
+                GameSession session = bounded.create(request(PlayerKind.HUMAN));
+                // The three AI turns after it push the human's move out
+                session.act(new ActionRequest("attack", "Shadow"));
+
+                assertThatThrownBy(session::undo).isInstanceOf(IllegalStateException.class);
+                assertThat(session.view().status()).isEqualTo(GameSession.Status.WAITING_FOR_HUMAN);
+            }
+        }
+
+        @Test
+        @DisplayName("Should refuse undo before the human has moved")
+        void shouldRefuseUndoWithoutMove() {
+            GameSession session = manager.create(request(PlayerKind.HUMAN));
+
+            assertThatThrownBy(session::undo).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sessions")
+    class Sessions {
+
+        @Test
+        @DisplayName("Should find, remove and forget sessions")
+        void shouldManageSessions() {
+            GameSession session = manager.create(request(PlayerKind.HUMAN));
+
+            assertThat(manager.get(session.id())).isSameAs(session);
+            manager.remove(session.id());
+
+            assertThat(manager.size()).isZero();
+            assertThatThrownBy(() -> manager.get(session.id())).isInstanceOf(NoSuchElementException.class);
+        }
+
+        @Test
+        @DisplayName("Should refuse sessions past the limit")
+        void shouldRefuseWhenFull() {
+            try (GameSessionManager full = managerBuilder().maxSessions(1).build()) {
+                full.create(request(PlayerKind.HUMAN));
+
+                assertThatThrownBy(() -> full.create(request(PlayerKind.HUMAN)))
+                    .isInstanceOf(RejectedExecutionException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("Should free the slot of a removed session or a failed create")
+        void shouldFreeSlots() {
+            try (GameSessionManager full = managerBuilder().maxSessions(1).build()) {
+                full.remove(full.create(request(PlayerKind.HUMAN)).id());
+
+                assertThatCode(() -> full.create(request(PlayerKind.HUMAN))).doesNotThrowAnyException();
+            }
+            try (GameSessionManager failing = managerBuilder()
+                    .players((kind, usageLedger) -> {
+                        throw new IllegalStateException("no players");
+                    })
+                    .maxSessions(1)
+                    .build()) {
+                assertThatThrownBy(() -> failing.create(request(PlayerKind.RULE_BASED)))
+                    .isInstanceOf(IllegalStateException.class);
+                assertThatThrownBy(() -> failing.create(request(PlayerKind.RULE_BASED)))
+                    .isInstanceOf(IllegalStateException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("Should refuse teams with duplicate names")
+        void shouldRefuseDuplicateNames() {
+            SessionRequest request = new SessionRequest(
+                List.of(new Seat("Conan", CharacterType.WARRIOR, PlayerKind.HUMAN)),
+                List.of(new Seat("conan", CharacterType.ROGUE, PlayerKind.RULE_BASED)),
+                null);
+
+            assertThatThrownBy(() -> manager.create(request)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should remove idle sessions")
+        void shouldEvictIdle() throws InterruptedException {
+            try (GameSessionManager idle = managerBuilder().idleTimeout(Duration.ofMillis(1)).build()) {
+                idle.create(request(PlayerKind.HUMAN));
+                TimeUnit.MILLISECONDS.sleep(5);
+
+                idle.evictIdle();
+
+                assertThat(idle.size()).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep a session while a client streams its events")
+        void shouldKeepStreamedSession() throws InterruptedException {
+            // Long enough for the subscriber to connect before the sweeper sees the session idle
+            try (GameSessionManager idle = managerBuilder().idleTimeout(Duration.ofMillis(100)).build()) {
+                GameSession session = idle.create(request(PlayerKind.HUMAN));
+                Thread subscriber = new Thread(() -> {
+                    try {
+                        session.events().writeTo(OutputStream.nullOutputStream(), 0);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                subscriber.start();
+                while (subscriber.getState() != Thread.State.TIMED_WAITING) {
+                    Thread.onSpinWait();
+                }
+                TimeUnit.MILLISECONDS.sleep(300);
+
+                idle.evictIdle();
+                assertThat(idle.size()).isEqualTo(1);
+
+                idle.remove(session.id());
+                subscriber.join();
+            }
+        }
+    }
+}
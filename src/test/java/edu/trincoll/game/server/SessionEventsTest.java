@@ -0,0 +1,183 @@
+package edu.trincoll.game.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.game.event.GameEvent;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.server.SessionRequest.PlayerKind;
+import edu.trincoll.game.server.SessionRequest.Seat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SessionEvents Tests")
+class SessionEventsTest {
+
+    private static List<String> types(SessionEvents events) throws InterruptedException {
+        return events.after(0, Duration.ZERO).stream()
+            .map(frame -> new String(frame.bytes(), StandardCharsets.UTF_8).lines()
+                .filter(line -> line.startsWith("event: "))
+                .findFirst()
+                .orElseThrow()
+                .substring("event: ".length()))
+            .toList();
+    }
+
+    private static String stream(SessionEvents events, long lastEventId) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        events.writeTo(out, lastEventId);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Fan-out")
+    class FanOut {
+
+        @Test
+        @DisplayName("Should serialize each event once however many subscribers read it")
+        void shouldSerializeOnce() throws IOException {
+            AtomicInteger serialized = new AtomicInteger();
+            ObjectMapper mapper = new ObjectMapper() {
+                @Override
+                public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                    serialized.incrementAndGet();
+                    return super.writeValueAsBytes(value);
+                }
+            };
+            SessionEvents events = new SessionEvents(mapper, SessionEvents.DEFAULT_CAPACITY);
+            events.accept(new GameEvent.TurnStarted(1, 1, "Conan"));
+            events.accept(new GameEvent.GameOver(1, 1));
+            events.close();
+
+            String first = stream(events, 0);
+            String second = stream(events, 0);
+
+            assertThat(serialized).hasValue(2);
+            assertThat(second).isEqualTo(first);
+            assertThat(first)
+                .startsWith("id: 1\nevent: TurnStarted\ndata: {")
+                .contains("\"character\":\"Conan\"")
+                .contains("id: 2\nevent: GameOver\n")
+                .endsWith("\n\n");
+        }
+
+        @Test
+        @DisplayName("Should resume after the last event a subscriber saw")
+        void shouldResume() throws IOException {
+            SessionEvents events = new SessionEvents(new ObjectMapper(), SessionEvents.DEFAULT_CAPACITY);
+            events.accept(new GameEvent.TurnStarted(1, 1, "Conan"));
+            events.accept(new GameEvent.TurnStarted(1, 2, "Xena"));
+            events.close();
+
+            assertThat(stream(events, 1)).startsWith("id: 2\n").doesNotContain("Conan");
+        }
+
+        @Test
+        @DisplayName("Should resume a Last-Event-ID past the last event with the next event")
+        void shouldClampFutureId() throws Exception {
+            SessionEvents events = new SessionEvents(new ObjectMapper(), SessionEvents.DEFAULT_CAPACITY);
+            events.accept(new GameEvent.TurnStarted(1, 1, "Conan"));
+            CompletableFuture<List<SessionEvents.Frame>> batch = new CompletableFuture<>();
+            Thread subscriber = new Thread(() -> {
+                try {
+                    batch.complete(events.after(99, Duration.ofSeconds(10)));
+                } catch (InterruptedException e) {
+                    batch.completeExceptionally(e);
+                }
+            });
+            subscriber.start();
+            while (subscriber.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+
+            events.accept(new GameEvent.TurnStarted(1, 2, "Xena"));
+
+            assertThat(batch.get()).extracting(SessionEvents.Frame::id).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should keep only the most recent events")
+        void shouldBoundBuffer() throws InterruptedException {
+            SessionEvents events = new SessionEvents(new ObjectMapper(), 2);
+            for (int turn = 1; turn <= 3; turn++) {
+                events.accept(new GameEvent.TurnStarted(1, turn, "Conan"));
+            }
+
+            assertThat(events.after(0, Duration.ZERO)).extracting(SessionEvents.Frame::id).containsExactly(2L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Session events")
+    class Published {
+
+        private final GameSessionManager manager = GameSessionManager.builder()
+            .players((kind, usageLedger) -> new RuleBasedPlayer())
+            .executor(Runnable::run)
+            .build();
+
+        @AfterEach
+        void tearDown() {
+            manager.close();
+        }
+
+        private GameSession create(PlayerKind conan) {
+            return manager.create(new SessionRequest(
+                List.of(new Seat("Conan", CharacterType.WARRIOR, conan),
+                    new Seat("Xena", CharacterType.WARRIOR, PlayerKind.RULE_BASED)),
+                List.of(new Seat("Legolas", CharacterType.ARCHER, PlayerKind.RULE_BASED),
+                    new Seat("Shadow", CharacterType.ROGUE, PlayerKind.RULE_BASED)),
+                7L));
+        }
+
+        @Test
+        @DisplayName("Should publish the turns, commands and end of a round")
+        void shouldPublishRound() throws InterruptedException {
+            GameSession session = create(PlayerKind.HUMAN);
+            assertThat(types(session.events())).containsExactly("TurnStarted");
+
+            session.act(new ActionRequest("attack", "Shadow"));
+
+            assertThat(types(session.events())).startsWith(
+                "TurnStarted", "CommandExecuted",
+                "TurnStarted", "CommandExecuted",
+                "TurnStarted", "CommandExecuted",
+                "TurnStarted", "CommandExecuted",
+                "RoundCompleted", "TurnStarted");
+        }
+
+        @Test
+        @DisplayName("Should publish defeats and the end of the game")
+        void shouldPublishGameOver() throws InterruptedException {
+            GameSession session = create(PlayerKind.RULE_BASED);
+
+            List<String> types = types(session.events());
+
+            assertThat(types).contains("CharacterDefeated").endsWith("GameOver");
+            assertThat(types.stream().filter("GameOver"::equals)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should publish undone turns")
+        void shouldPublishUndo() throws InterruptedException {
+            GameSession session = create(PlayerKind.HUMAN);
+            session.act(new ActionRequest("attack", "Shadow"));
+
+            session.undo();
+
+            assertThat(types(session.events())).endsWith("TurnUndone", "TurnStarted");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CombatKernel Tests")
+class CombatKernelTest {
+
+    @Nested
+    @DisplayName("Combat Resolution")
+    class CombatResolution {
+
+        @Test
+        @DisplayName("Should match melee attack against standard defense")
+        void shouldMatchMeleeAgainstStandardDefense() {
+            CombatKernel kernel = CombatKernel.of(
+                List.of(CharacterFactory.createWarrior("Attacker")),
+                List.of(CharacterFactory.createMage("Target")));
+
+            // Warrior: 40 * 1.2 = 48, Mage defense: 48 - 10/2 = 43
+            assertThat(kernel.attack(0, 1)).isEqualTo(43);
+            assertThat(kernel.health(1)).isEqualTo(37);
+        }
+
+        @Test
+        @DisplayName("Should match magic attack and consume mana")
+        void shouldMatchMagicAttack() {
+            CombatKernel kernel = CombatKernel.of(
+                List.of(CharacterFactory.createMage("Attacker")),
+                List.of(CharacterFactory.createWarrior("Target")));
+
+            // Mage: 60 + 100/10 = 70, Heavy armor: 70 - min(30, 52) = 40
+            assertThat(kernel.attack(0, 1)).isEqualTo(40);
+            assertThat(kernel.mana(0)).isEqualTo(90);
+        }
+
+        @Test
+        @DisplayName("Should refuse a magic attack without enough mana")
+        void shouldRefuseMagicAttackWithoutMana() {
+            Character mage = CharacterFactory.createMage("Attacker");
+            mage.useMana(95);
+            CombatKernel kernel = CombatKernel.of(
+                List.of(mage), List.of(CharacterFactory.createWarrior("Target")));
+
+            assertThat(kernel.attack(0, 1)).isEqualTo(CombatKernel.NOT_ENOUGH_MANA);
+            assertThat(kernel.health(1)).isEqualTo(150);
+            assertThat(kernel.mana(0)).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should apply ranged critical hit on wounded targets")
+        void shouldApplyRangedCriticalHit() {
+            Character target = CharacterFactory.createWarrior("Target");
+            target.setHealth(40);
+            CombatKernel kernel = CombatKernel.of(
+                List.of(CharacterFactory.createArcher("Attacker")), List.of(target));
+
+            // Archer: 50 * 0.8 = 40, critical 60, Heavy armor: 60 - min(30, 45) = 30
+            assertThat(kernel.attack(0, 1)).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Should cap healing at max health")
+        void shouldCapHealing() {
+            Character wounded = CharacterFactory.createWarrior("Wounded");
+            wounded.setHealth(140);
+            CombatKernel kernel = CombatKernel.of(
+                List.of(wounded), List.of(CharacterFactory.createMage("Enemy")));
+
+            assertThat(kernel.heal(0, 30)).isEqualTo(10);
+            assertThat(kernel.health(0)).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Should reject characters with custom strategies")
+        void shouldRejectCustomStrategies() {
+            Character custom = Character.builder()
+                .name("Custom")
+                .type(CharacterType.WARRIOR)
+                .stats(CharacterStats.create(100, 10, 10, 0))
+                .attackStrategy((attacker, target) -> 1)
+                .defenseStrategy((defender, damage) -> damage)
+                .build();
+            List<Character> enemies = List.of(CharacterFactory.createWarrior("Enemy"));
+
+            assertThatThrownBy(() -> CombatKernel.of(List.of(custom), enemies))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should accept characters using built-in strategies")
+        void shouldAcceptBuiltInStrategies() {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            warrior.setAttackStrategy(new MeleeAttackStrategy());
+
+            assertThatCode(() -> CombatKernel.of(List.of(warrior),
+                List.of(CharacterFactory.createRogue("Shadow"))))
+                .doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rule-Based Games")
+    class RuleBasedGames {
+
+        private List<Character> createTeam(String prefix, List<CharacterType> types) {
+            List<Character> team = new ArrayList<>();
+            for (int i = 0; i < types.size(); i++) {
+                team.add(CharacterFactory.createCharacter(prefix + i, types.get(i)));
+            }
+            return team;
+        }
+
+        @Test
+        @DisplayName("Should end every two-character matchup exactly like HeadlessGameEngine")
+        void shouldMatchHeadlessEngine() {
+            CharacterType[] types = CharacterType.values();
+            List<List<CharacterType>> compositions = new ArrayList<>();
+            for (CharacterType first : types) {
+                for (CharacterType second : types) {
+                    compositions.add(List.of(first, second));
+                }
+            }
+
+            for (List<CharacterType> composition1 : compositions) {
+                for (List<CharacterType> composition2 : compositions) {
+                    List<Character> team1 = createTeam("A", composition1);
+                    List<Character> team2 = createTeam("B", composition2);
+                    CombatKernel kernel = CombatKernel.of(team1, team2);
+
+                    Player player = new RuleBasedPlayer();
+                    Map<Character, Player> playerMap = new HashMap<>();
+                    team1.forEach(c -> playerMap.put(c, player));
+                    team2.forEach(c -> playerMap.put(c, player));
+                    GameResult expected = new HeadlessGameEngine(team1, team2, playerMap, 200).run();
+
+                    GameResult.Winner winner = kernel.playRuleBasedGame(200);
+
+                    assertThat(winner).isEqualTo(expected.winner());
+                    assertThat(kernel.rounds()).isEqualTo(expected.rounds());
+                    assertThat(kernel.turns()).isEqualTo(expected.turns());
+                    for (int i = 0; i < team1.size(); i++) {
+                        assertThat(kernel.health(i)).isEqualTo(team1.get(i).getStats().health());
+                        assertThat(kernel.mana(i)).isEqualTo(team1.get(i).getStats().mana());
+                    }
+                    for (int i = 0; i < team2.size(); i++) {
+                        int slot = team1.size() + i;
+                        assertThat(kernel.health(slot)).isEqualTo(team2.get(i).getStats().health());
+                        assertThat(kernel.mana(slot)).isEqualTo(team2.get(i).getStats().mana());
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should replay identically after reset")
+        void shouldReplayAfterReset() {
+            CombatKernel kernel = CombatKernel.of(
+                createTeam("A", List.of(CharacterType.WARRIOR, CharacterType.MAGE)),
+                createTeam("B", List.of(CharacterType.ARCHER, CharacterType.ROGUE)));
+
+            GameResult.Winner first = kernel.playRuleBasedGame(1_000);
+            int rounds = kernel.rounds();
+            int[] health = new int[kernel.size()];
+            for (int i = 0; i < health.length; i++) {
+                health[i] = kernel.health(i);
+            }
+
+            kernel.reset();
+            GameResult.Winner second = kernel.playRuleBasedGame(1_000);
+
+            assertThat(second).isEqualTo(first);
+            assertThat(kernel.rounds()).isEqualTo(rounds);
+            for (int i = 0; i < health.length; i++) {
+                assertThat(kernel.health(i)).isEqualTo(health[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.controller.GameController;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.player.Player;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HeadlessGameEngine Tests")
+class HeadlessGameEngineTest {
+
+    private static Map<Character, Player> ruleBased(List<Character> team1, List<Character> team2) {
+        Player player = new RuleBasedPlayer();
+        Map<Character, Player> playerMap = new HashMap<>();
+        team1.forEach(c -> playerMap.put(c, player));
+        team2.forEach(c -> playerMap.put(c, player));
+        return playerMap;
+    }
+
+    @Test
+    @DisplayName("Should play a game to completion and report the winner")
+    void shouldPlayGameToCompletion() {
+        List<Character> team1 = List.of(CharacterFactory.createWarrior("Conan"),
+            CharacterFactory.createMage("Gandalf"));
+        List<Character> team2 = List.of(CharacterFactory.createArcher("Legolas"),
+            CharacterFactory.createRogue("Shadow"));
+
+        GameResult result = new HeadlessGameEngine(team1, team2, ruleBased(team1, team2)).run();
+
+        assertThat(result.winner()).isNotEqualTo(GameResult.Winner.DRAW);
+        assertThat(result.rounds()).isPositive();
+        assertThat(result.turns()).isPositive();
+        assertThat(result.team1Health()).hasSize(2);
+        assertThat(result.team2Health()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should report final health in team order")
+    void shouldReportFinalHealthInTeamOrder() {
+        Character warrior = CharacterFactory.createWarrior("Conan");
+        Character rogue = CharacterFactory.createRogue("Shadow");
+        List<Character> team1 = List.of(warrior);
+        List<Character> team2 = List.of(rogue);
+
+        GameResult result = new HeadlessGameEngine(team1, team2, ruleBased(team1, team2)).run();
+
+        assertThat(result.team1Health()).containsExactly(warrior.getStats().health());
+        assertThat(result.team2Health()).containsExactly(rogue.getStats().health());
+    }
+
+    @Test
+    @DisplayName("Should produce the same outcome as GameController")
+    void shouldMatchGameController() {
+        List<Character> headless1 = List.of(CharacterFactory.createWarrior("Conan"),
+            CharacterFactory.createRogue("Shadow"));
+        List<Character> headless2 = List.of(CharacterFactory.createArcher("Legolas"),
+            CharacterFactory.createWarrior("Tank"));
+        List<Character> console1 = List.of(CharacterFactory.createWarrior("Conan"),
+            CharacterFactory.createRogue("Shadow"));
+        List<Character> console2 = List.of(CharacterFactory.createArcher("Legolas"),
+            CharacterFactory.createWarrior("Tank"));
+
+        GameResult result = new HeadlessGameEngine(headless1, headless2,
+            ruleBased(headless1, headless2)).run();
+        new GameController(console1, console2, ruleBased(console1, console2)).playGame();
+
+        assertThat(result.team1Health()).containsExactly(
+            console1.stream().mapToInt(c -> c.getStats().health()).toArray());
+        assertThat(result.team2Health()).containsExactly(
+            console2.stream().mapToInt(c -> c.getStats().health()).toArray());
+    }
+
+    @Test
+    @DisplayName("Should stop at the round limit and report a draw")
+    void shouldStopAtRoundLimit() {
+        List<Character> team1 = List.of(CharacterFactory.createWarrior("Conan"));
+        List<Character> team2 = List.of(CharacterFactory.createWarrior("Tank"));
+
+        GameResult result = new HeadlessGameEngine(team1, team2, ruleBased(team1, team2), 1).run();
+
+        assertThat(result.winner()).isEqualTo(GameResult.Winner.DRAW);
+        assertThat(result.rounds()).isEqualTo(1);
+        assertThat(result.turns()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive round limit")
+    void shouldRejectNonPositiveRoundLimit() {
+        List<Character> team1 = List.of(CharacterFactory.createWarrior("Conan"));
+        List<Character> team2 = List.of(CharacterFactory.createWarrior("Tank"));
+
+        assertThatThrownBy(() -> new HeadlessGameEngine(team1, team2, Map.of(), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.player.RuleBasedPlayer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TournamentRunner Tests")
+class TournamentRunnerTest {
+
+    private static final List<TeamSpec> ENTRANTS = List.of(
+        new TeamSpec("RuleBased", List.of(CharacterType.WARRIOR, CharacterType.MAGE), RuleBasedPlayer::new),
+        new TeamSpec("RuleBased", List.of(CharacterType.ARCHER, CharacterType.ROGUE), RuleBasedPlayer::new)
+    );
+
+    @Test
+    @DisplayName("Should play every ordered pairing, including mirror matches")
+    void shouldPlayEveryPairing() {
+        TournamentResult result = new TournamentRunner(ENTRANTS, 50, 2).run();
+
+        assertThat(result.totalGames()).isEqualTo(2 * 2 * 50);
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                assertThat(result.wins()[i][j] + result.losses()[i][j] + result.draws()[i][j])
+                    .isEqualTo(50);
+            }
+        }
+        assertThat(result.entrants())
+            .containsExactly("RuleBased[WARRIOR+MAGE]", "RuleBased[ARCHER+ROGUE]");
+    }
+
+    @Test
+    @DisplayName("Should give the same matrix for the same seed regardless of parallelism")
+    void shouldBeIndependentOfParallelism() {
+        TournamentResult sequential = new TournamentRunner(ENTRANTS, 600, 1, 200, 12345L).run();
+        TournamentResult parallel = new TournamentRunner(ENTRANTS, 600, 4, 200, 12345L).run();
+
+        assertThat(parallel.wins()).isDeepEqualTo(sequential.wins());
+        assertThat(parallel.losses()).isDeepEqualTo(sequential.losses());
+        assertThat(parallel.draws()).isDeepEqualTo(sequential.draws());
+        assertThat(parallel.masterSeed()).isEqualTo(12345L);
+    }
+
+    @Test
+    @DisplayName("Should report throughput")
+    void shouldReportThroughput() {
+        TournamentResult result = new TournamentRunner(ENTRANTS, 10, 2).run();
+
+        assertThat(result.wallTimeNanos()).isPositive();
+        assertThat(result.gamesPerSecond()).isPositive();
+        assertThat(result.parallelism()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty tournament")
+    void shouldRejectEmptyTournament() {
+        assertThatThrownBy(() -> new TournamentRunner(List.of(), 10, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}